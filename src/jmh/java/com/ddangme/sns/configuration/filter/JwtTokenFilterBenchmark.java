@@ -0,0 +1,61 @@
+package com.ddangme.sns.configuration.filter;
+
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.JwtTokenProvider;
+import com.ddangme.sns.util.SubscribeTicketProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 인증이 필요한 요청마다 JwtTokenFilter 가 쓰는 시간. 유저 조회는 캐시에 있는 것처럼 바로 돌려준다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private JwtTokenFilter jwtTokenFilter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider("fast_campus.sns-application-2024.secret_key", 2592000000L, 100_000);
+        SubscribeTicketProvider subscribeTicketProvider = new SubscribeTicketProvider("fast_campus.sns-application-2024.secret_key", 30000L, 100_000);
+        User user = User.fromEntity(UserEntity.of("userName", "password"));
+
+        UserService userService = new UserService(null, null, null, jwtTokenProvider, null, null) {
+            @Override
+            public User loadUserByUserName(String userName) {
+                return user;
+            }
+        };
+
+        jwtTokenFilter = new JwtTokenFilter(jwtTokenProvider, subscribeTicketProvider, userService, new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtTokenProvider.generateToken("userName");
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+
+        try {
+            jwtTokenFilter.doFilterInternal(request, new MockHttpServletResponse(), NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
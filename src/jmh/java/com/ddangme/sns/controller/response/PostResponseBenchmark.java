@@ -0,0 +1,79 @@
+package com.ddangme.sns.controller.response;
+
+import com.ddangme.sns.model.Post;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.UserRole;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 피드 한 페이지(20개)를 응답으로 만드는 비용. entity -> Post -> PostResponse 변환과,
+// 컨트롤러가 돌려주는 Response<Page<PostResponse>> 의 JSON 직렬화를 따로 잰다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostResponseBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private List<PostEntity> entities;
+    private List<PostSummary> summaries;
+    private Response<Page<PostResponse>> response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String body = "body ".repeat(40);
+
+        entities = new ArrayList<>(PAGE_SIZE);
+        summaries = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            entities.add(PostEntity.of("title " + i, body, i));
+            summaries.add(new PostSummary(i, "title " + i, body, i, "user" + i, UserRole.USER, now, now));
+        }
+
+        response = Response.success(new PageImpl<>(
+                toResponsesFromSummary(), PageRequest.of(0, PAGE_SIZE), 1000));
+
+        // Spring Boot 의 HttpMessageConverter 와 같은 설정
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<PostResponse> fromEntity() {
+        List<PostResponse> responses = new ArrayList<>(PAGE_SIZE);
+        for (PostEntity entity : entities) {
+            responses.add(PostResponse.fromPost(Post.fromEntity(entity)));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<PostResponse> fromSummary() {
+        return toResponsesFromSummary();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private List<PostResponse> toResponsesFromSummary() {
+        List<PostResponse> responses = new ArrayList<>(PAGE_SIZE);
+        for (PostSummary summary : summaries) {
+            responses.add(PostResponse.fromSummary(summary, false));
+        }
+        return responses;
+    }
+}
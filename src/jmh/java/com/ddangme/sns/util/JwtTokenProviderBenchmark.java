@@ -0,0 +1,58 @@
+package com.ddangme.sns.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// 기존 JwtTokenUtils 경로(요청마다 Key/Parser 생성, isExpired + getUserName 으로 두 번 검증)와
+// JwtTokenProvider 의 단일 파싱, 검증 캐시 경로를 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET_KEY = "fast_campus.sns-application-2024.secret_key";
+    private static final long EXPIRED_TIME_MS = 2592000000L;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET_KEY, EXPIRED_TIME_MS, 100_000);
+        token = jwtTokenProvider.generateToken("userName");
+        jwtTokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public String legacyParseTwice() {
+        Date expiredDate = legacyExtractClaims(token).getExpiration();
+        if (expiredDate.before(new Date())) {
+            return null;
+        }
+
+        return legacyExtractClaims(token).get("userName", String.class);
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return jwtTokenProvider.parse(token).getUserName();
+    }
+
+    @Benchmark
+    public String cachedVerify() {
+        return jwtTokenProvider.verify(token).getUserName();
+    }
+
+    private static Claims legacyExtractClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder().setSigningKey(key)
+                .build().parseClaimsJws(token).getBody();
+    }
+}
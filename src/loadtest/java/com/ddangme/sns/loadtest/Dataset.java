@@ -0,0 +1,31 @@
+package com.ddangme.sns.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 생성한 데이터 중 부하를 만들 때 필요한 값. 모든 유저의 비밀번호는 같다.
+public class Dataset {
+
+    static final String PASSWORD = "password";
+
+    final List<String> userNames;
+    final List<Integer> postIds;
+    // 좋아요가 몰리는 post
+    final Integer hotPostId;
+
+    Dataset(List<String> userNames, List<Integer> postIds, Integer hotPostId) {
+        this.userNames = userNames;
+        this.postIds = postIds;
+        this.hotPostId = hotPostId;
+    }
+
+    String randomUserName() {
+        return userNames.get(ThreadLocalRandom.current().nextInt(userNames.size()));
+    }
+
+    // 최근 post 에 댓글이 몰리도록 뒤쪽 10% 에서 고른다.
+    Integer recentPostId() {
+        int from = postIds.size() - Math.max(1, postIds.size() / 10);
+        return postIds.get(ThreadLocalRandom.current().nextInt(from, postIds.size()));
+    }
+}
@@ -0,0 +1,181 @@
+package com.ddangme.sns.loadtest;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.IdBlock;
+import com.ddangme.sns.repository.AlarmJdbcRepository;
+import com.ddangme.sns.repository.IdBlockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// 서비스를 거치지 않고 JDBC batch 로 데이터를 넣는다. 작성 시각은 최근 30일에 고르게 퍼뜨린다.
+// 같은 DB 에 여러 번 실행해도 겹치지 않도록 유저 이름에 실행마다 다른 prefix 를 붙인다.
+@Slf4j
+public class DatasetGenerator {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long PERIOD_MS = Duration.ofDays(30).toMillis();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AlarmJdbcRepository alarmJdbcRepository;
+    private final IdBlockRepository idBlockRepository;
+    private final BCryptPasswordEncoder encoder;
+    private final LoadTestProperties properties;
+    // 실행할 때마다 같은 데이터를 만든다.
+    private final Random random = new Random(42);
+    private final long now = System.currentTimeMillis();
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, AlarmJdbcRepository alarmJdbcRepository,
+                            IdBlockRepository idBlockRepository, BCryptPasswordEncoder encoder,
+                            LoadTestProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.alarmJdbcRepository = alarmJdbcRepository;
+        this.idBlockRepository = idBlockRepository;
+        this.encoder = encoder;
+        this.properties = properties;
+    }
+
+    public Dataset generate() {
+        long startedAt = System.currentTimeMillis();
+        String prefix = "lt" + Long.toString(now, 36) + "_";
+
+        List<Integer> userIds = insertUsers(prefix);
+        List<Integer> postIds = insertPosts(userIds);
+        int[] likeCounts = insertLikes(userIds, postIds);
+        int[] commentCounts = insertComments(userIds, postIds);
+        insertPostCounts(postIds, likeCounts, commentCounts);
+        insertAlarms(userIds, postIds);
+
+        List<String> userNames = jdbcTemplate.queryForList(
+                "SELECT user_name FROM users WHERE user_name LIKE ? ORDER BY user_id", String.class, prefix + "%");
+
+        log.info("Dataset generated. users: {}, posts: {}, likes: {}, comments: {}, alarms: {}, took: {}ms",
+                userIds.size(), postIds.size(), properties.likes, properties.comments, properties.alarms,
+                System.currentTimeMillis() - startedAt);
+
+        // 가장 최근 post 에 좋아요가 몰린다.
+        return new Dataset(userNames, postIds, postIds.get(postIds.size() - 1));
+    }
+
+    private List<Integer> insertUsers(String prefix) {
+        // BCrypt 는 느리므로 한 번만 만들어서 모든 유저가 같이 쓴다.
+        String password = encoder.encode(Dataset.PASSWORD);
+        List<Object[]> rows = new ArrayList<>(properties.users);
+
+        for (int i = 0; i < properties.users; i++) {
+            rows.add(new Object[]{prefix + i, password, "USER", randomTime()});
+        }
+        batchInsert("INSERT INTO users (user_name, password, role, registered_at) VALUES (?, ?, ?, ?)", rows);
+
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM users WHERE user_name LIKE ? ORDER BY user_id", Integer.class, prefix + "%");
+    }
+
+    // post, comment id 는 애플리케이션과 같은 id_sequence 에서 받는다.
+    private List<Integer> insertPosts(List<Integer> userIds) {
+        int firstId = idBlockRepository.allocate(IdBlock.POST, properties.posts);
+        List<Integer> postIds = new ArrayList<>(properties.posts);
+        List<Object[]> rows = new ArrayList<>(properties.posts);
+        List<Timestamp> times = new ArrayList<>(properties.posts);
+
+        for (int i = 0; i < properties.posts; i++) {
+            times.add(randomTime());
+        }
+        // post id 순서와 작성 시각 순서를 맞춘다.
+        times.sort(null);
+
+        for (int i = 0; i < properties.posts; i++) {
+            postIds.add(firstId + i);
+            rows.add(new Object[]{firstId + i, "title " + i, "load test body " + i, pick(userIds), times.get(i)});
+        }
+        batchInsert("INSERT INTO post (post_id, title, body, user_id, registered_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        return postIds;
+    }
+
+    private int[] insertLikes(List<Integer> userIds, List<Integer> postIds) {
+        int[] counts = new int[postIds.size()];
+        Set<Long> pairs = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(properties.likes);
+
+        // (user_id, post_id) 는 unique 이므로 겹치지 않는 쌍만 넣는다.
+        int limit = (int) Math.min(properties.likes, (long) userIds.size() * postIds.size());
+        while (rows.size() < limit) {
+            int user = random.nextInt(userIds.size());
+            int post = random.nextInt(postIds.size());
+
+            if (pairs.add(((long) user << 32) | post)) {
+                rows.add(new Object[]{postIds.get(post), userIds.get(user), randomTime()});
+                counts[post]++;
+            }
+        }
+        batchInsert("INSERT INTO post_like (post_id, user_id, registered_at) VALUES (?, ?, ?)", rows);
+
+        return counts;
+    }
+
+    private int[] insertComments(List<Integer> userIds, List<Integer> postIds) {
+        int[] counts = new int[postIds.size()];
+        int firstId = idBlockRepository.allocate(IdBlock.COMMENT, properties.comments);
+        List<Object[]> rows = new ArrayList<>(properties.comments);
+
+        for (int i = 0; i < properties.comments; i++) {
+            int post = random.nextInt(postIds.size());
+            rows.add(new Object[]{firstId + i, postIds.get(post), pick(userIds), "comment " + i, randomTime()});
+            counts[post]++;
+        }
+        batchInsert("INSERT INTO comment (comment_id, post_id, user_id, comment, registered_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        return counts;
+    }
+
+    private void insertPostCounts(List<Integer> postIds, int[] likeCounts, int[] commentCounts) {
+        List<Object[]> rows = new ArrayList<>(postIds.size());
+
+        for (int i = 0; i < postIds.size(); i++) {
+            rows.add(new Object[]{postIds.get(i), likeCounts[i], commentCounts[i], new Timestamp(now)});
+        }
+        batchInsert("INSERT INTO post_count (post_id, like_count, comment_count, updated_at) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    // args 를 JSON 으로 바꾸는 방식이 DB 마다 달라서 AlarmJdbcRepository 를 그대로 쓴다.
+    private void insertAlarms(List<Integer> userIds, List<Integer> postIds) {
+        List<AlarmEvent> events = new ArrayList<>(CHUNK_SIZE);
+        AlarmType[] types = AlarmType.values();
+
+        for (int i = 0; i < properties.alarms; i++) {
+            AlarmArgs args = new AlarmArgs(pick(userIds), pick(postIds));
+            events.add(new AlarmEvent(pick(userIds), types[random.nextInt(types.length)], args, randomTime(), 1));
+
+            if (events.size() == CHUNK_SIZE) {
+                alarmJdbcRepository.saveAll(events);
+                events.clear();
+            }
+        }
+        alarmJdbcRepository.saveAll(events);
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size())));
+        }
+    }
+
+    private Integer pick(List<Integer> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private Timestamp randomTime() {
+        return new Timestamp(now - (long) (random.nextDouble() * PERIOD_MS));
+    }
+}
@@ -0,0 +1,77 @@
+package com.ddangme.sns.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// endpoint 별 응답 시간 histogram 과 실패 수. 여러 worker 스레드가 동시에 기록한다.
+// reset() 부터 finish() 까지 끝난 요청만 기록하고, req/s 도 그 구간의 길이로 나눈다.
+public class LoadReport {
+
+    // 1us ~ 60s 를 유효숫자 3자리로 기록한다.
+    private static final long MAX_LATENCY_US = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+    private volatile long finishedAt = 0;
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        // 측정 구간이 끝난 뒤 마무리 중인 시나리오의 요청
+        if (finishedAt != 0) {
+            return;
+        }
+
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_US));
+
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    // warm-up 동안 기록한 값을 버린다.
+    void reset() {
+        endpoints.clear();
+        startedAt = System.nanoTime();
+    }
+
+    void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    void print(PrintStream out) {
+        double seconds = ((finishedAt == 0 ? System.nanoTime() : finishedAt) - startedAt) / 1e9;
+
+        out.printf("%n%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram histogram = entry.getValue().histogram;
+                    out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                            entry.getKey(),
+                            histogram.getTotalCount(),
+                            entry.getValue().errors.sum(),
+                            histogram.getTotalCount() / seconds,
+                            histogram.getValueAtPercentile(50) / 1000.0,
+                            histogram.getValueAtPercentile(95) / 1000.0,
+                            histogram.getValueAtPercentile(99) / 1000.0,
+                            histogram.getMaxValue() / 1000.0);
+                });
+
+        long total = endpoints.values().stream().mapToLong(endpoint -> endpoint.histogram.getTotalCount()).sum();
+        out.printf("%ntotal %d requests in %.1fs (%.1f req/s)%n", total, seconds, total / seconds);
+    }
+
+    private static class Endpoint {
+
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_US, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
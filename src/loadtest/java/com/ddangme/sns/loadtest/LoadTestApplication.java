@@ -0,0 +1,44 @@
+package com.ddangme.sns.loadtest;
+
+import com.ddangme.sns.SnsApplication;
+import com.ddangme.sns.repository.AlarmJdbcRepository;
+import com.ddangme.sns.repository.IdBlockRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// 애플리케이션을 임의 포트로 띄우고, 데이터를 넣은 뒤, 같은 JVM 에서 HTTP 로 부하를 주고 endpoint 별 결과를 출력한다.
+//   ./gradlew loadTest
+//   ./gradlew loadTest --args='--loadtest.users=5000 --loadtest.threads=64 --loadtest.duration-seconds=120'
+//   ./gradlew loadTest --args='--spring.profiles.active=loadtest-mysql'
+// 부하를 주는 스레드도 같은 CPU 를 쓰므로, 절대값보다 변경 전후 비교에 쓴다.
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws InterruptedException {
+        run(args).print(System.out);
+    }
+
+    static LoadReport run(String... args) throws InterruptedException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SnsApplication.class)
+                .profiles("loadtest")
+                .run(args);
+
+        try {
+            LoadTestProperties properties = LoadTestProperties.from(context.getEnvironment());
+            Integer port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            Dataset dataset = new DatasetGenerator(
+                    context.getBean(JdbcTemplate.class),
+                    context.getBean(AlarmJdbcRepository.class),
+                    context.getBean(IdBlockRepository.class),
+                    context.getBean(BCryptPasswordEncoder.class),
+                    properties
+            ).generate();
+
+            return new WorkloadDriver("http://localhost:" + port, dataset, properties).run();
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ddangme.sns.loadtest;
+
+import org.springframework.core.env.Environment;
+
+// application-loadtest.yml 의 loadtest.* 값. --loadtest.users=5000 처럼 실행 인자로 바꿀 수 있다.
+public class LoadTestProperties {
+
+    final int users;
+    final int posts;
+    final int likes;
+    final int comments;
+    final int alarms;
+
+    final int threads;
+    final int warmupSeconds;
+    final int durationSeconds;
+
+    final int loginWeight;
+    final int feedScrollWeight;
+    final int likeStormWeight;
+    final int commentBurstWeight;
+    final int alarmPollWeight;
+
+    final int commentBurstSize;
+    final int feedScrollPages;
+
+    private LoadTestProperties(Environment env) {
+        this.users = env.getRequiredProperty("loadtest.users", Integer.class);
+        this.posts = env.getRequiredProperty("loadtest.posts", Integer.class);
+        this.likes = env.getRequiredProperty("loadtest.likes", Integer.class);
+        this.comments = env.getRequiredProperty("loadtest.comments", Integer.class);
+        this.alarms = env.getRequiredProperty("loadtest.alarms", Integer.class);
+        this.threads = env.getRequiredProperty("loadtest.threads", Integer.class);
+        this.warmupSeconds = env.getRequiredProperty("loadtest.warmup-seconds", Integer.class);
+        this.durationSeconds = env.getRequiredProperty("loadtest.duration-seconds", Integer.class);
+        this.loginWeight = env.getRequiredProperty("loadtest.weight.login", Integer.class);
+        this.feedScrollWeight = env.getRequiredProperty("loadtest.weight.feed-scroll", Integer.class);
+        this.likeStormWeight = env.getRequiredProperty("loadtest.weight.like-storm", Integer.class);
+        this.commentBurstWeight = env.getRequiredProperty("loadtest.weight.comment-burst", Integer.class);
+        this.alarmPollWeight = env.getRequiredProperty("loadtest.weight.alarm-poll", Integer.class);
+        this.commentBurstSize = env.getRequiredProperty("loadtest.comment-burst-size", Integer.class);
+        this.feedScrollPages = env.getRequiredProperty("loadtest.feed-scroll-pages", Integer.class);
+    }
+
+    static LoadTestProperties from(Environment env) {
+        return new LoadTestProperties(env);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ddangme.sns.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// 같은 데이터, 같은 부하, 같은 DB pool 크기로 platform thread 모드와 virtual thread 모드를 차례로 실행하고 결과를 출력한다.
+// 모드마다 애플리케이션을 새로 띄우고 H2 DB 도 따로 만든다. Java 21 이상에서 실행해야 한다.
+//   ./gradlew loadTestThreadModes
+//   ./gradlew loadTestThreadModes --args='--spring.datasource.hikari.maximum-pool-size=10 --loadtest.threads=256'
+// 동시 요청 수가 platform 모드의 요청 스레드 수보다 적으면 두 모드의 차이가 드러나지 않는다.
+// 그래서 따로 주지 않으면 요청 스레드를 DEFAULT_TOMCAT_THREADS 로 줄이고 그보다 많은 DEFAULT_CLIENT_THREADS 로 보낸다.
+public class ThreadModeComparison {
+
+    private static final String TOMCAT_THREADS = "server.tomcat.threads.max";
+    private static final String CLIENT_THREADS = "loadtest.threads";
+    private static final int DEFAULT_TOMCAT_THREADS = 50;
+    private static final int DEFAULT_CLIENT_THREADS = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        String[] loadArgs = withDefault(withDefault(args, TOMCAT_THREADS, DEFAULT_TOMCAT_THREADS), CLIENT_THREADS, DEFAULT_CLIENT_THREADS);
+
+        for (String mode : new String[]{"platform", "virtual"}) {
+            String[] modeArgs = Stream.concat(Stream.of(loadArgs), Stream.of(
+                    "--threads.virtual.enabled=" + mode.equals("virtual"),
+                    "--loadtest.run-name=" + mode
+            )).toArray(String[]::new);
+
+            reports.put(mode, LoadTestApplication.run(modeArgs));
+        }
+
+        reports.forEach((mode, report) -> {
+            System.out.printf("%n=== %s threads ===", mode);
+            report.print(System.out);
+        });
+    }
+
+    // 같은 option 을 두 번 주면 값이 합쳐지므로, 주지 않았을 때만 더한다.
+    private static String[] withDefault(String[] args, String name, int value) {
+        if (Stream.of(args).anyMatch(arg -> arg.startsWith("--" + name + "="))) {
+            return args;
+        }
+
+        return Stream.concat(Stream.of(args), Stream.of("--" + name + "=" + value)).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,198 @@
+package com.ddangme.sns.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// threads 개의 가상 유저가 비율에 맞춰 시나리오를 골라 HTTP 로 요청을 보낸다.
+// 가상 유저는 처음에 한 번 로그인하고, 이후에는 login 시나리오가 뽑힐 때 다른 유저로 다시 로그인한다.
+@Slf4j
+public class WorkloadDriver {
+
+    private enum Scenario {
+        LOGIN, FEED_SCROLL, LIKE_STORM, COMMENT_BURST, ALARM_POLL
+    }
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final LoadTestProperties properties;
+    private final LoadReport report = new LoadReport();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Scenario[] scenarios;
+
+    public WorkloadDriver(String baseUrl, Dataset dataset, LoadTestProperties properties) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.properties = properties;
+        this.scenarios = weightedScenarios(properties);
+    }
+
+    public LoadReport run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.threads);
+        long warmupEndsAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.warmupSeconds);
+        long endsAt = warmupEndsAt + TimeUnit.SECONDS.toNanos(properties.durationSeconds);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < properties.threads; i++) {
+            futures.add(executor.submit(() -> virtualUser(endsAt)));
+        }
+
+        log.info("Warming up for {}s", properties.warmupSeconds);
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEndsAt - System.nanoTime()));
+        report.reset();
+        log.info("Measuring for {}s with {} threads", properties.durationSeconds, properties.threads);
+
+        // 가상 유저는 진행 중인 시나리오를 마치고 멈추므로, 측정은 endsAt 에 끝낸다.
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, endsAt - System.nanoTime()));
+        report.finish();
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                log.error("Virtual user failed. {}", e.toString());
+            }
+        }
+        executor.shutdown();
+
+        return report;
+    }
+
+    private Void virtualUser(long endsAt) {
+        String token = login();
+
+        while (System.nanoTime() < endsAt) {
+            switch (scenarios[ThreadLocalRandom.current().nextInt(scenarios.length)]) {
+                case LOGIN:
+                    String renewed = login();
+                    token = renewed == null ? token : renewed;
+                    break;
+                case FEED_SCROLL:
+                    feedScroll(token);
+                    break;
+                case LIKE_STORM:
+                    // 같은 유저의 두 번째 좋아요는 409 (ALREADY_LIKED) 로 끝나는 것이 정상이다.
+                    send("POST /posts/{id}/likes", "POST", "/api/v1/posts/" + dataset.hotPostId + "/likes", null, token, 409);
+                    break;
+                case COMMENT_BURST:
+                    Integer postId = dataset.recentPostId();
+                    for (int i = 0; i < properties.commentBurstSize; i++) {
+                        send("POST /posts/{id}/comments", "POST", "/api/v1/posts/" + postId + "/comments",
+                                Map.of("comment", "load test comment " + i), token);
+                    }
+                    break;
+                case ALARM_POLL:
+                    send("GET /alarm/unread-count", "GET", "/api/v1/alarm/unread-count", null, token);
+                    send("GET /alarm/cursor", "GET", "/api/v1/alarm/cursor?size=20", null, token);
+                    break;
+            }
+        }
+
+        return null;
+    }
+
+    private String login() {
+        JsonNode result = send("POST /users/login", "POST", "/api/v1/users/login",
+                Map.of("userName", dataset.randomUserName(), "password", Dataset.PASSWORD), null);
+
+        return result == null ? null : result.path("token").asText(null);
+    }
+
+    private void feedScroll(String token) {
+        String cursor = null;
+
+        for (int page = 0; page < properties.feedScrollPages; page++) {
+            String path = "/api/v1/posts/cursor?size=20" + (cursor == null ? "" : "&cursor=" + cursor);
+            JsonNode result = send("GET /posts/cursor", "GET", path, null, token);
+
+            if (result == null || !result.path("hasNext").asBoolean()) {
+                return;
+            }
+            cursor = result.path("nextCursor").asText();
+        }
+    }
+
+    // 응답의 result 를 돌려준다. 실패하면 null
+    private JsonNode send(String endpoint, String method, String path, Object body, String token, int... expectedErrors) {
+        long startedAt = System.nanoTime();
+        boolean success = false;
+
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json");
+
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+
+            request.method(method, body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() / 100 == 2 || contains(expectedErrors, response.statusCode());
+
+            if (response.statusCode() / 100 != 2) {
+                return null;
+            }
+
+            return objectMapper.readTree(response.body()).path("result");
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            report.record(endpoint, System.nanoTime() - startedAt, success);
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Scenario[] weightedScenarios(LoadTestProperties properties) {
+        List<Scenario> scenarios = new ArrayList<>();
+        add(scenarios, Scenario.LOGIN, properties.loginWeight);
+        add(scenarios, Scenario.FEED_SCROLL, properties.feedScrollWeight);
+        add(scenarios, Scenario.LIKE_STORM, properties.likeStormWeight);
+        add(scenarios, Scenario.COMMENT_BURST, properties.commentBurstWeight);
+        add(scenarios, Scenario.ALARM_POLL, properties.alarmPollWeight);
+
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario weight must be positive");
+        }
+
+        return scenarios.toArray(Scenario[]::new);
+    }
+
+    private static void add(List<Scenario> scenarios, Scenario scenario, int weight) {
+        for (int i = 0; i < weight; i++) {
+            scenarios.add(scenario);
+        }
+    }
+}
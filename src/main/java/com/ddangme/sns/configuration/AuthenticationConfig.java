@@ -2,9 +2,12 @@ package com.ddangme.sns.configuration;
 
 import com.ddangme.sns.configuration.filter.JwtTokenFilter;
 import com.ddangme.sns.exception.CustomAuthenticationEntryPoint;
+import com.ddangme.sns.model.UserRole;
 import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.JwtTokenProvider;
+import com.ddangme.sns.util.SubscribeTicketProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
@@ -19,9 +22,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class AuthenticationConfig extends WebSecurityConfigurerAdapter {
 
     private final UserService userService;
-
-    @Value("${jwt.secret-key}")
-    private String key;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final SubscribeTicketProvider subscribeTicketProvider;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void configure(WebSecurity web) throws Exception {
@@ -33,12 +36,13 @@ public class AuthenticationConfig extends WebSecurityConfigurerAdapter {
         http.csrf().disable()
                 .authorizeRequests()
                 .antMatchers("/api/*/users/join", "/api/*/users/login").permitAll()
+                .antMatchers("/api/*/import/**", "/api/*/search/rebuild", "/api/*/deletion/**").hasAuthority(UserRole.ADMIN.name())
                 .antMatchers("/api/**").authenticated()
                 .and()
                 .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
-                .addFilterBefore(new JwtTokenFilter(key, userService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenFilter(jwtTokenProvider, subscribeTicketProvider, userService, meterRegistry), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling()
                 .authenticationEntryPoint(new CustomAuthenticationEntryPoint());
     }
@@ -0,0 +1,42 @@
+package com.ddangme.sns.configuration;
+
+import com.ddangme.sns.model.CompactionTable;
+import com.ddangme.sns.service.AlarmWriter;
+import com.ddangme.sns.service.CompactionService;
+import com.ddangme.sns.service.DeletionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 백그라운드 작업의 상태를 /actuator/prometheus 로 내보낸다.
+// 요청, DB 커넥션 풀, Hibernate 통계는 actuator 가, 캐시는 캐시를 가진 클래스가 직접 등록한다.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder alarmWriterMetrics(AlarmWriter alarmWriter) {
+        return registry -> {
+            Gauge.builder("alarm.write.queue.size", alarmWriter, AlarmWriter::getQueueSize).register(registry);
+            FunctionCounter.builder("alarm.write.written", alarmWriter, AlarmWriter::getWrittenCount).register(registry);
+            FunctionCounter.builder("alarm.write.dropped", alarmWriter, AlarmWriter::getDroppedCount).register(registry);
+            FunctionCounter.builder("alarm.write.failed", alarmWriter, AlarmWriter::getFailedCount).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder backgroundJobMetrics(CompactionService compactionService, DeletionService deletionService) {
+        return registry -> {
+            FunctionCounter.builder("compaction.moved", compactionService, CompactionService::getTotalMovedCount).register(registry);
+
+            for (CompactionTable table : CompactionTable.values()) {
+                Gauge.builder("compaction.last.run.moved", compactionService, service -> service.getLastRunMovedCount(table))
+                        .tag("table", table.getTable())
+                        .register(registry);
+            }
+
+            Gauge.builder("deletion.jobs.running", deletionService, DeletionService::getRunningCount).register(registry);
+        };
+    }
+}
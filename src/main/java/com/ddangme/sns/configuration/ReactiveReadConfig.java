@@ -0,0 +1,140 @@
+package com.ddangme.sns.configuration;
+
+import com.ddangme.sns.configuration.filter.JwtAuthenticator;
+import com.ddangme.sns.controller.ReactiveReadHandler;
+import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+// 조회 전용 리액티브 서버. MVC 서버(server.port)와 별도로 reactive.port 에서 Netty event loop 스레드 몇 개로 요청을 받는다.
+// 쓰기는 모두 MVC 서버에서 한다. 경로와 응답 형태는 MVC 의 같은 조회 API 와 같다.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveReadHandler handler,
+                                                             JwtTokenProvider jwtTokenProvider,
+                                                             UserService userService,
+                                                             MeterRegistry meterRegistry) {
+        JwtAuthenticator jwtAuthenticator = new JwtAuthenticator(jwtTokenProvider, userService, meterRegistry);
+
+        return RouterFunctions.route()
+                .GET("/api/v1/posts", handler::list)
+                .GET("/api/v1/posts/my", handler::my)
+                .GET("/api/v1/posts/{postId}/comments", handler::comment)
+                .GET("/api/v1/alarm", handler::alarm)
+                // MVC 의 JwtTokenFilter 와 같은 방식으로 검증한다. 유저를 캐시에서 찾지 못하면 JPA 로 읽으므로 event loop 밖에서 한다.
+                .filter((request, next) -> {
+                    String token = JwtAuthenticator.resolveToken(request.headers().firstHeader(HttpHeaders.AUTHORIZATION));
+
+                    if (token == null) {
+                        return error(ErrorCode.INVALID_TOKEN);
+                    }
+
+                    return Mono.fromCallable(() -> jwtAuthenticator.authenticate(token))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .onErrorResume(e -> {
+                                log.error("Error occurs while validating. {}", e.toString());
+                                return Mono.empty();
+                            })
+                            .flatMap(user -> {
+                                request.attributes().put(ReactiveReadHandler.USER_ATTRIBUTE, user);
+                                return Mono.defer(() -> next.handle(request));
+                            })
+                            .switchIfEmpty(Mono.defer(() -> error(ErrorCode.INVALID_TOKEN)));
+                })
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(SnsApplicationException.class, e -> {
+                            log.error("Error occurs {}", e.toString());
+                            return error(e.getErrorCode());
+                        })
+                        .onErrorResume(e -> {
+                            log.error("Error occurs {}", e.toString());
+                            return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(Response.error(ErrorCode.INTERNAL_SERVER_ERROR.name()));
+                        }))
+                .build();
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(RouterFunction<ServerResponse> reactiveReadRoutes,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${reactive.port}") int port) {
+        // MVC 와 같은 ObjectMapper 로 직렬화해서 응답 JSON 이 같게 한다.
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        return new ReactiveReadServer(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(reactiveReadRoutes, strategies)), port);
+    }
+
+    private static Mono<ServerResponse> error(ErrorCode errorCode) {
+        return ServerResponse.status(errorCode.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Response.error(errorCode.name()));
+    }
+
+    public static class ReactiveReadServer implements SmartLifecycle {
+
+        private final ReactorHttpHandlerAdapter handlerAdapter;
+        private final int port;
+        private volatile DisposableServer server;
+
+        ReactiveReadServer(ReactorHttpHandlerAdapter handlerAdapter, int port) {
+            this.handlerAdapter = handlerAdapter;
+            this.port = port;
+        }
+
+        @Override
+        public void start() {
+            server = HttpServer.create().port(port).handle(handlerAdapter).bindNow();
+            log.info("Reactive read server started on port {}", server.port());
+        }
+
+        @Override
+        public void stop() {
+            server.disposeNow();
+            server = null;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return server != null;
+        }
+
+        // reactive.port 가 0 이면 실제로 열린 포트
+        public int getPort() {
+            return server.port();
+        }
+    }
+}
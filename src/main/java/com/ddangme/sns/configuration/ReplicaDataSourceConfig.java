@@ -0,0 +1,76 @@
+package com.ddangme.sns.configuration;
+
+import com.ddangme.sns.configuration.datasource.ReplicaDataSources;
+import com.ddangme.sns.configuration.datasource.ReplicaRoutingDataSource;
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.repository.RecentWriterCacheRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// replica.enabled=true 일 때 @Transactional(readOnly = true) 조회는 replica 에서, 쓰기는 primary 에서 한다.
+// 트랜잭션 밖의 조회, data.sql, 스키마 변경, 백그라운드 작업은 모두 primary 를 쓴다.
+// 로그인 유저가 read-your-writes.window-ms 안에 쓰기를 했으면 그 유저의 조회도 primary 에서 읽는다.
+// replica 는 primary 와 같은 계정(spring.datasource.username, password)과 pool 크기를 쓴다.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(DataSourceProperties properties,
+                                                 @Value("${spring.datasource.hikari.maximum-pool-size}") int maximumPoolSize,
+                                                 @Value("${replica.urls}") List<String> replicaUrls,
+                                                 @Value("${replica.health-check.timeout-ms}") long healthCheckTimeoutMs) {
+        HikariDataSource primary = pool(properties, ReplicaDataSources.PRIMARY, properties.determineUrl(), maximumPoolSize);
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(properties, "replica-" + i, replicaUrls.get(i), maximumPoolSize);
+            // 죽은 replica 의 커넥션을 오래 기다리지 않는다.
+            replica.setConnectionTimeout(healthCheckTimeoutMs);
+            replicas.add(replica);
+        }
+
+        log.info("Read-only transactions are routed to {} replica(s)", replicas.size());
+        return new ReplicaDataSources(primary, replicas, (int) Math.max(1, healthCheckTimeoutMs / 1000));
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaDataSources replicaDataSources, RecentWriterCacheRepository recentWriterCacheRepository) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(replicaDataSources, () -> isRecentWriter(recentWriterCacheRepository)));
+    }
+
+    // 요청 스레드의 로그인 유저는 JwtTokenFilter 가 넣는다. 백그라운드 스레드에는 없다.
+    private static boolean isRecentWriter(RecentWriterCacheRepository recentWriterCacheRepository) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof User)) {
+            return false;
+        }
+
+        return recentWriterCacheRepository.isRecent(((User) authentication.getPrincipal()).getId());
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String name, String url, int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+}
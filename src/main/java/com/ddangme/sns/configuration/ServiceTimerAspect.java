@@ -0,0 +1,43 @@
+package com.ddangme.sns.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// PostService, UserService, AlarmService 의 public 메소드 실행 시간을 service.method 로 기록한다.
+// 같은 클래스 안에서 호출한 메소드는 proxy 를 거치지 않으므로 따로 기록되지 않는다.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimerAspect {
+
+    // aspect 는 다른 bean 보다 먼저 만들어지므로, registry 와 거기에 묶이는 MeterBinder 들을 함께 끌어오지 않도록 늦게 꺼낸다.
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Around("execution(public * com.ddangme.sns.service.PostService.*(..)) " +
+            "|| execution(public * com.ddangme.sns.service.UserService.*(..)) " +
+            "|| execution(public * com.ddangme.sns.service.AlarmService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MeterRegistry meterRegistry = meterRegistryProvider.getObject();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
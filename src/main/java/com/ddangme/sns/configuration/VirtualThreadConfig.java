@@ -0,0 +1,34 @@
+package com.ddangme.sns.configuration;
+
+import com.ddangme.sns.util.WorkerThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// threads.virtual.enabled=true 일 때 요청마다 virtual thread 를 하나씩 쓴다.
+// 요청 스레드 수에 상한이 없어지므로 DB 를 쓰는 요청은 Hikari 의 maximum-pool-size 만큼만 동시에 실행되고,
+// 나머지는 connection-timeout 까지 커넥션을 기다린다. (server.tomcat.threads.max 는 더 이상 쓰이지 않는다)
+// JDBC 드라이버 안의 synchronized 구간에서는 carrier 스레드가 묶이므로(pinning), -Djdk.tracePinnedThreads=short 로 확인한다.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(WorkerThreads workerThreads) {
+        log.info("Servlet requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(workerThreads.perTaskExecutor("http"));
+    }
+
+    // 스케줄 작업도 virtual thread 에서 실행한다. 동시에 실행되는 작업 수는 spring.task.scheduling.pool.size 그대로다.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder, WorkerThreads workerThreads) {
+        ThreadPoolTaskScheduler scheduler = builder.build();
+        scheduler.setThreadFactory(workerThreads.factory("scheduling"));
+        return scheduler;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ddangme.sns.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// primary 와 replica 커넥션 풀. replica 는 health-check.interval-ms 마다 커넥션을 검사해서 실패한 replica 를 조회 대상에서 뺀다.
+// 검사 사이에 죽은 replica 로 간 조회는 실패한다. 조회할 수 있는 replica 가 없으면 primary 에서 읽는다.
+@Slf4j
+public class ReplicaDataSources implements MeterBinder, Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // 검사를 통과한 replica 의 pool 이름. 처음에는 모두 살아있다고 본다.
+    private volatile List<String> healthy;
+
+    public ReplicaDataSources(HikariDataSource primary, List<HikariDataSource> replicas, int healthCheckTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+        this.healthy = poolNames(this.replicas);
+    }
+
+    // AbstractRoutingDataSource 의 lookup key 와 커넥션 풀
+    public Map<Object, Object> targets() {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getPoolName(), replica));
+        return targets;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    // 살아있는 replica 를 돌아가며 고른다.
+    public String nextReplica() {
+        List<String> candidates = healthy;
+
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    // 검사를 통과한 replica 인지. primary 는 replica 가 아니므로 false
+    public boolean isHealthy(String replica) {
+        return healthy.contains(replica);
+    }
+
+    @Scheduled(fixedDelayString = "${replica.health-check.interval-ms}")
+    public void checkHealth() {
+        List<String> alive = poolNames(replicas.stream()
+                .filter(this::isAlive)
+                .collect(Collectors.toList()));
+
+        if (!alive.equals(healthy)) {
+            log.warn("Healthy replicas changed. before: {}, after: {}", healthy, alive);
+        }
+        healthy = alive;
+    }
+
+    public int getHealthyCount() {
+        return healthy.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // 풀이 DataSource bean 으로 드러나지 않으므로 hikaricp.* metric 을 직접 붙인다. pool 태그로 구분된다.
+        MicrometerMetricsTrackerFactory trackerFactory = new MicrometerMetricsTrackerFactory(registry);
+        primary.setMetricsTrackerFactory(trackerFactory);
+        replicas.forEach(replica -> replica.setMetricsTrackerFactory(trackerFactory));
+
+        Gauge.builder("replica.healthy", this, ReplicaDataSources::getHealthyCount).register(registry);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private boolean isAlive(HikariDataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            return connection.isValid(healthCheckTimeoutSeconds);
+        } catch (SQLException e) {
+            log.error("Replica health check failed. pool: {}, {}", replica.getPoolName(), e.toString());
+            return false;
+        }
+    }
+
+    private static List<String> poolNames(List<HikariDataSource> dataSources) {
+        return dataSources.stream()
+                .map(HikariDataSource::getPoolName)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
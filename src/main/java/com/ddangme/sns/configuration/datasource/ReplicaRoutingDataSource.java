@@ -0,0 +1,74 @@
+package com.ddangme.sns.configuration.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.BooleanSupplier;
+
+// readOnly 트랜잭션의 커넥션은 replica 에서, 나머지는 primary 에서 꺼낸다.
+// 트랜잭션을 시작할 때는 아직 readOnly 가 표시되지 않으므로 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 때 고르게 한다.
+// replica 마다 복제 지연이 다르므로, 한 요청(요청 밖에서는 한 트랜잭션)의 조회는 같은 replica 에서 읽는다.
+// 그렇지 않으면 앞선 조회에서 본 row 가 뒤의 조회에서 사라질 수 있다. 고른 replica 가 검사에서 빠지면 다시 고른다.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PINNED_REPLICA = ReplicaRoutingDataSource.class.getName() + ".PINNED_REPLICA";
+
+    private final ReplicaDataSources dataSources;
+    private final BooleanSupplier primaryRequired;
+
+    public ReplicaRoutingDataSource(ReplicaDataSources dataSources, BooleanSupplier primaryRequired) {
+        this.dataSources = dataSources;
+        this.primaryRequired = primaryRequired;
+
+        setTargetDataSources(dataSources.targets());
+        setDefaultTargetDataSource(dataSources.getPrimary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || primaryRequired.getAsBoolean()) {
+            return ReplicaDataSources.PRIMARY;
+        }
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null ? pinToRequest(request) : pinToTransaction();
+    }
+
+    private String pinToRequest(RequestAttributes request) {
+        String pinned = (String) request.getAttribute(PINNED_REPLICA, RequestAttributes.SCOPE_REQUEST);
+
+        if (pinned == null || !dataSources.isHealthy(pinned)) {
+            pinned = dataSources.nextReplica();
+            request.setAttribute(PINNED_REPLICA, pinned, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return pinned;
+    }
+
+    private String pinToTransaction() {
+        String pinned = (String) TransactionSynchronizationManager.getResource(PINNED_REPLICA);
+
+        if (pinned != null && dataSources.isHealthy(pinned)) {
+            return pinned;
+        }
+
+        if (pinned == null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PINNED_REPLICA);
+                }
+            });
+        } else {
+            TransactionSynchronizationManager.unbindResource(PINNED_REPLICA);
+        }
+
+        pinned = dataSources.nextReplica();
+        TransactionSynchronizationManager.bindResource(PINNED_REPLICA, pinned);
+        return pinned;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ddangme.sns.configuration.filter;
+
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.JwtTokenProvider;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+// Authorization 헤더의 토큰을 검증하고 유저를 찾는다. MVC 의 JwtTokenFilter 와 리액티브 조회 서버가 함께 쓴다.
+@RequiredArgsConstructor
+public class JwtAuthenticator {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    // "Bearer {token}" 이 아니거나 토큰이 비어있으면 null
+    public static String resolveToken(String header) {
+        if (header == null || !header.startsWith(BEARER)) {
+            return null;
+        }
+
+        String token = header.substring(BEARER.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    // 토큰이 올바르지 않거나 만료됐으면 JwtException, 유저가 없으면 SnsApplicationException 을 던진다.
+    // 유저를 캐시에서 찾지 못하면 DB 를 읽는다.
+    public User authenticate(String token) {
+        return userService.loadUserByUserName(verify(token));
+    }
+
+    // 캐시에서 찾은 경우와 서명을 검증한 경우가 함께 기록된다. 캐시 적중률은 cache_gets{cache="token"} 으로 본다.
+    private String verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "invalid";
+
+        try {
+            String userName = jwtTokenProvider.verify(token).getUserName();
+            result = "valid";
+            return userName;
+        } catch (ExpiredJwtException e) {
+            result = "expired";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("jwt.verify").tag("result", result).register(meterRegistry));
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.ddangme.sns.configuration.filter;
 
 import com.ddangme.sns.model.User;
 import com.ddangme.sns.service.UserService;
-import com.ddangme.sns.util.JwtTokenUtils;
-import lombok.RequiredArgsConstructor;
+import com.ddangme.sns.util.JwtTokenProvider;
+import com.ddangme.sns.util.SubscribeTicketProvider;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,46 +22,62 @@ import java.io.IOException;
 import java.util.List;
 
 @Slf4j
-@RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
 
-    private final String key;
+    // EventSource 는 헤더를 지정할 수 없으므로 SSE 연결은 query parameter 로 구독 ticket 을 받는다.
+    private static final List<String> TICKET_IN_PARAM = List.of("/api/v1/alarm/subscribe");
+
+    private final JwtAuthenticator jwtAuthenticator;
+    private final SubscribeTicketProvider subscribeTicketProvider;
     private final UserService userService;
 
+    public JwtTokenFilter(JwtTokenProvider jwtTokenProvider, SubscribeTicketProvider subscribeTicketProvider,
+                          UserService userService, MeterRegistry meterRegistry) {
+        this.jwtAuthenticator = new JwtAuthenticator(jwtTokenProvider, userService, meterRegistry);
+        this.subscribeTicketProvider = subscribeTicketProvider;
+        this.userService = userService;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
-        // get header
-        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-
-        if (header == null || !header.startsWith("Bearer ")) {
-            log.error("Error occurs while getting header. header is null or invalid");
-            filterChain.doFilter(request, response);
-
-            return;
-        }
+        final String token;
+        final boolean ticket = TICKET_IN_PARAM.contains(request.getRequestURI());
 
-        try {
-            final String token = header.split(" ")[1].trim();
+        if (ticket) {
+            token = request.getParameter("ticket");
+        } else {
+            // get header
+            token = JwtAuthenticator.resolveToken(request.getHeader(HttpHeaders.AUTHORIZATION));
 
-            if (JwtTokenUtils.isExpired(token, key)) {
-                log.error("Key is expired");
+            if (token == null) {
+                log.error("Error occurs while getting header. header is null or invalid");
                 filterChain.doFilter(request, response);
 
                 return;
             }
+        }
+
+        if (token == null) {
+            log.error("Error occurs while getting token. token is null");
+            filterChain.doFilter(request, response);
 
-            String userName = JwtTokenUtils.getUserName(token, key);
+            return;
+        }
 
-            User user = userService.loadUserByUserName(userName);
+        try {
+            User user = ticket
+                    ? userService.loadUserByUserName(subscribeTicketProvider.verify(token))
+                    : jwtAuthenticator.authenticate(token);
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     user, null, user.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
+        } catch (ExpiredJwtException e) {
+            log.error("Key is expired");
         } catch (RuntimeException e) {
             log.error("Error occurs while validating. {}", e.toString());
-            filterChain.doFilter(request, response);
         }
 
         filterChain.doFilter(request, response);
@@ -1,19 +1,28 @@
 package com.ddangme.sns.controller;
 
 import com.ddangme.sns.controller.response.AlarmResponse;
+import com.ddangme.sns.controller.response.CursorResponse;
 import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.controller.response.SubscribeTicketResponse;
 import com.ddangme.sns.exception.ErrorCode;
 import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.Cursor;
 import com.ddangme.sns.model.User;
 import com.ddangme.sns.service.AlarmService;
 import com.ddangme.sns.util.ClassUtils;
+import com.ddangme.sns.util.SubscribeTicketProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/alarm")
@@ -21,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AlarmController {
 
     private final AlarmService alarmService;
+    private final SubscribeTicketProvider subscribeTicketProvider;
 
     @GetMapping
     public Response<Page<AlarmResponse>> list(Pageable pageable, Authentication authentication) {
@@ -32,4 +42,52 @@ public class AlarmController {
         return Response.success(alarms);
     }
 
+    // 구독 연결은 access token 대신 이 ticket 을 ?ticket= 으로 보낸다.
+    @PostMapping("/subscribe-ticket")
+    public Response<SubscribeTicketResponse> subscribeTicket(Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        return Response.success(new SubscribeTicketResponse(subscribeTicketProvider.generateTicket(user.getUsername())));
+    }
+
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) Integer lastEventId,
+                                Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        return alarmService.connectAlarm(user.getId(), lastEventId);
+    }
+
+    @GetMapping("/unread-count")
+    public Response<Long> unreadCount(Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        return Response.success(alarmService.unreadCount(user.getId()));
+    }
+
+    @PostMapping("/read")
+    public Response<Void> readAll(Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        alarmService.readAll(user.getId());
+
+        return Response.success();
+    }
+
+    @GetMapping("/cursor")
+    public Response<CursorResponse<AlarmResponse>> list(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        return Response.success(CursorResponse.of(
+                alarmService.alarmList(user.getId(), cursor, size).map(AlarmResponse::fromAlarm),
+                it -> Cursor.of(it.getRegisteredAt(), it.getId())));
+    }
+
 }
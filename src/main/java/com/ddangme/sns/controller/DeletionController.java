@@ -0,0 +1,32 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.controller.response.DeletionJobResponse;
+import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.service.DeletionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 관리자 전용. 백그라운드 삭제 작업의 진행 상황을 본다.
+@RestController
+@RequestMapping("/api/v1/deletion/jobs")
+@RequiredArgsConstructor
+public class DeletionController {
+
+    private final DeletionService deletionService;
+
+    // 끝나지 않은 작업. 오래된 것부터 처리하므로 id 순서로 돌려준다.
+    @GetMapping
+    public Response<Page<DeletionJobResponse>> running(Pageable pageable) {
+        return Response.success(deletionService.getRunningJobs(pageable).map(DeletionJobResponse::fromJob));
+    }
+
+    @GetMapping("/{jobId}")
+    public Response<DeletionJobResponse> job(@PathVariable Integer jobId) {
+        return Response.success(DeletionJobResponse.fromJob(deletionService.getJob(jobId)));
+    }
+}
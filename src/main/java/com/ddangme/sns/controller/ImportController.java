@@ -0,0 +1,40 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.controller.response.ImportChunkResponse;
+import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.service.ImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 관리자 전용 대량 import. 본문은 한 줄에 JSON 하나(NDJSON)
+//   post: {"userId": 1, "title": "...", "body": "...", "registeredAt": "2019-03-01T09:00:00Z"}
+//   댓글: {"postId": 1, "userId": 2, "comment": "...", "registeredAt": 1551430800000}
+// 본문을 @RequestBody 로 받지 않고 InputStream 으로 읽어서 요청 전체를 메모리에 올리지 않는다.
+@RestController
+@RequestMapping("/api/v1/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportService importService;
+
+    @PostMapping(value = "/posts", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Response<List<ImportChunkResponse>> posts(InputStream body) {
+        return Response.success(importService.importPosts(body).stream()
+                .map(ImportChunkResponse::fromChunk)
+                .collect(Collectors.toList()));
+    }
+
+    @PostMapping(value = "/comments", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Response<List<ImportChunkResponse>> comments(InputStream body) {
+        return Response.success(importService.importComments(body).stream()
+                .map(ImportChunkResponse::fromChunk)
+                .collect(Collectors.toList()));
+    }
+}
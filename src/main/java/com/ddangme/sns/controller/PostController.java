@@ -4,20 +4,37 @@ import com.ddangme.sns.controller.request.PostCommentRequest;
 import com.ddangme.sns.controller.request.PostCreateRequest;
 import com.ddangme.sns.controller.request.PostModifyRequest;
 import com.ddangme.sns.controller.response.CommentResponse;
+import com.ddangme.sns.controller.response.CursorResponse;
 import com.ddangme.sns.controller.response.PostResponse;
 import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.controller.response.TrendingHashtagResponse;
 import com.ddangme.sns.exception.ErrorCode;
 import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.FeedMode;
 import com.ddangme.sns.model.Post;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.TrendingWindow;
 import com.ddangme.sns.model.User;
+import com.ddangme.sns.service.HashtagService;
 import com.ddangme.sns.service.PostService;
+import com.ddangme.sns.service.TimelineService;
 import com.ddangme.sns.util.ClassUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -26,6 +43,8 @@ import org.springframework.web.bind.annotation.*;
 public class PostController {
 
     private final PostService postService;
+    private final TimelineService timelineService;
+    private final HashtagService hashtagService;
 
     @PostMapping
     public Response<Void> create(@RequestBody PostCreateRequest request, Authentication authentication) {
@@ -52,14 +71,83 @@ public class PostController {
     }
 
     @GetMapping
-    public Response<Page<PostResponse>> list(Pageable pageable) {
-        return Response.success(postService.feedList(pageable).map(PostResponse::fromPost));
+    public Response<Page<PostResponse>> list(@RequestParam(defaultValue = "LATEST") FeedMode mode,
+                                             Pageable pageable,
+                                             Authentication authentication) {
+        Page<PostSummary> posts = mode == FeedMode.HOT ? postService.hotFeedList(pageable) : postService.feedList(pageable);
+        return Response.success(posts.map(withLikedByMe(posts, authentication)));
     }
 
     @GetMapping("my")
     public Response<Page<PostResponse>> my(Pageable pageable, Authentication authentication) {
         User loginUser = getLoginUser(authentication);
-        return Response.success(postService.myFeedList(loginUser.getId(), pageable).map(PostResponse::fromPost));
+        Page<PostSummary> posts = postService.myFeedList(loginUser.getId(), pageable);
+        return Response.success(posts.map(withLikedByMe(posts, authentication)));
+    }
+
+    @GetMapping("/cursor")
+    public Response<CursorResponse<PostResponse>> list(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "20") int size,
+                                                       Authentication authentication) {
+        Slice<PostSummary> posts = postService.feedList(cursor, size);
+        return Response.success(CursorResponse.of(
+                posts.map(withLikedByMe(posts, authentication)),
+                it -> Cursor.of(it.getRegisteredAt(), it.getId())));
+    }
+
+    @GetMapping("/my/cursor")
+    public Response<CursorResponse<PostResponse>> my(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size,
+                                                     Authentication authentication) {
+        User loginUser = getLoginUser(authentication);
+        Slice<PostSummary> posts = postService.myFeedList(loginUser.getId(), cursor, size);
+        return Response.success(CursorResponse.of(
+                posts.map(withLikedByMe(posts, authentication)),
+                it -> Cursor.of(it.getRegisteredAt(), it.getId())));
+    }
+
+    @GetMapping("/timeline")
+    public Response<CursorResponse<PostResponse>> timeline(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           Authentication authentication) {
+        User loginUser = getLoginUser(authentication);
+        Slice<PostSummary> posts = timelineService.timeline(loginUser.getId(), cursor, size);
+        return Response.success(CursorResponse.of(
+                posts.map(withLikedByMe(posts, authentication)),
+                it -> Cursor.of(it.getRegisteredAt(), it.getId())));
+    }
+
+    @GetMapping("/hashtags/trending")
+    public Response<List<TrendingHashtagResponse>> trending(@RequestParam(defaultValue = "HOUR") TrendingWindow window,
+                                                            @RequestParam(defaultValue = "10") int size) {
+        return Response.success(hashtagService.trending(window, size).stream()
+                .map(TrendingHashtagResponse::fromTrending)
+                .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/hashtags/{tag}/cursor")
+    public Response<CursorResponse<PostResponse>> hashtag(@PathVariable String tag,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          Authentication authentication) {
+        Slice<PostSummary> posts = hashtagService.feed(tag, cursor, size);
+        return Response.success(CursorResponse.of(
+                posts.map(withLikedByMe(posts, authentication)),
+                it -> Cursor.of(it.getRegisteredAt(), it.getId())));
+    }
+
+    // 변경 시각과 좋아요 여부가 같으면 post 를 읽지 않고 304 로 응답한다.
+    @GetMapping("/{postId}")
+    public Response<PostResponse> detail(@PathVariable Integer postId, Authentication authentication, ServletWebRequest request) {
+        boolean likedByMe = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .map(user -> postService.likedPostIds(user.getId(), List.of(postId)).contains(postId))
+                .orElse(false);
+
+        if (notModified(request, "post-" + postService.version(postId) + "-" + likedByMe)) {
+            return null;
+        }
+
+        return Response.success(PostResponse.fromSummary(postService.detail(postId), likedByMe));
     }
 
     @PostMapping("/{postId}/likes")
@@ -71,8 +159,14 @@ public class PostController {
     }
 
     @GetMapping("/{postId}/likes")
-    public Response<Long> likeCount(@PathVariable Integer postId) {
-        return Response.success(postService.likeCount(postId));
+    public Response<Long> likeCount(@PathVariable Integer postId, ServletWebRequest request) {
+        long likeCount = postService.likeCount(postId);
+
+        if (notModified(request, "likes-" + postId + "-" + likeCount)) {
+            return null;
+        }
+
+        return Response.success(likeCount);
     }
 
     @PostMapping("/{postId}/comments")
@@ -84,12 +178,63 @@ public class PostController {
     }
 
     @GetMapping("/{postId}/comments")
-    public Response<Page<CommentResponse>> comment(@PathVariable Integer postId, Pageable pageable) {
+    public Response<Page<CommentResponse>> comment(@PathVariable Integer postId, Pageable pageable, ServletWebRequest request) {
+        if (notModified(request, "comments-" + postService.commentsVersion(postId))) {
+            return null;
+        }
+
         Page<CommentResponse> comments = postService.getComments(postId, pageable).map(CommentResponse::fromComment);
 
         return Response.success(comments);
     }
 
+    @GetMapping("/{postId}/comments/count")
+    public Response<Long> commentCount(@PathVariable Integer postId, ServletWebRequest request) {
+        long commentCount = postService.commentCount(postId);
+
+        if (notModified(request, "comment-count-" + postId + "-" + commentCount)) {
+            return null;
+        }
+
+        return Response.success(commentCount);
+    }
+
+    @GetMapping("/{postId}/comments/cursor")
+    public Response<CursorResponse<CommentResponse>> comment(@PathVariable Integer postId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             ServletWebRequest request) {
+        if (notModified(request, "comments-" + postService.commentsVersion(postId))) {
+            return null;
+        }
+
+        return Response.success(CursorResponse.of(
+                postService.getComments(postId, cursor, size).map(CommentResponse::fromComment),
+                it -> Cursor.of(it.getRegisteredAt(), it.getId())));
+    }
+
+    // 페이지 전체의 좋아요 여부를 IN 쿼리 한 번으로 확인한다.
+    private Function<PostSummary, PostResponse> withLikedByMe(Slice<PostSummary> posts, Authentication authentication) {
+        Set<Integer> likedPostIds = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .filter(user -> posts.hasContent())
+                .map(user -> postService.likedPostIds(user.getId(), posts.map(PostSummary::getId).getContent()))
+                .orElse(Set.of());
+
+        return post -> PostResponse.fromSummary(post, likedPostIds.contains(post.getId()));
+    }
+
+    // 본문을 만들기 전에 호출한다. true 면 본문 없이 304 로 응답한다.
+    // ETag 는 URL 별로 비교되므로 페이지, cursor 파라미터는 넣지 않는다.
+    private static boolean notModified(ServletWebRequest request, String etag) {
+        // Spring Security 기본값(no-store)이면 클라이언트가 응답을 저장하지 않아 조건부 요청을 보내지 않는다.
+        // 저장은 하되 매번 재검증하도록 바꾼다. 유저마다 다른 응답이므로 private 으로 둔다.
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+
+        return request.checkNotModified(etag);
+    }
+
     private User getLoginUser(Authentication authentication) {
         return ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
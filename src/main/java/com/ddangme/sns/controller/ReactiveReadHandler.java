@@ -0,0 +1,254 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.controller.response.AlarmResponse;
+import com.ddangme.sns.controller.response.CommentResponse;
+import com.ddangme.sns.controller.response.PostResponse;
+import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.FeedMode;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.repository.ReactiveReadRepository;
+import com.ddangme.sns.service.HotPostService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// PostController.list, my, comment, AlarmController.list 와 같은 응답을 R2DBC 로 만든다.
+// mode, page, size, sort 파라미터도 MVC 와 같이 받는다. ETag 는 MVC 처럼 댓글 목록에만 둔다.
+// Accept: application/x-ndjson 으로 요청하면 Page 로 모으지 않고 한 줄에 하나씩 흘려보낸다.
+// 이때는 클라이언트가 읽는 속도에 맞춰 DB 에서 읽고, size 는 stream-max-size 까지 받는다.
+@Component
+@ConditionalOnProperty(name = "reactive.enabled", havingValue = "true")
+public class ReactiveReadHandler {
+
+    public static final String USER_ATTRIBUTE = User.class.getName();
+
+    // PageableHandlerMethodArgumentResolver 기본값
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 2000;
+    // 좋아요 여부를 이만큼씩 묶어서 조회한다.
+    private static final int LIKED_CHUNK_SIZE = 100;
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final HotPostService hotPostService;
+    private final int streamMaxSize;
+
+    public ReactiveReadHandler(ReactiveReadRepository reactiveReadRepository,
+                               HotPostService hotPostService,
+                               @Value("${reactive.stream-max-size}") int streamMaxSize) {
+        this.reactiveReadRepository = reactiveReadRepository;
+        this.hotPostService = hotPostService;
+        this.streamMaxSize = streamMaxSize;
+    }
+
+    public Mono<ServerResponse> list(ServerRequest request) {
+        User user = loginUser(request);
+        FeedMode mode = request.queryParam("mode").map(FeedMode::valueOf).orElse(FeedMode.LATEST);
+
+        if (mode == FeedMode.HOT) {
+            Pageable pageable = isStream(request) ? streamPageable(request) : pageable(request);
+            Page<Integer> ranked = hotPostService.rankedIds(pageable);
+            Flux<PostResponse> posts = withLikedByMe(findAllRanked(ranked.getContent()), user);
+
+            if (isStream(request)) {
+                return stream(ServerResponse.ok(), posts, PostResponse.class);
+            }
+            return page(ServerResponse.ok(), pageable, posts, Mono.just(ranked.getTotalElements()));
+        }
+
+        if (isStream(request)) {
+            return stream(ServerResponse.ok(), withLikedByMe(reactiveReadRepository.findAllSummaries(streamPageable(request)), user), PostResponse.class);
+        }
+
+        Pageable pageable = pageable(request);
+        return page(ServerResponse.ok(), pageable,
+                withLikedByMe(reactiveReadRepository.findAllSummaries(pageable), user), reactiveReadRepository.countPosts());
+    }
+
+    public Mono<ServerResponse> my(ServerRequest request) {
+        User user = loginUser(request);
+
+        if (isStream(request)) {
+            return stream(ServerResponse.ok(),
+                    withLikedByMe(reactiveReadRepository.findAllSummariesByUserId(user.getId(), streamPageable(request)), user), PostResponse.class);
+        }
+
+        Pageable pageable = pageable(request);
+        return page(ServerResponse.ok(), pageable,
+                withLikedByMe(reactiveReadRepository.findAllSummariesByUserId(user.getId(), pageable), user),
+                reactiveReadRepository.countPostsByUserId(user.getId()));
+    }
+
+    public Mono<ServerResponse> comment(ServerRequest request) {
+        Integer postId = parsePostId(request);
+
+        return reactiveReadRepository.existsPost(postId).flatMap(exists -> {
+            if (!exists) {
+                return Mono.error(new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId)));
+            }
+
+            // PostService.commentsVersion 과 같은 값. 같으면 본문을 읽지 않고 304 로 응답한다.
+            return Mono.zip(reactiveReadRepository.findLastCommentIdByPostId(postId), reactiveReadRepository.countCommentsByPostId(postId))
+                    .map(version -> "comments-" + postId + "-" + version.getT1() + "-" + version.getT2())
+                    .flatMap(etag -> request.checkNotModified(etag)
+                            .switchIfEmpty(Mono.defer(() -> comment(request, postId, revalidated(etag)))));
+        });
+    }
+
+    private Mono<ServerResponse> comment(ServerRequest request, Integer postId, ServerResponse.BodyBuilder builder) {
+        if (isStream(request)) {
+            return stream(builder, reactiveReadRepository.findAllCommentsByPostId(postId, streamPageable(request))
+                    .map(CommentResponse::fromComment), CommentResponse.class);
+        }
+
+        Pageable pageable = pageable(request);
+        return page(builder, pageable,
+                reactiveReadRepository.findAllCommentsByPostId(postId, pageable).map(CommentResponse::fromComment),
+                reactiveReadRepository.countCommentsByPostId(postId));
+    }
+
+    public Mono<ServerResponse> alarm(ServerRequest request) {
+        User user = loginUser(request);
+
+        if (isStream(request)) {
+            return stream(ServerResponse.ok(), reactiveReadRepository.findAllAlarmsByUserId(user.getId(), streamPageable(request))
+                    .map(AlarmResponse::fromAlarm), AlarmResponse.class);
+        }
+
+        Pageable pageable = pageable(request);
+        return page(ServerResponse.ok(), pageable,
+                reactiveReadRepository.findAllAlarmsByUserId(user.getId(), pageable).map(AlarmResponse::fromAlarm),
+                reactiveReadRepository.countAlarmsByUserId(user.getId()));
+    }
+
+    // 순위 순서를 유지하면서 LIKED_CHUNK_SIZE 개씩 읽는다. 순위에 반영되기 전에 삭제된 post 는 빠진다.
+    private Flux<PostSummary> findAllRanked(List<Integer> ids) {
+        Map<Integer, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+
+        return Flux.fromIterable(ids)
+                .buffer(LIKED_CHUNK_SIZE)
+                .concatMap(chunk -> reactiveReadRepository.findAllSummariesByIdIn(chunk)
+                        .collectSortedList(Comparator.comparing(post -> rank.get(post.getId())))
+                        .flatMapIterable(Function.identity()));
+    }
+
+    // 좋아요 여부는 LIKED_CHUNK_SIZE 개씩 모아서 한 번에 조회한다. 순서는 그대로 유지된다.
+    private Flux<PostResponse> withLikedByMe(Flux<PostSummary> posts, User user) {
+        return posts.buffer(LIKED_CHUNK_SIZE)
+                .concatMap(chunk -> reactiveReadRepository.findLikedPostIds(user.getId(),
+                                chunk.stream().map(PostSummary::getId).collect(Collectors.toList()))
+                        .collect(Collectors.toSet())
+                        .flatMapIterable(liked -> toResponses(chunk, liked)));
+    }
+
+    private static List<PostResponse> toResponses(List<PostSummary> posts, Set<Integer> likedPostIds) {
+        return posts.stream()
+                .map(post -> PostResponse.fromSummary(post, likedPostIds.contains(post.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private static <T> Mono<ServerResponse> page(ServerResponse.BodyBuilder builder, Pageable pageable, Flux<T> content, Mono<Long> total) {
+        return Mono.zip(content.collectList(), total)
+                .flatMap(result -> builder
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Response.success(new PageImpl<>(result.getT1(), pageable, result.getT2()))));
+    }
+
+    private static <T> Mono<ServerResponse> stream(ServerResponse.BodyBuilder builder, Flux<T> content, Class<T> type) {
+        return builder
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(content, type);
+    }
+
+    // PostController.notModified 와 같이 저장은 하되 매번 재검증하게 한다.
+    private static ServerResponse.BodyBuilder revalidated(String etag) {
+        return ServerResponse.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    private static boolean isStream(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON);
+    }
+
+    private static Pageable pageable(ServerRequest request) {
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        return PageRequest.of(Math.max(page, 0), size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE), sort(request));
+    }
+
+    private Pageable streamPageable(ServerRequest request) {
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", streamMaxSize);
+        return PageRequest.of(Math.max(page, 0), size < 1 ? streamMaxSize : Math.min(size, streamMaxSize), sort(request));
+    }
+
+    // SortHandlerMethodArgumentResolver 와 같이 sort=property(,property)(,asc|desc) 를 여러 번 받는다. 방향이 없으면 asc
+    private static Sort sort(ServerRequest request) {
+        List<Sort.Order> orders = new ArrayList<>();
+
+        for (String value : request.queryParams().getOrDefault("sort", List.of())) {
+            String[] parts = value.split(",");
+            Sort.Direction direction = Sort.Direction.fromOptionalString(parts[parts.length - 1]).orElse(null);
+            int end = direction == null ? parts.length : parts.length - 1;
+
+            for (int i = 0; i < end; i++) {
+                if (!parts[i].isBlank()) {
+                    orders.add(new Sort.Order(direction == null ? Sort.Direction.ASC : direction, parts[i].trim()));
+                }
+            }
+        }
+
+        return Sort.by(orders);
+    }
+
+    // 숫자가 아니면 MVC 처럼 기본값을 쓴다.
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(value -> {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }).orElse(defaultValue);
+    }
+
+    private static Integer parsePostId(ServerRequest request) {
+        try {
+            return Integer.valueOf(request.pathVariable("postId"));
+        } catch (NumberFormatException e) {
+            throw new SnsApplicationException(ErrorCode.POST_NOT_FOUND, request.pathVariable("postId"));
+        }
+    }
+
+    private static User loginUser(ServerRequest request) {
+        return request.attribute(USER_ATTRIBUTE)
+                .map(User.class::cast)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INVALID_TOKEN));
+    }
+}
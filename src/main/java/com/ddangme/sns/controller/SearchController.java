@@ -0,0 +1,41 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.controller.response.CursorResponse;
+import com.ddangme.sns.controller.response.Response;
+import com.ddangme.sns.controller.response.SearchResultResponse;
+import com.ddangme.sns.model.SearchPage;
+import com.ddangme.sns.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public Response<CursorResponse<SearchResultResponse>> search(@RequestParam String q,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        SearchPage page = searchService.search(q, cursor, size);
+        return Response.success(new CursorResponse<>(
+                page.getResults().stream().map(SearchResultResponse::fromResult).collect(Collectors.toList()),
+                page.getNextCursor(),
+                page.isHasNext()));
+    }
+
+    // 관리자 전용. 색인을 DB 로 다시 만든다. 끝날 때까지 검색은 기존 색인을 읽는다.
+    @PostMapping("/rebuild")
+    public Response<Void> rebuild() {
+        searchService.rebuild();
+        return Response.success();
+    }
+}
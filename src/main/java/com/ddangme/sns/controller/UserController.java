@@ -5,9 +5,16 @@ import com.ddangme.sns.controller.request.UserLoginRequest;
 import com.ddangme.sns.controller.response.Response;
 import com.ddangme.sns.controller.response.UserJoinResponse;
 import com.ddangme.sns.controller.response.UserLoginResponse;
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
 import com.ddangme.sns.model.User;
+import com.ddangme.sns.service.FollowService;
 import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.ClassUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final FollowService followService;
 
     @PostMapping("/join")
     public Response<UserJoinResponse> join(@RequestBody UserJoinRequest request) {
@@ -33,4 +41,34 @@ public class UserController {
 
         return Response.success(new UserLoginResponse(token));
     }
+
+    @PostMapping("/{userId}/follow")
+    public Response<Void> follow(@PathVariable Integer userId, Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        followService.follow(user.getId(), userId);
+
+        return Response.success();
+    }
+
+    @DeleteMapping("/{userId}/follow")
+    public Response<Void> unfollow(@PathVariable Integer userId, Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        followService.unfollow(user.getId(), userId);
+
+        return Response.success();
+    }
+
+    @DeleteMapping
+    public Response<Void> delete(Authentication authentication) {
+        User user = ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+
+        userService.delete(user.getId());
+
+        return Response.success();
+    }
 }
@@ -15,6 +15,7 @@ public class AlarmResponse {
     private AlarmType alarmType;
     private AlarmArgs args;
     private String text;
+    private Integer count;
     private Timestamp registeredAt;
     private Timestamp updatedAt;
     private Timestamp deletedAt;
@@ -24,7 +25,8 @@ public class AlarmResponse {
                 alarm.getId(),
                 alarm.getAlarmType(),
                 alarm.getArgs(),
-                alarm.getAlarmType().getAlarmText(),
+                alarm.getAlarmType().getAlarmText(alarm.getEventCount()),
+                alarm.getEventCount(),
                 alarm.getRegisteredAt(),
                 alarm.getUpdatedAt(),
                 alarm.getDeletedAt()
@@ -0,0 +1,29 @@
+package com.ddangme.sns.controller.response;
+
+import com.ddangme.sns.model.Cursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorResponse<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorResponse<T> of(Slice<T> slice, Function<T, Cursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = null;
+
+        if (slice.hasNext() && !content.isEmpty()) {
+            nextCursor = cursorOf.apply(content.get(content.size() - 1)).encode();
+        }
+
+        return new CursorResponse<>(content, nextCursor, slice.hasNext());
+    }
+}
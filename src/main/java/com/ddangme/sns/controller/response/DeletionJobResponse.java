@@ -0,0 +1,38 @@
+package com.ddangme.sns.controller.response;
+
+import com.ddangme.sns.model.DeletionJob;
+import com.ddangme.sns.model.DeletionStep;
+import com.ddangme.sns.model.DeletionTarget;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class DeletionJobResponse {
+    private Integer id;
+    private DeletionTarget targetType;
+    private Integer targetId;
+    // 진행 중인 단계. 완료되면 null
+    private DeletionStep step;
+    private Integer lastId;
+    private long deletedCount;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+    private Timestamp finishedAt;
+
+    public static DeletionJobResponse fromJob(DeletionJob job) {
+        return new DeletionJobResponse(
+                job.getId(),
+                job.getTargetType(),
+                job.getTargetId(),
+                job.getStep(),
+                job.getLastId(),
+                job.getDeletedCount(),
+                job.getRegisteredAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
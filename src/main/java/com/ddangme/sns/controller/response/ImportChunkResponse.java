@@ -0,0 +1,32 @@
+package com.ddangme.sns.controller.response;
+
+import com.ddangme.sns.model.ImportChunk;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportChunkResponse {
+
+    private int chunk;
+    private long fromLine;
+    private long toLine;
+    private int imported;
+    private Integer firstId;
+    private List<Long> invalidLines;
+    private String error;
+
+    public static ImportChunkResponse fromChunk(ImportChunk chunk) {
+        return new ImportChunkResponse(
+                chunk.getChunk(),
+                chunk.getFromLine(),
+                chunk.getToLine(),
+                chunk.getImported(),
+                chunk.getFirstId(),
+                chunk.getInvalidLines(),
+                chunk.getError()
+        );
+    }
+}
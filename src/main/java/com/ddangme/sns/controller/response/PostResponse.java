@@ -1,6 +1,7 @@
 package com.ddangme.sns.controller.response;
 
 import com.ddangme.sns.model.Post;
+import com.ddangme.sns.model.PostSummary;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -16,6 +17,8 @@ public class PostResponse {
     private Timestamp registeredAt;
     private Timestamp updatedAt;
     private Timestamp deletedAt;
+    // 조회한 유저가 좋아요했는지. 확인하지 않은 응답에서는 null
+    private Boolean likedByMe;
 
     public static PostResponse fromPost(Post post) {
         return new PostResponse(
@@ -25,7 +28,21 @@ public class PostResponse {
                 UserResponse.fromUser(post.getUser()),
                 post.getRegisteredAt(),
                 post.getUpdatedAt(),
-                post.getDeletedAt()
+                post.getDeletedAt(),
+                null
+        );
+    }
+
+    public static PostResponse fromSummary(PostSummary post, boolean likedByMe) {
+        return new PostResponse(
+                post.getId(),
+                post.getTitle(),
+                post.getBody(),
+                new UserResponse(post.getUserId(), post.getUserName(), post.getUserRole()),
+                post.getRegisteredAt(),
+                post.getUpdatedAt(),
+                null,
+                likedByMe
         );
     }
 }
@@ -0,0 +1,27 @@
+package com.ddangme.sns.controller.response;
+
+import com.ddangme.sns.model.SearchResult;
+import com.ddangme.sns.model.SearchType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchResultResponse {
+
+    private SearchType type;
+    private Integer id;
+    private Integer postId;
+    private String title;
+    private String snippet;
+
+    public static SearchResultResponse fromResult(SearchResult result) {
+        return new SearchResultResponse(
+                result.getType(),
+                result.getId(),
+                result.getPostId(),
+                result.getTitle(),
+                result.getSnippet()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.ddangme.sns.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SubscribeTicketResponse {
+
+    private String ticket;
+
+}
@@ -0,0 +1,20 @@
+package com.ddangme.sns.controller.response;
+
+import com.ddangme.sns.model.TrendingHashtag;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TrendingHashtagResponse {
+
+    private String tag;
+    private long count;
+
+    public static TrendingHashtagResponse fromTrending(TrendingHashtag trending) {
+        return new TrendingHashtagResponse(
+                trending.getTag(),
+                trending.getCount()
+        );
+    }
+}
@@ -13,10 +13,17 @@ public enum ErrorCode {
 
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "User not founded"),
     POST_NOT_FOUND(HttpStatus.NOT_FOUND, "Post not founded"),
+    DELETION_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "Deletion job not founded"),
+
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Cursor is invalid"),
+    CANNOT_FOLLOW_SELF(HttpStatus.BAD_REQUEST, "User cannot follow oneself"),
+    INVALID_SEARCH_KEYWORD(HttpStatus.BAD_REQUEST, "Search keyword is invalid"),
 
     DUPLICATED_USER_NAME(HttpStatus.CONFLICT, "User name is duplicated"),
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"),
     ALREADY_LIKED(HttpStatus.CONFLICT, "User already liked the post"),
+    ALREADY_FOLLOWED(HttpStatus.CONFLICT, "User already followed the user"),
+    ALARM_CONNECT_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Connecting alarm occurs error"),
     ;
 
     private HttpStatus status;
@@ -13,6 +13,7 @@ public class Alarm {
     private Integer id;
     private AlarmType alarmType;
     private AlarmArgs args;
+    private Integer eventCount;
     private Timestamp registeredAt;
     private Timestamp updatedAt;
     private Timestamp deletedAt;
@@ -22,6 +23,7 @@ public class Alarm {
                 entity.getId(),
                 entity.getAlarmType(),
                 entity.getArgs(),
+                entity.getEventCount() == null ? 1 : entity.getEventCount(),
                 entity.getRegisteredAt(),
                 entity.getUpdatedAt(),
                 entity.getDeletedAt()
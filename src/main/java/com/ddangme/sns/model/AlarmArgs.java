@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.TypeDef;
 
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,4 +17,12 @@ public class AlarmArgs {
 
     // 알람 주체의 ID
     private Integer targetId;
+
+    // 묶인 알람일 때 최근에 알람을 발생시킨 사람들의 ID (최신순)
+    private List<Integer> recentFromUserIds;
+
+    public AlarmArgs(Integer fromUserId, Integer targetId) {
+        this.fromUserId = fromUserId;
+        this.targetId = targetId;
+    }
 }
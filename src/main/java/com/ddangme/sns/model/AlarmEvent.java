@@ -0,0 +1,25 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// 아직 저장되지 않은 알람. 요청 트랜잭션 밖에서 AlarmWriter 가 모아서 저장한다.
+@Getter
+@AllArgsConstructor
+public class AlarmEvent {
+
+    private Integer receiverUserId;
+    private AlarmType alarmType;
+    private AlarmArgs args;
+    private Timestamp registeredAt;
+
+    // 하나의 알람으로 묶인 이벤트 수
+    private int eventCount;
+
+    public static AlarmEvent of(Integer receiverUserId, AlarmType alarmType, AlarmArgs args) {
+        return new AlarmEvent(receiverUserId, alarmType, args, Timestamp.from(Instant.now()), 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// AlarmWriter 가 알람을 저장하거나 묶음 알람을 갱신한 뒤 발행하는 이벤트
+@Getter
+@AllArgsConstructor
+public class AlarmSavedEvent {
+
+    private Integer receiverUserId;
+    private Alarm alarm;
+
+    // 새로 저장된 알람이면 true, 기존 묶음 알람에 더해진 경우 false
+    private boolean created;
+
+    public static AlarmSavedEvent of(Integer alarmId, AlarmEvent event) {
+        return new AlarmSavedEvent(
+                event.getReceiverUserId(),
+                new Alarm(alarmId, event.getAlarmType(), event.getArgs(), event.getEventCount(), event.getRegisteredAt(), null, null),
+                true
+        );
+    }
+
+    public static AlarmSavedEvent of(AlarmUpdate update) {
+        return new AlarmSavedEvent(
+                update.getReceiverUserId(),
+                new Alarm(update.getAlarmId(), update.getAlarmType(), update.getArgs(), update.getEventCount(),
+                        update.getRegisteredAt(), Timestamp.from(Instant.now()), null),
+                false
+        );
+    }
+}
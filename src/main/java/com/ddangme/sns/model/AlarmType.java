@@ -6,8 +6,8 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum AlarmType {
-    NEW_COMMENT_ON_POST("new comment"),
-    NEW_LIKE_ON_POST("new like"),
+    NEW_COMMENT_ON_POST("new comment", "%d new comments"),
+    NEW_LIKE_ON_POST("new like", "%d new likes"),
 
     ;
 
@@ -15,4 +15,11 @@ public enum AlarmType {
     // alarmText는 DB에 저장하는 것보다, 타입으로 저장하는 것이 좋다.
     // 이유: 나중에 변경되면 모든 DB를 수정해야하기 때문이다.
     private final String alarmText;
+
+    // 여러 이벤트가 하나로 묶인 알람의 문구
+    private final String aggregateAlarmText;
+
+    public String getAlarmText(int eventCount) {
+        return eventCount > 1 ? String.format(aggregateAlarmText, eventCount) : alarmText;
+    }
 }
@@ -0,0 +1,28 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 이미 저장된 묶음 알람에 새 이벤트를 더하는 변경분
+@Getter
+@AllArgsConstructor
+public class AlarmUpdate {
+
+    private Integer alarmId;
+    private Integer receiverUserId;
+    private AlarmType alarmType;
+    private AlarmArgs args;
+    private Timestamp registeredAt;
+
+    // 이번에 더해지는 이벤트 수
+    private int countDelta;
+
+    // 더한 뒤의 전체 이벤트 수
+    private int eventCount;
+
+    public AlarmEvent toEvent() {
+        return new AlarmEvent(receiverUserId, alarmType, args, registeredAt, countDelta);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+// 대량 import 의 댓글 한 줄. registeredAt 이 없으면 import 한 시각으로 저장한다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentImport {
+
+    private Integer postId;
+    private Integer userId;
+    private String comment;
+    private Timestamp registeredAt;
+
+    public boolean isValid() {
+        return postId != null && userId != null && comment != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 보관 기간이 지난 삭제 row 를 archive 로 옮길 테이블. 참조하는 쪽(자식)부터 순서대로 처리한다.
+// 아직 자식 row 가 남아있는 부모는 foreign key 때문에 지울 수 없으므로 다음 실행으로 넘긴다.
+// 자식 row 확인은 모두 자식 테이블의 인덱스로 찾는다. post.user_id, alarm.user_id, comment.post_id 는 기존 인덱스,
+// comment.user_id 는 comment_user_id_idx, post_like.user_id 는 user_id_post_id_uk, post_like.post_id 는 post_like_post_id_idx.
+@Getter
+@AllArgsConstructor
+public enum CompactionTable {
+    POST_LIKE("post_like", "post_like_id", "deleted_at", ""),
+    COMMENT("comment", "comment_id", "deleted_at", ""),
+    ALARM("alarm", "alarm_id", "deleted_at", ""),
+    POST("post", "post_id", "deleted_at",
+            "AND NOT EXISTS (SELECT 1 FROM post_like child WHERE child.post_id = target.post_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM comment child WHERE child.post_id = target.post_id)"),
+    USERS("users", "user_id", "deleted_at",
+            "AND NOT EXISTS (SELECT 1 FROM post child WHERE child.user_id = target.user_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM post_like child WHERE child.user_id = target.user_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM comment child WHERE child.user_id = target.user_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM alarm child WHERE child.user_id = target.user_id)"),
+    // 끝난 삭제 작업 기록
+    DELETION_JOB("deletion_job", "deletion_job_id", "finished_at", ""),
+    ;
+
+    private final String table;
+    private final String idColumn;
+    private final String deletedColumn;
+    private final String condition;
+}
@@ -0,0 +1,60 @@
+package com.ddangme.sns.model;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+// (registered_at, id) 기준 keyset 페이징 위치. 클라이언트에는 base64 문자열로만 노출한다.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Cursor {
+
+    private static final int MAX_SIZE = 100;
+    private static final String DELIMITER = ":";
+
+    private final Timestamp registeredAt;
+    private final Integer id;
+
+    public static Cursor of(Timestamp registeredAt, Integer id) {
+        return new Cursor(registeredAt, id);
+    }
+
+    public String encode() {
+        Instant instant = registeredAt.toInstant();
+        String raw = instant.getEpochSecond() + DELIMITER + instant.getNano() + DELIMITER + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] tokens = raw.split(DELIMITER);
+
+            if (tokens.length != 3) {
+                throw new SnsApplicationException(ErrorCode.INVALID_CURSOR, value);
+            }
+
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(tokens[0]), Long.parseLong(tokens[1]));
+
+            return new Cursor(Timestamp.from(instant), Integer.parseInt(tokens[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new SnsApplicationException(ErrorCode.INVALID_CURSOR, value);
+        }
+    }
+
+    // count 쿼리 없이 size + 1 건만 읽도록 항상 첫 페이지의 Pageable 을 사용한다.
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+}
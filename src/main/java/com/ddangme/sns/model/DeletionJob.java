@@ -0,0 +1,35 @@
+package com.ddangme.sns.model;
+
+import com.ddangme.sns.model.entity.DeletionJobEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class DeletionJob {
+    private Integer id;
+    private DeletionTarget targetType;
+    private Integer targetId;
+    private DeletionStep step;
+    private Integer lastId;
+    private long deletedCount;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+    private Timestamp finishedAt;
+
+    public static DeletionJob fromEntity(DeletionJobEntity entity) {
+        return new DeletionJob(
+                entity.getId(),
+                entity.getTargetType(),
+                entity.getTargetId(),
+                entity.getStep(),
+                entity.getLastId(),
+                entity.getDeletedCount(),
+                entity.getRegisteredAt(),
+                entity.getUpdatedAt(),
+                entity.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 삭제 작업이 하위 데이터를 지우는 단계. 각 단계는 table 에서 column = 대상 id 인 row 를 pk 순서로 나눠서 지운다.
+// follow 는 다시 팔로우할 수 있도록 soft delete 하지 않고 row 를 지운다.
+@Getter
+@AllArgsConstructor
+public enum DeletionStep {
+    POST_LIKES("post_like", "post_like_id", "post_id", true),
+    POST_COMMENTS("comment", "comment_id", "post_id", true),
+
+    USER_POSTS("post", "post_id", "user_id", true),
+    USER_LIKES("post_like", "post_like_id", "user_id", true),
+    USER_COMMENTS("comment", "comment_id", "user_id", true),
+    USER_ALARMS("alarm", "alarm_id", "user_id", true),
+    // 탈퇴한 유저가 팔로우하던 row 와 탈퇴한 유저를 팔로우하던 row
+    USER_FOLLOWS("follow", "follow_id", "follower_id", false),
+    USER_FOLLOWERS("follow", "follow_id", "followee_id", false),
+    ;
+
+    private final String table;
+    private final String idColumn;
+    private final String targetColumn;
+    private final boolean softDelete;
+}
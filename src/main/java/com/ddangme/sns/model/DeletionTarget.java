@@ -0,0 +1,29 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 바로 soft delete 한 뒤 하위 데이터를 백그라운드에서 지우는 대상
+@Getter
+@AllArgsConstructor
+public enum DeletionTarget {
+    POST(List.of(DeletionStep.POST_LIKES, DeletionStep.POST_COMMENTS)),
+    // 삭제한 post 마다 POST 작업을 따로 만든다.
+    USER(List.of(DeletionStep.USER_POSTS, DeletionStep.USER_LIKES, DeletionStep.USER_COMMENTS, DeletionStep.USER_ALARMS,
+            DeletionStep.USER_FOLLOWS, DeletionStep.USER_FOLLOWERS)),
+    ;
+
+    private final List<DeletionStep> steps;
+
+    public DeletionStep firstStep() {
+        return steps.get(0);
+    }
+
+    // 마지막 단계면 null
+    public DeletionStep nextStep(DeletionStep step) {
+        int index = steps.indexOf(step);
+        return index + 1 < steps.size() ? steps.get(index + 1) : null;
+    }
+}
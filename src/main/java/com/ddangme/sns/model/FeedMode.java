@@ -0,0 +1,9 @@
+package com.ddangme.sns.model;
+
+// 전체 피드 정렬 방식
+public enum FeedMode {
+    // 최근 작성순 (Pageable 의 sort 를 따른다)
+    LATEST,
+    // 좋아요, 댓글에 시간 감쇠를 적용한 점수순
+    HOT,
+}
@@ -0,0 +1,13 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// score 는 log2(Σ weight * 2^(발생 시각 / half-life)). 기준 시각이 없어서 언제 계산한 값끼리도 바로 비교할 수 있다.
+@Getter
+@AllArgsConstructor
+public class HotScore {
+
+    private Integer postId;
+    private double score;
+}
@@ -0,0 +1,30 @@
+package com.ddangme.sns.model;
+
+// post, comment 의 id 는 id_sequence 테이블에서 구간 단위로 받아간다.
+// next_val 은 아직 아무도 받지 않은 가장 작은 id 이고, 구간을 받을 때마다 받은 개수만큼 올린다.
+// Hibernate 는 INCREMENT_SIZE 개씩(pooled-lo), 대량 import 는 chunk 크기만큼 같은 row 에서 받으므로 서로 겹치지 않는다.
+// IDENTITY 와 달리 insert 전에 id 를 알 수 있어서 insert 를 batch 로 묶을 수 있다.
+public final class IdBlock {
+
+    // org.hibernate.id.enhanced.TableGenerator 설정
+    public static final String GENERATOR = "org.hibernate.id.enhanced.TableGenerator";
+    public static final String TABLE_PARAM = "table_name";
+    public static final String SEGMENT_COLUMN_PARAM = "segment_column_name";
+    public static final String VALUE_COLUMN_PARAM = "value_column_name";
+    public static final String SEGMENT_PARAM = "segment_value";
+    public static final String INCREMENT_PARAM = "increment_size";
+    public static final String OPTIMIZER_PARAM = "optimizer";
+
+    public static final String TABLE = "id_sequence";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final String INCREMENT_SIZE = "50";
+    // 읽은 값부터 INCREMENT_SIZE 개를 쓴다.
+    public static final String OPTIMIZER = "pooled-lo";
+
+    public static final String POST = "post";
+    public static final String COMMENT = "comment";
+
+    private IdBlock() {
+    }
+}
@@ -0,0 +1,23 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 한 트랜잭션으로 저장한 줄 묶음의 결과. 저장된 row 는 줄 순서대로 firstId 부터 1 씩 증가하는 id 를 받는다.
+// 실패한 chunk 는 통째로 롤백되므로 fromLine ~ toLine 을 다시 보내면 된다.
+@Getter
+@AllArgsConstructor
+public class ImportChunk {
+
+    private int chunk;
+    private long fromLine;
+    private long toLine;
+    private int imported;
+    private Integer firstId;
+    // 형식이 맞지 않아 건너뛴 줄 번호
+    private List<Long> invalidLines;
+    // 실패하지 않았으면 null
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 삭제 작업이 지운 좋아요/댓글의 post 와 작성 시각. post 카운트와 인기 점수에서 뺄 때 쓴다.
+@Getter
+@AllArgsConstructor
+public class PostChildRow {
+
+    private Integer postId;
+    private Timestamp registeredAt;
+}
@@ -0,0 +1,13 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostCountDelta {
+
+    private Integer postId;
+    private long likeCount;
+    private long commentCount;
+}
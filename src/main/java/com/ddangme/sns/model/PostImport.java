@@ -0,0 +1,23 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+// 대량 import 의 post 한 줄. registeredAt 이 없으면 import 한 시각으로 저장한다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostImport {
+
+    private Integer userId;
+    private String title;
+    private String body;
+    private Timestamp registeredAt;
+
+    public boolean isValid() {
+        return userId != null && title != null && body != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 피드 목록 조회용 projection. PostEntity/UserEntity 를 만들지 않고 응답에 필요한 column 만 읽는다.
+@Getter
+@AllArgsConstructor
+public class PostSummary {
+
+    private Integer id;
+    private String title;
+    private String body;
+    private Integer userId;
+    private String userName;
+    private UserRole userRole;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+}
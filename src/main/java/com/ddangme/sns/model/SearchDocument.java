@@ -0,0 +1,24 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 검색 색인에 넣는 post 또는 댓글. 댓글은 title 이 없다.
+@Getter
+@AllArgsConstructor
+public class SearchDocument {
+
+    private SearchType type;
+    private Integer id;
+    private Integer postId;
+    private String title;
+    private String body;
+
+    public static SearchDocument ofPost(Integer postId, String title, String body) {
+        return new SearchDocument(SearchType.POST, postId, postId, title, body);
+    }
+
+    public static SearchDocument ofComment(Integer commentId, Integer postId, String comment) {
+        return new SearchDocument(SearchType.COMMENT, commentId, postId, null, comment);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 점수순 검색 결과 한 페이지. nextCursor 는 (score, key) 위치를 담는다.
+@Getter
+@AllArgsConstructor
+public class SearchPage {
+
+    private List<SearchResult> results;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,16 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchResult {
+
+    private SearchType type;
+    private Integer id;
+    private Integer postId;
+    private String title;
+    private String snippet;
+    private float score;
+}
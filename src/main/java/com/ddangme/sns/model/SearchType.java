@@ -0,0 +1,6 @@
+package com.ddangme.sns.model;
+
+public enum SearchType {
+    POST,
+    COMMENT
+}
@@ -0,0 +1,15 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+// 타임라인에 들어가는 post. 피드와 같은 (registeredAt, id) cursor 로 자르기 위해 작성 시각을 같이 둔다.
+@Getter
+@AllArgsConstructor
+public class TimelinePost {
+
+    private Integer postId;
+    private Timestamp registeredAt;
+}
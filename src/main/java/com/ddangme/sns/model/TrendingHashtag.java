@@ -0,0 +1,13 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// count 는 sketch 의 추정치라서 실제보다 조금 클 수 있다.
+@Getter
+@AllArgsConstructor
+public class TrendingHashtag {
+
+    private String tag;
+    private long count;
+}
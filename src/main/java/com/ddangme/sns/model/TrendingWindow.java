@@ -0,0 +1,22 @@
+package com.ddangme.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+// 인기 태그를 세는 구간. 구간을 bucketCount 개의 bucket 으로 나눠서 가장 오래된 bucket 부터 비운다.
+@Getter
+@AllArgsConstructor
+public enum TrendingWindow {
+    HOUR(Duration.ofHours(1), 12),
+    DAY(Duration.ofDays(1), 24),
+    ;
+
+    private final Duration duration;
+    private final int bucketCount;
+
+    public long getBucketMs() {
+        return duration.toMillis() / bucketCount;
+    }
+}
@@ -18,7 +18,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "alarm", indexes = {
-        @Index(name = "user_id_idx", columnList = "user_id")})
+        @Index(name = "user_id_idx", columnList = "user_id"),
+        @Index(name = "user_id_registered_at_alarm_id_idx", columnList = "user_id, registered_at, alarm_id")})
 @Getter
 @Setter
 @TypeDef(name = "json", typeClass = JsonType.class)
@@ -43,6 +44,9 @@ public class AlarmEntity {
     @Column(columnDefinition = "json")
     private AlarmArgs args;
 
+    // 하나의 알람으로 묶인 이벤트 수
+    private Integer eventCount = 1;
+
     private Timestamp registeredAt;
 
     private Timestamp updatedAt;
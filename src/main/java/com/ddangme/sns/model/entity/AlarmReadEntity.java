@@ -0,0 +1,41 @@
+package com.ddangme.sns.model.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// 유저가 마지막으로 확인한 알람 위치. alarm_id 가 이 값보다 큰 알람이 읽지 않은 알람이다.
+// 모두 읽음 처리는 알람 row 를 건드리지 않고 이 row 하나만 갱신한다.
+@Entity
+@Table(name = "alarm_read")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AlarmReadEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    private Integer lastReadAlarmId = 0;
+
+    private Timestamp readAt;
+
+    private AlarmReadEntity(Integer userId) {
+        this.userId = userId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void readAt() {
+        this.readAt = Timestamp.from(Instant.now());
+    }
+
+    public static AlarmReadEntity of(Integer userId) {
+        return new AlarmReadEntity(userId);
+    }
+}
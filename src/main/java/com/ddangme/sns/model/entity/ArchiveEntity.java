@@ -0,0 +1,40 @@
+package com.ddangme.sns.model.entity;
+
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.TypeDef;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.Map;
+
+// live 테이블에서 hard delete 한 row 를 원래 테이블 이름과 함께 column 값 그대로 보관한다.
+// 저장은 CompactionJdbcRepository 가 batch 로 한다.
+@Entity
+@Table(name = "archive", indexes = {
+        @Index(name = "table_name_row_id_idx", columnList = "table_name, row_id")
+})
+@Getter
+@TypeDef(name = "json", typeClass = JsonType.class)
+@NoArgsConstructor
+public class ArchiveEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "archive_id")
+    private Long id;
+
+    private String tableName;
+
+    private Integer rowId;
+
+    @Type(type = "json")
+    @Column(columnDefinition = "json")
+    private Map<String, Object> data;
+
+    private Timestamp deletedAt;
+
+    private Timestamp archivedAt;
+}
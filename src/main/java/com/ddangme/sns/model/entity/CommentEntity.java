@@ -1,8 +1,11 @@
 package com.ddangme.sns.model.entity;
 
+import com.ddangme.sns.model.IdBlock;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -11,8 +14,11 @@ import java.sql.Timestamp;
 import java.time.Instant;
 
 @Entity
+// comment_user_id_idx 는 users 를 compaction 할 때 남은 comment 를 찾는 데 쓴다. (CompactionTable)
 @Table(name = "comment", indexes = {
-        @Index(name = "post_id_idx", columnList = "post_id")
+        @Index(name = "post_id_idx", columnList = "post_id"),
+        @Index(name = "post_id_registered_at_comment_id_idx", columnList = "post_id, registered_at, comment_id"),
+        @Index(name = "comment_user_id_idx", columnList = "user_id")
 })
 @Getter
 @Setter
@@ -22,7 +28,15 @@ import java.time.Instant;
 public class CommentEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id_generator")
+    @GenericGenerator(name = "comment_id_generator", strategy = IdBlock.GENERATOR, parameters = {
+            @Parameter(name = IdBlock.TABLE_PARAM, value = IdBlock.TABLE),
+            @Parameter(name = IdBlock.SEGMENT_COLUMN_PARAM, value = IdBlock.SEGMENT_COLUMN),
+            @Parameter(name = IdBlock.VALUE_COLUMN_PARAM, value = IdBlock.VALUE_COLUMN),
+            @Parameter(name = IdBlock.SEGMENT_PARAM, value = IdBlock.COMMENT),
+            @Parameter(name = IdBlock.INCREMENT_PARAM, value = IdBlock.INCREMENT_SIZE),
+            @Parameter(name = IdBlock.OPTIMIZER_PARAM, value = IdBlock.OPTIMIZER)
+    })
     @Column(name = "comment_id")
     private Integer id;
 
@@ -0,0 +1,84 @@
+package com.ddangme.sns.model.entity;
+
+import com.ddangme.sns.model.DeletionStep;
+import com.ddangme.sns.model.DeletionTarget;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// 백그라운드 삭제 작업의 진행 상황. chunk 를 지울 때마다 같은 트랜잭션에서 갱신하므로 재시작하면 이어서 진행한다.
+@Entity
+@Table(name = "deletion_job", indexes = {
+        @Index(name = "finished_at_deletion_job_id_idx", columnList = "finished_at, deletion_job_id")
+})
+@Getter
+@NoArgsConstructor
+public class DeletionJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "deletion_job_id")
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    private DeletionTarget targetType;
+
+    private Integer targetId;
+
+    // 진행 중인 단계. 완료되면 null
+    @Enumerated(EnumType.STRING)
+    private DeletionStep step;
+
+    // 현재 단계에서 마지막으로 지운 row 의 id
+    private Integer lastId = 0;
+
+    private long deletedCount;
+
+    private Timestamp registeredAt;
+
+    private Timestamp updatedAt;
+
+    private Timestamp finishedAt;
+
+    private DeletionJobEntity(DeletionTarget targetType, Integer targetId) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.step = targetType.firstStep();
+    }
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static DeletionJobEntity of(DeletionTarget targetType, Integer targetId) {
+        return new DeletionJobEntity(targetType, targetId);
+    }
+
+    public void progress(Integer lastId, int deleted) {
+        this.lastId = lastId;
+        this.deletedCount += deleted;
+    }
+
+    // 다음 단계로 넘어가고, 남은 단계가 없으면 완료 처리한다.
+    public void nextStep() {
+        this.step = targetType.nextStep(step);
+        this.lastId = 0;
+
+        if (step == null) {
+            this.finishedAt = Timestamp.from(Instant.now());
+        }
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+}
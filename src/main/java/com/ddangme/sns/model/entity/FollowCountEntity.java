@@ -0,0 +1,43 @@
+package com.ddangme.sns.model.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// 유저별 팔로워 수. celebrity 여부를 follow 테이블을 COUNT(*) 하지 않고 판단하기 위해 별도로 저장한다.
+@Entity
+@Table(name = "follow_count", indexes = {
+        @Index(name = "follower_count_idx", columnList = "follower_count")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class FollowCountEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    private long followerCount;
+
+    private Timestamp updatedAt;
+
+    private FollowCountEntity(Integer userId, long followerCount) {
+        this.userId = userId;
+        this.followerCount = followerCount;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static FollowCountEntity of(Integer userId, long followerCount) {
+        return new FollowCountEntity(userId, followerCount);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ddangme.sns.model.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// follower 가 followee 를 팔로우한다. 다시 팔로우할 수 있도록 unfollow 는 row 를 바로 지운다.
+// 팔로워 목록을 chunk 로 읽는 fan-out 에서 users 를 join 하지 않도록 user id 만 가진다.
+@Entity
+@Table(name = "follow", uniqueConstraints = {
+        @UniqueConstraint(name = "follower_id_followee_id_uk", columnNames = {"follower_id", "followee_id"})
+}, indexes = {
+        @Index(name = "followee_id_follower_id_idx", columnList = "followee_id, follower_id")
+})
+@Getter
+@NoArgsConstructor
+public class FollowEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "follow_id")
+    private Integer id;
+
+    @Column(name = "follower_id")
+    private Integer followerId;
+
+    @Column(name = "followee_id")
+    private Integer followeeId;
+
+    private Timestamp registeredAt;
+
+    private FollowEntity(Integer followerId, Integer followeeId) {
+        this.followerId = followerId;
+        this.followeeId = followeeId;
+    }
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    public static FollowEntity of(Integer followerId, Integer followeeId) {
+        return new FollowEntity(followerId, followeeId);
+    }
+}
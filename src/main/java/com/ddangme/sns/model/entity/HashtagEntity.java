@@ -0,0 +1,44 @@
+package com.ddangme.sns.model.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+// post 에 달린 태그. 태그별 피드를 post 테이블 없이 (tag, registered_at, post_id) 인덱스로 읽도록 post 의 작성 시각을 함께 둔다.
+// 수정하면 row 를 바로 지우고 다시 넣는다. 삭제된 post 는 피드에서 post 와 join 할 때 걸러진다.
+@Entity
+@Table(name = "post_hashtag", uniqueConstraints = {
+        @UniqueConstraint(name = "post_id_tag_uk", columnNames = {"post_id", "tag"})
+}, indexes = {
+        @Index(name = "tag_registered_at_post_id_idx", columnList = "tag, registered_at, post_id")
+})
+@Getter
+@NoArgsConstructor
+public class HashtagEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "post_hashtag_id")
+    private Integer id;
+
+    @Column(name = "post_id")
+    private Integer postId;
+
+    @Column(length = 50)
+    private String tag;
+
+    // post 의 registered_at
+    private Timestamp registeredAt;
+
+    private HashtagEntity(Integer postId, String tag, Timestamp registeredAt) {
+        this.postId = postId;
+        this.tag = tag;
+        this.registeredAt = registeredAt;
+    }
+
+    public static HashtagEntity of(Integer postId, String tag, Timestamp registeredAt) {
+        return new HashtagEntity(postId, tag, registeredAt);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ddangme.sns.model.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+// 메모리의 인기 post 순위를 재시작 후 복구하기 위한 checkpoint.
+// 인스턴스마다 자기가 센 점수를 instance_id 로 구분해서 HotScoreJdbcRepository 가 통째로 바꿔 쓴다.
+@Entity
+@Table(name = "post_hot_score_checkpoint", indexes = {
+        @Index(name = "instance_id_post_id_idx", columnList = "instance_id, post_id", unique = true),
+        @Index(name = "updated_at_idx", columnList = "updated_at")
+})
+@Getter
+@NoArgsConstructor
+public class HotScoreEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "checkpoint_id")
+    private Long id;
+
+    @Column(name = "instance_id")
+    private String instanceId;
+
+    @Column(name = "post_id")
+    private Integer postId;
+
+    private double score;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+}
@@ -11,7 +11,12 @@ import java.sql.Timestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "post_like")
+// user_id 로 찾을 때는 unique key 를, post_id 로 찾을 때(post compaction)는 post_like_post_id_idx 를 쓴다.
+@Table(name = "post_like", uniqueConstraints = {
+        @UniqueConstraint(name = "user_id_post_id_uk", columnNames = {"user_id", "post_id"})
+}, indexes = {
+        @Index(name = "post_like_post_id_idx", columnList = "post_id")
+})
 @Getter
 @Setter
 @SQLDelete(sql = "UPDATE post_like SET deleted_at = NOW() WHERE post_like_id = ?")
@@ -0,0 +1,42 @@
+package com.ddangme.sns.model.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// post 별 좋아요/댓글 수. post_like, comment 테이블을 COUNT(*) 하지 않기 위해 별도로 저장한다.
+@Entity
+@Table(name = "post_count")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostCountEntity {
+
+    @Id
+    @Column(name = "post_id")
+    private Integer postId;
+
+    private long likeCount;
+
+    private long commentCount;
+
+    private Timestamp updatedAt;
+
+    private PostCountEntity(Integer postId) {
+        this.postId = postId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static PostCountEntity of(Integer postId) {
+        return new PostCountEntity(postId);
+    }
+}
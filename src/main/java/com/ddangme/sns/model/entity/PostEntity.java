@@ -1,7 +1,10 @@
 package com.ddangme.sns.model.entity;
 
+import com.ddangme.sns.model.IdBlock;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -10,15 +13,26 @@ import java.sql.Timestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "post")
+@Table(name = "post", indexes = {
+        @Index(name = "registered_at_post_id_idx", columnList = "registered_at, post_id"),
+        @Index(name = "user_id_registered_at_post_id_idx", columnList = "user_id, registered_at, post_id")
+})
 @Getter
-@SQLDelete(sql = "UPDATE post SET deleted_at = NOW() WHERE post_id = ?")
+@SQLDelete(sql = "UPDATE post SET deleted_at = NOW() WHERE post_id = ? AND version = ?")
 @Where(clause = "deleted_at is NULL")
 @NoArgsConstructor
 public class PostEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_id_generator")
+    @GenericGenerator(name = "post_id_generator", strategy = IdBlock.GENERATOR, parameters = {
+            @Parameter(name = IdBlock.TABLE_PARAM, value = IdBlock.TABLE),
+            @Parameter(name = IdBlock.SEGMENT_COLUMN_PARAM, value = IdBlock.SEGMENT_COLUMN),
+            @Parameter(name = IdBlock.VALUE_COLUMN_PARAM, value = IdBlock.VALUE_COLUMN),
+            @Parameter(name = IdBlock.SEGMENT_PARAM, value = IdBlock.POST),
+            @Parameter(name = IdBlock.INCREMENT_PARAM, value = IdBlock.INCREMENT_SIZE),
+            @Parameter(name = IdBlock.OPTIMIZER_PARAM, value = IdBlock.OPTIMIZER)
+    })
     @Column(name = "post_id")
     private Integer id;
 
@@ -37,6 +51,13 @@ public class PostEntity {
 
     private Timestamp deletedAt;
 
+    // 제목이나 본문이 바뀔 때마다 올라간다. 상세 조회의 ETag 로 쓴다.
+    // updated_at 은 MySQL 에서 초 단위라 같은 초 안의 수정을 구분하지 못한다.
+    // JPQL 로 수정하는 경우(modifyByIdAndUserId)는 직접 올린다. JDBC insert 를 위해 기본값을 둔다.
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     public PostEntity(String title, String body, Integer userId) {
         this.title = title;
         this.body = body;
@@ -16,6 +16,7 @@ import java.time.Instant;
 @Setter
 @SQLDelete(sql = "UPDATE users SET deleted_at = NOW() WHERE user_id = ?")
 @Where(clause = "deleted_at is NULL")
+@EntityListeners(UserEntityListener.class)
 public class UserEntity {
 
     @Id
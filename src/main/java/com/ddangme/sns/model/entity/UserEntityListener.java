@@ -0,0 +1,28 @@
+package com.ddangme.sns.model.entity;
+
+import com.ddangme.sns.repository.UserCacheRepository;
+import com.ddangme.sns.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// UserEntity 가 수정되거나 soft delete 되면 principal 캐시를 비운다.
+// flush 시점에 한 번, 커밋 이후에 한 번 더 비워서 커밋 전에 다시 적재된 이전 값이 남지 않도록 한다.
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final UserCacheRepository userCacheRepository;
+
+    @PostUpdate
+    @PostRemove
+    void evictUserCache(UserEntity entity) {
+        Integer userId = entity.getId();
+        String userName = entity.getUserName();
+
+        userCacheRepository.evict(userId, userName);
+        TransactionUtils.afterCommit(() -> userCacheRepository.evict(userId, userName));
+    }
+}
@@ -4,9 +4,31 @@ import com.ddangme.sns.model.entity.AlarmEntity;
 import com.ddangme.sns.model.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 public interface AlarmEntityRepository extends JpaRepository<AlarmEntity, Integer> {
 
     Page<AlarmEntity> findAllByUserId(Integer userId, Pageable pageable);
+
+    @Query("SELECT MAX(entity.id) FROM AlarmEntity entity WHERE entity.user.id = :userId")
+    Integer findMaxIdByUserId(@Param("userId") Integer userId);
+
+    List<AlarmEntity> findAllByUserIdAndIdGreaterThanOrderByIdAsc(Integer userId, Integer id, Pageable pageable);
+
+    @Query("SELECT entity FROM AlarmEntity entity " +
+            "WHERE entity.user.id = :userId " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<AlarmEntity> findAllByUserIdAndCursor(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("SELECT entity FROM AlarmEntity entity " +
+            "WHERE entity.user.id = :userId " +
+            "AND (entity.registeredAt < :registeredAt OR (entity.registeredAt = :registeredAt AND entity.id < :id)) " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<AlarmEntity> findAllByUserIdAndCursor(@Param("userId") Integer userId, @Param("registeredAt") Timestamp registeredAt, @Param("id") Integer id, Pageable pageable);
 }
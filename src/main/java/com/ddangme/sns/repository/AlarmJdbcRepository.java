@@ -0,0 +1,132 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmUpdate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// AlarmEntity 는 IDENTITY 전략이라 Hibernate 가 insert 를 batch 로 묶지 못한다.
+// MySQL 에서는 DB_URL 에 rewriteBatchedStatements=true 를 주면 multi-row insert 로 변환된다.
+@Repository
+public class AlarmJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO alarm (alarm_type, user_id, args, event_count, registered_at) VALUES (?, ?, %s, ?, ?)";
+
+    // 읽음 처리된 묶음 알람에는 더하지 않는다. 다른 인스턴스에서 읽음 처리하면 이 인스턴스의 coalescer 는 그 사실을 모르므로 DB 에서 확인한다.
+    private static final String UPDATE_SQL = "UPDATE alarm SET event_count = event_count + ?, args = %s, updated_at = ? " +
+            "WHERE alarm_id = ? AND deleted_at IS NULL " +
+            "AND alarm_id > COALESCE((SELECT last_read_alarm_id FROM alarm_read WHERE user_id = ?), 0)";
+
+    // (user_id, alarm_id) 인덱스 범위만 읽고, limit 개에서 멈춘다.
+    private static final String COUNT_UNREAD_SQL = "SELECT COUNT(*) FROM (" +
+            "SELECT alarm_id FROM alarm WHERE user_id = ? AND alarm_id > ? AND alarm_id <= ? AND deleted_at IS NULL LIMIT ?) unread";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String insertSql;
+    private final String updateSql;
+
+    public AlarmJdbcRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, JsonColumnBinder jsonColumnBinder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.insertSql = String.format(INSERT_SQL, jsonColumnBinder.placeholder());
+        this.updateSql = String.format(UPDATE_SQL, jsonColumnBinder.placeholder());
+    }
+
+    // 저장된 alarm_id 를 events 와 같은 순서로 돌려준다.
+    @Transactional
+    public List<Integer> saveAll(List<AlarmEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                for (AlarmEvent event : events) {
+                    ps.setString(1, event.getAlarmType().name());
+                    ps.setInt(2, event.getReceiverUserId());
+                    ps.setString(3, toJson(event.getArgs()));
+                    ps.setInt(4, event.getEventCount());
+                    ps.setTimestamp(5, event.getRegisteredAt());
+                    ps.addBatch();
+                }
+
+                ps.executeBatch();
+
+                List<Integer> ids = new ArrayList<>(events.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getInt(1));
+                    }
+                }
+
+                return ids;
+            }
+        });
+    }
+
+    // 반영되지 않은(삭제됐거나 읽음 처리된 알람) 변경분을 돌려준다.
+    @Transactional
+    public List<AlarmUpdate> updateAll(List<AlarmUpdate> updates) {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+
+        int[] updated = jdbcTemplate.batchUpdate(updateSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AlarmUpdate update = updates.get(i);
+                ps.setInt(1, update.getCountDelta());
+                ps.setString(2, toJson(update.getArgs()));
+                ps.setTimestamp(3, now);
+                ps.setInt(4, update.getAlarmId());
+                ps.setInt(5, update.getReceiverUserId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+
+        List<AlarmUpdate> missed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missed.add(updates.get(i));
+            }
+        }
+
+        return missed;
+    }
+
+    // lastAlarmId 까지의 읽지 않은 알람 수를 최대 limit 까지만 센다.
+    public long countUnread(Integer userId, Integer lastReadAlarmId, Integer lastAlarmId, int limit) {
+        Long count = jdbcTemplate.queryForObject(COUNT_UNREAD_SQL, Long.class, userId, lastReadAlarmId, lastAlarmId, limit);
+        return count == null ? 0 : count;
+    }
+
+    private String toJson(AlarmArgs args) {
+        try {
+            return objectMapper.writeValueAsString(args);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize alarm args", e);
+        }
+    }
+}
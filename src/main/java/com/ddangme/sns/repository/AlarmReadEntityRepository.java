@@ -0,0 +1,7 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.entity.AlarmReadEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AlarmReadEntityRepository extends JpaRepository<AlarmReadEntity, Integer> {
+}
@@ -0,0 +1,95 @@
+package com.ddangme.sns.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// 유저별 읽지 않은 알람 수. 알람이 새로 저장되면 올리고, 읽음 처리되면 0 으로 되돌린다.
+// 센 알람 중 가장 큰 alarm_id 를 같이 들고 있어서, 적재나 읽음 처리와 증가가 겹쳐도 같은 알람을 두 번 세거나 빠뜨리지 않는다.
+// 인스턴스마다 따로 세므로 다른 인스턴스에서 저장된 알람은 expired-time-ms 가 지나 다시 적재될 때 반영된다.
+@Repository
+public class AlarmUnreadCacheRepository implements MeterBinder {
+
+    private final Cache<Integer, UnreadCount> unreadCache;
+
+    public AlarmUnreadCacheRepository(@Value("${cache.alarm-unread.maximum-size}") long maximumSize,
+                                      @Value("${cache.alarm-unread.expired-time-ms}") long expiredTimeMs) {
+        this.unreadCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new LoadedExpiry(TimeUnit.MILLISECONDS.toNanos(expiredTimeMs)))
+                .recordStats()
+                .build();
+    }
+
+    // loader 는 lastAlarmId 이하의 읽지 않은 알람 수를 센다.
+    public long getCount(Integer userId, Function<Integer, UnreadCount> loader) {
+        return unreadCache.get(userId, loader).getCount();
+    }
+
+    // 캐시에 없는 유저는 다음 조회 때 DB 에서 적재하므로 올리지 않는다.
+    // 적재 중이면 적재가 끝난 뒤에 반영되고, 적재할 때 이미 센 알람이면 넘어간다.
+    public void increase(Integer userId, Integer alarmId) {
+        unreadCache.asMap().computeIfPresent(userId, (key, unread) -> unread.increase(alarmId));
+    }
+
+    // lastReadAlarmId 보다 새 알람을 이미 셌으면 몇 개가 남는지 알 수 없으므로 버리고 다음 조회 때 다시 센다.
+    public void reset(Integer userId, Integer lastReadAlarmId) {
+        unreadCache.asMap().computeIfPresent(userId, (key, unread) ->
+                unread.getLastAlarmId() <= lastReadAlarmId ? new UnreadCount(0, lastReadAlarmId) : null);
+    }
+
+    public void evict(Integer userId) {
+        unreadCache.invalidate(userId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, unreadCache, "alarm-unread");
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UnreadCount {
+
+        private final long count;
+
+        // count 에 포함된 가장 큰 alarm_id
+        private final int lastAlarmId;
+
+        UnreadCount increase(int alarmId) {
+            return alarmId <= lastAlarmId ? this : new UnreadCount(count + 1, alarmId);
+        }
+    }
+
+    // 증가, 읽음 처리로 값이 바뀌어도 만료 시점은 적재한 때부터 계산한다.
+    @AllArgsConstructor
+    private static class LoadedExpiry implements Expiry<Integer, UnreadCount> {
+
+        private final long expiredNanos;
+
+        @Override
+        public long expireAfterCreate(Integer key, UnreadCount value, long currentTime) {
+            return expiredNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer key, UnreadCount value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Integer key, UnreadCount value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,17 +4,38 @@ import com.ddangme.sns.model.entity.CommentEntity;
 import com.ddangme.sns.model.entity.PostEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.List;
 
 public interface CommentEntityRepository extends JpaRepository<CommentEntity, Integer> {
 
     Page<CommentEntity> findAllByPost(PostEntity post, Pageable pageable);
 
+    @Query("SELECT entity FROM CommentEntity entity JOIN FETCH entity.user " +
+            "WHERE entity.post.id = :postId " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<CommentEntity> findAllByPostIdAndCursor(@Param("postId") Integer postId, Pageable pageable);
+
+    @Query("SELECT entity FROM CommentEntity entity JOIN FETCH entity.user " +
+            "WHERE entity.post.id = :postId " +
+            "AND (entity.registeredAt < :registeredAt OR (entity.registeredAt = :registeredAt AND entity.id < :id)) " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<CommentEntity> findAllByPostIdAndCursor(@Param("postId") Integer postId, @Param("registeredAt") Timestamp registeredAt, @Param("id") Integer id, Pageable pageable);
+
+    // post_id 인덱스만 읽는다. 댓글이 없으면 null
+    @Query("SELECT MAX(entity.id) FROM CommentEntity entity WHERE entity.post.id = :postId")
+    Integer findLastIdByPostId(@Param("postId") Integer postId);
+
+    @Query("SELECT entity.post.id, COUNT(entity) FROM CommentEntity entity WHERE entity.post.id IN :postIds GROUP BY entity.post.id")
+    List<Object[]> countAllByPostIds(@Param("postIds") List<Integer> postIds);
+
     @Transactional
     @Modifying
     @Query("UPDATE CommentEntity entity SET deleted_at = NOW() WHERE entity.post =:post")
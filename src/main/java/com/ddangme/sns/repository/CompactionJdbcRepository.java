@@ -0,0 +1,89 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.CompactionTable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// table/column 이름은 CompactionTable 상수에서만 오므로 그대로 SQL 에 넣는다.
+@Repository
+public class CompactionJdbcRepository {
+
+    private static final String ARCHIVE_SQL = "INSERT INTO archive (table_name, row_id, data, deleted_at, archived_at) VALUES (?, ?, %s, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String archiveSql;
+
+    public CompactionJdbcRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, JsonColumnBinder jsonColumnBinder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.archiveSql = String.format(ARCHIVE_SQL, jsonColumnBinder.placeholder());
+    }
+
+    // deletedBefore 이전에 삭제된 row 를 limit 개까지 archive 로 옮기고 live 테이블에서 지운다. 옮긴 row 수를 돌려준다.
+    @Transactional
+    public int moveToArchive(CompactionTable table, Timestamp deletedBefore, int limit) {
+        String selectSql = String.format("SELECT * FROM %s target WHERE target.%s < ? %s ORDER BY target.%s LIMIT ?",
+                table.getTable(), table.getDeletedColumn(), table.getCondition(), table.getIdColumn());
+        // queryForList 의 Map 은 column 이름의 대소문자를 구분하지 않는다.
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(selectSql, deletedBefore, limit);
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+
+        jdbcTemplate.batchUpdate(archiveSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map<String, Object> row = rows.get(i);
+                ps.setString(1, table.getTable());
+                ps.setInt(2, ((Number) row.get(table.getIdColumn())).intValue());
+                ps.setString(3, toJson(row));
+                // 드라이버에 따라 Timestamp 또는 LocalDateTime 으로 읽힌다.
+                ps.setObject(4, row.get(table.getDeletedColumn()));
+                ps.setTimestamp(5, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        String deleteSql = String.format("DELETE FROM %s WHERE %s = ?", table.getTable(), table.getIdColumn());
+        jdbcTemplate.batchUpdate(deleteSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, ((Number) rows.get(i).get(table.getIdColumn())).intValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        return rows.size();
+    }
+
+    private String toJson(Map<String, Object> row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize archived row", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.DeletionStep;
+import com.ddangme.sns.model.PostChildRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+// 삭제 단계별로 pk 순서의 chunk 를 읽고, pk 로만 지워서 한 번에 잡는 row lock 을 chunk 크기로 제한한다.
+// table/column 이름은 DeletionStep 상수에서만 오므로 그대로 SQL 에 넣는다.
+@Repository
+@RequiredArgsConstructor
+public class DeletionJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Integer> findIds(DeletionStep step, Integer targetId, Integer lastId, int limit) {
+        String sql = String.format("SELECT %s FROM %s WHERE %s = ? AND %s > ?%s ORDER BY %s LIMIT ?",
+                step.getIdColumn(), step.getTable(), step.getTargetColumn(), step.getIdColumn(),
+                step.isSoftDelete() ? " AND deleted_at IS NULL" : "", step.getIdColumn());
+
+        return jdbcTemplate.queryForList(sql, Integer.class, targetId, lastId, limit);
+    }
+
+    public void delete(DeletionStep step, List<Integer> ids) {
+        if (!step.isSoftDelete()) {
+            jdbcTemplate.batchUpdate(String.format("DELETE FROM %s WHERE %s = ?", step.getTable(), step.getIdColumn()),
+                    ids, ids.size(), (ps, id) -> ps.setInt(1, id));
+            return;
+        }
+
+        softDelete(step, ids);
+    }
+
+    public void softDelete(DeletionStep step, List<Integer> ids) {
+        String sql = String.format("UPDATE %s SET deleted_at = ? WHERE %s = ? AND deleted_at IS NULL",
+                step.getTable(), step.getIdColumn());
+        Timestamp now = Timestamp.from(Instant.now());
+
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setTimestamp(1, now);
+                ps.setInt(2, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    // 지운 좋아요/댓글 중 삭제되지 않은 post 에 달린 것. 삭제된 post 의 카운트는 post 삭제 작업이 지운다.
+    public List<PostChildRow> findLivePostRows(DeletionStep step, List<Integer> ids) {
+        String sql = String.format("SELECT child.post_id, child.registered_at FROM %s child " +
+                        "JOIN post ON post.post_id = child.post_id AND post.deleted_at IS NULL WHERE child.%s IN (%s)",
+                step.getTable(), step.getIdColumn(), placeholders(ids.size()));
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new PostChildRow(rs.getInt(1), rs.getTimestamp(2)), ids.toArray());
+    }
+
+    // 지울 follow row 의 followee. 동시에 들어온 unfollow 가 같은 row 를 지우고 팔로워 수를 한 번 더 줄이지 않도록 lock 을 잡는다.
+    public List<Integer> findFolloweeIdsForUpdate(List<Integer> followIds) {
+        String sql = String.format("SELECT followee_id FROM follow WHERE follow_id IN (%s) FOR UPDATE", placeholders(followIds.size()));
+        return jdbcTemplate.queryForList(sql, Integer.class, followIds.toArray());
+    }
+
+    private static String placeholders(int size) {
+        return String.join(", ", Collections.nCopies(size, "?"));
+    }
+}
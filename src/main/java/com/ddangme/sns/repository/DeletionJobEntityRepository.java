@@ -0,0 +1,26 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.entity.DeletionJobEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface DeletionJobEntityRepository extends JpaRepository<DeletionJobEntity, Integer> {
+
+    Optional<DeletionJobEntity> findFirstByFinishedAtIsNullOrderByIdAsc();
+
+    long countByFinishedAtIsNull();
+
+    Page<DeletionJobEntity> findAllByFinishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    // 여러 인스턴스가 같은 작업을 동시에 진행하지 않도록 row lock 을 잡는다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT entity FROM DeletionJobEntity entity WHERE entity.id = :id")
+    Optional<DeletionJobEntity> findByIdForUpdate(@Param("id") Integer id);
+}
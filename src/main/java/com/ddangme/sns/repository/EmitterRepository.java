@@ -0,0 +1,42 @@
+package com.ddangme.sns.repository;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 유저별로 열려있는 SSE 연결. 한 유저가 여러 기기/탭에서 연결할 수 있다.
+@Repository
+public class EmitterRepository {
+
+    private final Map<Integer, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter save(Integer userId, SseEmitter emitter) {
+        emitters.compute(userId, (key, userEmitters) -> {
+            if (userEmitters == null) {
+                userEmitters = ConcurrentHashMap.newKeySet();
+            }
+            userEmitters.add(emitter);
+            return userEmitters;
+        });
+
+        return emitter;
+    }
+
+    public Set<SseEmitter> get(Integer userId) {
+        return emitters.getOrDefault(userId, Set.of());
+    }
+
+    public Map<Integer, Set<SseEmitter>> getAll() {
+        return emitters;
+    }
+
+    public void delete(Integer userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
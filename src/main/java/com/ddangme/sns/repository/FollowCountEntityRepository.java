@@ -0,0 +1,30 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.entity.FollowCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FollowCountEntityRepository extends JpaRepository<FollowCountEntity, Integer> {
+
+    // row 가 없으면 0 을 돌려준다.
+    @Modifying
+    @Query("UPDATE FollowCountEntity entity SET entity.followerCount = entity.followerCount + :delta, " +
+            "entity.updatedAt = CURRENT_TIMESTAMP WHERE entity.userId = :userId")
+    int increaseFollowerCount(@Param("userId") Integer userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM FollowCountEntity entity WHERE entity.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    // follower_count 인덱스로 celebrity 만 읽는다.
+    @Query("SELECT entity.userId FROM FollowCountEntity entity WHERE entity.followerCount > :threshold")
+    List<Integer> findUserIdsHavingMoreFollowersThan(@Param("threshold") long threshold);
+
+    @Query("SELECT entity.followerCount FROM FollowCountEntity entity WHERE entity.userId = :userId")
+    Optional<Long> findFollowerCountByUserId(@Param("userId") Integer userId);
+}
@@ -0,0 +1,31 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.entity.FollowEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface FollowEntityRepository extends JpaRepository<FollowEntity, Integer> {
+
+    @Query("SELECT entity.followerId FROM FollowEntity entity " +
+            "WHERE entity.followeeId = :followeeId AND entity.followerId > :lastFollowerId " +
+            "ORDER BY entity.followerId")
+    List<Integer> findFollowerIds(@Param("followeeId") Integer followeeId, @Param("lastFollowerId") Integer lastFollowerId, Pageable pageable);
+
+    @Query("SELECT entity.followeeId FROM FollowEntity entity " +
+            "WHERE entity.followerId = :followerId AND entity.followeeId IN :followeeIds")
+    List<Integer> findFolloweeIdsIn(@Param("followerId") Integer followerId, @Param("followeeIds") Collection<Integer> followeeIds);
+
+    long countByFolloweeId(Integer followeeId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FollowEntity entity WHERE entity.followerId = :followerId AND entity.followeeId = :followeeId")
+    int deleteByFollowerIdAndFolloweeId(@Param("followerId") Integer followerId, @Param("followeeId") Integer followeeId);
+}
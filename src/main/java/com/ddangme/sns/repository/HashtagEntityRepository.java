@@ -0,0 +1,27 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.entity.HashtagEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface HashtagEntityRepository extends JpaRepository<HashtagEntity, Integer> {
+
+    @Query("SELECT entity.tag FROM HashtagEntity entity WHERE entity.postId = :postId")
+    List<String> findTagsByPostId(@Param("postId") Integer postId);
+
+    @Query("SELECT MAX(entity.id) FROM HashtagEntity entity")
+    Integer findMaxId();
+
+    // 최근에 추가된 태그부터 pk 순서로 거꾸로 읽는다.
+    @Query("SELECT entity FROM HashtagEntity entity WHERE entity.id < :beforeId ORDER BY entity.id DESC")
+    List<HashtagEntity> findAllBefore(@Param("beforeId") Integer beforeId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM HashtagEntity entity WHERE entity.postId = :postId")
+    int deleteByPostId(@Param("postId") Integer postId);
+}
@@ -0,0 +1,138 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.TrendingHashtag;
+import com.ddangme.sns.model.TrendingWindow;
+import com.ddangme.sns.util.CountMinSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// 구간별 태그 사용 횟수. 태그 종류가 아무리 많아도 구간마다 bucket 수 * depth * width 개의 counter 와
+// candidate-size * 2 개 이하의 후보만 들고 있는다. 인스턴스마다 자기가 받은 post 만 센다.
+@Repository
+public class HashtagTrendRepository {
+
+    private final Map<TrendingWindow, Window> windows = new EnumMap<>(TrendingWindow.class);
+
+    public HashtagTrendRepository(@Value("${hashtag.trending.depth}") int depth,
+                                  @Value("${hashtag.trending.width}") int width,
+                                  @Value("${hashtag.trending.candidate-size}") int candidateSize) {
+        long now = System.currentTimeMillis();
+
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new Window(window, depth, width, candidateSize, now));
+        }
+    }
+
+    public void add(Collection<String> tags, long timeMillis) {
+        for (Window window : windows.values()) {
+            tags.forEach(tag -> window.add(tag, timeMillis));
+        }
+    }
+
+    public List<TrendingHashtag> top(TrendingWindow window, int size) {
+        return windows.get(window).top(size);
+    }
+
+    // 지나간 bucket 을 비운다. bucket 길이보다 짧은 주기로 호출해야 한다.
+    public void rotate(long now) {
+        windows.values().forEach(window -> window.rotate(now));
+    }
+
+    private static class Window {
+
+        private final long bucketMs;
+        private final CountMinSketch[] buckets;
+        private final int candidateSize;
+
+        // 후보 태그와 마지막으로 본 추정치. 추정치가 floor 보다 큰 태그만 새로 들어온다.
+        private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+        private final AtomicBoolean trimming = new AtomicBoolean(false);
+        private volatile long floor = 0;
+        private volatile long currentEpoch;
+
+        private Window(TrendingWindow window, int depth, int width, int candidateSize, long now) {
+            this.bucketMs = window.getBucketMs();
+            this.buckets = new CountMinSketch[window.getBucketCount()];
+            this.candidateSize = candidateSize;
+            this.currentEpoch = now / bucketMs;
+
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new CountMinSketch(depth, width);
+            }
+        }
+
+        void add(String tag, long timeMillis) {
+            long epoch = Math.min(timeMillis / bucketMs, currentEpoch);
+
+            // 구간을 벗어난 오래된 post
+            if (epoch <= currentEpoch - buckets.length) {
+                return;
+            }
+
+            buckets[(int) (epoch % buckets.length)].add(tag, 1);
+
+            long estimate = CountMinSketch.estimate(buckets, tag);
+            if (estimate > floor || candidates.size() < candidateSize) {
+                candidates.put(tag, estimate);
+            }
+
+            if (candidates.size() > candidateSize * 2) {
+                trim();
+            }
+        }
+
+        List<TrendingHashtag> top(int size) {
+            return candidates.keySet().stream()
+                    .map(tag -> new TrendingHashtag(tag, CountMinSketch.estimate(buckets, tag)))
+                    .filter(trending -> trending.getCount() > 0)
+                    .sorted(Comparator.comparingLong(TrendingHashtag::getCount).reversed()
+                            .thenComparing(TrendingHashtag::getTag))
+                    .limit(size)
+                    .collect(Collectors.toList());
+        }
+
+        // bucket 을 비우는 동안 같은 bucket 에 더해진 값은 함께 지워질 수 있다. 추정치라서 허용한다.
+        void rotate(long now) {
+            long epoch = now / bucketMs;
+
+            if (epoch <= currentEpoch) {
+                return;
+            }
+
+            for (long e = Math.max(currentEpoch + 1, epoch - buckets.length + 1); e <= epoch; e++) {
+                buckets[(int) (e % buckets.length)].clear();
+            }
+            currentEpoch = epoch;
+
+            trim();
+        }
+
+        // 추정치를 다시 계산해서 상위 candidate-size 개만 남긴다. 이미 다른 스레드가 정리 중이면 건너뛴다.
+        private void trim() {
+            if (!trimming.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                List<TrendingHashtag> kept = top(candidateSize);
+                Map<String, Long> keep = kept.stream()
+                        .collect(Collectors.toMap(TrendingHashtag::getTag, TrendingHashtag::getCount));
+
+                candidates.keySet().retainAll(keep.keySet());
+                candidates.putAll(keep);
+                floor = kept.size() < candidateSize ? 0 : kept.get(kept.size() - 1).getCount();
+            } finally {
+                trimming.set(false);
+            }
+        }
+    }
+}
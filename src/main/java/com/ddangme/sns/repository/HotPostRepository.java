@@ -0,0 +1,100 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.HotScore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// post 별 인기 점수와, refresh 때 정렬해둔 상위 capacity 개의 순위. 조회는 정렬해둔 순위만 읽는다.
+// 점수는 log 값으로 들고 있고 merge 로 더한다. 순위 밖의 post 도 점수가 쌓여야 순위에 들어올 수 있으므로,
+// refresh 때 floor 보다 낮아진 점수만 버리고, 그래도 max-tracked 개를 넘으면 낮은 점수부터 버린다.
+@Repository
+public class HotPostRepository {
+
+    private final Map<Integer, Double> scores = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final int maxTracked;
+
+    private volatile List<Integer> ranking = List.of();
+
+    public HotPostRepository(@Value("${hot.capacity}") int capacity,
+                             @Value("${hot.max-tracked}") int maxTracked) {
+        this.capacity = capacity;
+        this.maxTracked = maxTracked;
+    }
+
+    // score 는 log2(weight) + 발생 시각 / half-life
+    public void add(Integer postId, double score) {
+        scores.merge(postId, score, HotPostRepository::logAdd);
+    }
+
+    // 더했던 점수를 뺀다. 남는 점수가 없으면 버린다.
+    public void subtract(Integer postId, double score) {
+        scores.computeIfPresent(postId, (key, current) -> logSubtract(current, score));
+    }
+
+    public void remove(Integer postId) {
+        scores.remove(postId);
+    }
+
+    // floor 보다 낮은 점수를 버리고 순위를 다시 정렬한다. 바뀐 순위의 점수를 돌려준다.
+    // 버리는 동안 더해진 점수가 지워지지 않도록 현재 값을 다시 비교해서 지운다.
+    public List<HotScore> refresh(double floor) {
+        List<HotScore> sorted = scores.entrySet().stream()
+                .map(entry -> new HotScore(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(HotScore::getScore).reversed())
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < sorted.size(); i++) {
+            HotScore score = sorted.get(i);
+
+            if (score.getScore() < floor) {
+                scores.computeIfPresent(score.getPostId(), (postId, current) -> current < floor ? null : current);
+            } else if (i >= maxTracked) {
+                scores.remove(score.getPostId(), score.getScore());
+            }
+        }
+
+        List<HotScore> top = sorted.stream()
+                .filter(score -> score.getScore() >= floor)
+                .limit(capacity)
+                .collect(Collectors.toList());
+        ranking = top.stream().map(HotScore::getPostId).collect(Collectors.toUnmodifiableList());
+
+        return top;
+    }
+
+    public List<Integer> getRanking() {
+        return ranking;
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    // log2(2^a - 2^b). b 가 a 보다 작지 않으면 null
+    private static Double logSubtract(double a, double b) {
+        if (b >= a) {
+            return null;
+        }
+
+        return a + Math.log1p(-Math.pow(2, b - a)) / Math.log(2);
+    }
+
+    // log2(2^a + 2^b) 를 overflow 없이 계산한다.
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        double min = Math.min(a, b);
+
+        if (min == Double.NEGATIVE_INFINITY) {
+            return max;
+        }
+
+        return max + Math.log1p(Math.pow(2, min - max)) / Math.log(2);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.HotScore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class HotScoreJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO post_hot_score_checkpoint (instance_id, post_id, score, updated_at) VALUES (?, ?, ?, NOW())";
+
+    // 인스턴스는 서로 다른 반응을 세지만, 재시작한 인스턴스가 합친 값을 다시 checkpoint 하면 계속 불어나므로 최댓값으로 합친다.
+    private static final String FIND_ALL_SQL = "SELECT post_id, MAX(score) AS score FROM post_hot_score_checkpoint GROUP BY post_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<HotScore> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, (rs, rowNum) -> new HotScore(rs.getInt("post_id"), rs.getDouble("score")));
+    }
+
+    // 이 인스턴스의 checkpoint 만 한 트랜잭션으로 바꿔 쓰고, 오래 갱신되지 않은(내려간) 인스턴스의 checkpoint 는 지운다.
+    @Transactional
+    public void replaceAll(String instanceId, List<HotScore> scores, Timestamp staleBefore) {
+        jdbcTemplate.update("DELETE FROM post_hot_score_checkpoint WHERE instance_id = ? OR updated_at < ?", instanceId, staleBefore);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                HotScore score = scores.get(i);
+                ps.setString(1, instanceId);
+                ps.setInt(2, score.getPostId());
+                ps.setDouble(3, score.getScore());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return scores.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.IdBlock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Hibernate 의 TableGenerator 와 같은 row 에서 id 구간을 받는다. (IdBlock 참고)
+@Repository
+@RequiredArgsConstructor
+public class IdBlockRepository {
+
+    private static final String SELECT_SQL = "SELECT " + IdBlock.VALUE_COLUMN + " FROM " + IdBlock.TABLE +
+            " WHERE " + IdBlock.SEGMENT_COLUMN + " = ? FOR UPDATE";
+
+    private static final String UPDATE_SQL = "UPDATE " + IdBlock.TABLE + " SET " + IdBlock.VALUE_COLUMN + " = ?" +
+            " WHERE " + IdBlock.SEGMENT_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // [첫 id, 첫 id + count) 구간을 받아 첫 id 를 돌려준다.
+    // row lock 을 오래 잡지 않도록 insert 하는 트랜잭션과 따로 커밋한다. 그 트랜잭션이 롤백되면 구간은 버려진다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int allocate(String segment, int count) {
+        Long next = jdbcTemplate.queryForObject(SELECT_SQL, Long.class, segment);
+
+        if (next == null || next + count > Integer.MAX_VALUE) {
+            throw new IllegalStateException(String.format("Cannot allocate %d ids from %s. next: %s", count, segment, next));
+        }
+
+        jdbcTemplate.update(UPDATE_SQL, next + count, segment);
+        return next.intValue();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.CommentImport;
+import com.ddangme.sns.model.PostImport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// 대량 import 용 insert. id 를 미리 받아두므로 rows-per-statement 개의 row 를 INSERT ... VALUES (...), (...) 한 문장으로 넣는다.
+// 호출하는 쪽의 트랜잭션 안에서 실행한다.
+@Repository
+public class ImportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+
+    public ImportJdbcRepository(JdbcTemplate jdbcTemplate,
+                                @Value("${bulk-import.rows-per-statement}") int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    public void insertPosts(int firstId, List<PostImport> posts, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(posts.size());
+
+        for (int i = 0; i < posts.size(); i++) {
+            PostImport post = posts.get(i);
+            rows.add(new Object[]{firstId + i, post.getTitle(), post.getBody(), post.getUserId(), registeredAt(post.getRegisteredAt(), now)});
+        }
+        insert("post (post_id, title, body, user_id, registered_at)", rows);
+    }
+
+    // 새 post 의 좋아요/댓글 수 row
+    public void insertPostCounts(int firstId, int count, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{firstId + i, 0, 0, now});
+        }
+        insert("post_count (post_id, like_count, comment_count, updated_at)", rows);
+    }
+
+    // row 는 (post_id, tag, post 의 registered_at)
+    public void insertHashtags(List<Object[]> rows) {
+        insert("post_hashtag (post_id, tag, registered_at)", rows);
+    }
+
+    public void insertComments(int firstId, List<CommentImport> comments, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(comments.size());
+
+        for (int i = 0; i < comments.size(); i++) {
+            CommentImport comment = comments.get(i);
+            rows.add(new Object[]{firstId + i, comment.getPostId(), comment.getUserId(), comment.getComment(), registeredAt(comment.getRegisteredAt(), now)});
+        }
+        insert("comment (comment_id, post_id, user_id, comment, registered_at)", rows);
+    }
+
+    private void insert(String target, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String placeholder = placeholder(rows.get(0).length);
+
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            List<Object[]> statementRows = rows.subList(from, Math.min(from + rowsPerStatement, rows.size()));
+            String sql = "INSERT INTO " + target + " VALUES " + String.join(", ", Collections.nCopies(statementRows.size(), placeholder));
+
+            jdbcTemplate.update(sql, statementRows.stream().flatMap(Arrays::stream).toArray());
+        }
+    }
+
+    private static String placeholder(int columns) {
+        return "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+    }
+
+    private static Timestamp registeredAt(Timestamp registeredAt, Timestamp now) {
+        return registeredAt == null ? now : registeredAt;
+    }
+}
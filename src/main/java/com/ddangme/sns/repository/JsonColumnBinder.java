@@ -0,0 +1,29 @@
+package com.ddangme.sns.repository;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// JDBC 로 json column 에 쓸 때의 placeholder.
+// H2 는 문자열 파라미터를 JSON 문자열 값("{...}")으로 저장하므로 FORMAT JSON 으로 JSON 문서임을 알려준다.
+// MySQL 은 json column 에 넣는 문자열을 JSON 문서로 파싱한다.
+@Component
+public class JsonColumnBinder {
+
+    private static final String H2 = "H2";
+
+    private final String placeholder;
+
+    public JsonColumnBinder(DataSource dataSource) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.placeholder = H2.equals(product) ? "? FORMAT JSON" : "?";
+    }
+
+    // 값은 JSON 문서 문자열로 setString 한다.
+    public String placeholder() {
+        return placeholder;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,10 +19,24 @@ public interface LikeEntityRepository extends JpaRepository<LikeEntity, Integer>
 
     Optional<LikeEntity> findByUserIdAndPostId(Integer userId, Integer postId);
 
+    // 이미 좋아요를 했으면 (user_id, post_id) unique 제약에 걸린다.
+    // INSERT ... SELECT ... NOT EXISTS 는 MySQL 에서 같은 gap 에 shared lock 을 잡은 두 요청이 insert 할 때 deadlock 이 나므로 중복 확인을 unique key 에 맡긴다.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO post_like (post_id, user_id, registered_at) VALUES (:postId, :userId, NOW())", nativeQuery = true)
+    void insert(@Param("postId") Integer postId, @Param("userId") Integer userId);
+
     long countByPost(PostEntity post);
 
+    // 한 페이지의 post 중 userId 가 좋아요한 post id 를 한 번에 읽는다. (user_id, post_id) unique 인덱스를 탄다.
+    @Query("SELECT entity.post.id FROM LikeEntity entity WHERE entity.user.id = :userId AND entity.post.id IN :postIds")
+    List<Integer> findLikedPostIds(@Param("userId") Integer userId, @Param("postIds") Collection<Integer> postIds);
+
     List<LikeEntity> findAllByPost(PostEntity post);
 
+    @Query("SELECT entity.post.id, COUNT(entity) FROM LikeEntity entity WHERE entity.post.id IN :postIds GROUP BY entity.post.id")
+    List<Object[]> countAllByPostIds(@Param("postIds") List<Integer> postIds);
+
     // JPA는 영속성 컨테이너로 데이터를 관리하기 때문에, delete를 하더라도, delete 이전에 select 쿼리를 먼저 날린 뒤에 삭제한다.
 
     @Transactional
@@ -0,0 +1,16 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.entity.PostCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PostCountEntityRepository extends JpaRepository<PostCountEntity, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PostCountEntity entity WHERE entity.postId = :postId")
+    void deleteByPostId(@Param("postId") Integer postId);
+}
@@ -0,0 +1,62 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.PostCountDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+// 메모리에 모아둔 증가분을 JDBC batch 로 한 번에 반영한다.
+@Repository
+@RequiredArgsConstructor
+public class PostCountJdbcRepository {
+
+    private static final String INCREASE_SQL = "UPDATE post_count " +
+            "SET like_count = like_count + ?, comment_count = comment_count + ?, updated_at = NOW() " +
+            "WHERE post_id = ?";
+
+    // 삭제된 post 에 대해서는 row 를 만들지 않는다.
+    private static final String INSERT_SQL = "INSERT INTO post_count (post_id, like_count, comment_count, updated_at) " +
+            "SELECT post_id, ?, ?, NOW() FROM post WHERE post_id = ? AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void increase(List<PostCountDelta> deltas) {
+        int[] updated = jdbcTemplate.batchUpdate(INCREASE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PostCountDelta delta = deltas.get(i);
+                ps.setLong(1, delta.getLikeCount());
+                ps.setLong(2, delta.getCommentCount());
+                ps.setInt(3, delta.getPostId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                insert(deltas.get(i));
+            }
+        }
+    }
+
+    private void insert(PostCountDelta delta) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, delta.getLikeCount(), delta.getCommentCount(), delta.getPostId());
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 먼저 row 를 만든 경우
+            jdbcTemplate.update(INCREASE_SQL, delta.getLikeCount(), delta.getCommentCount(), delta.getPostId());
+        }
+    }
+}
@@ -1,19 +1,122 @@
 package com.ddangme.sns.repository;
 
-import com.ddangme.sns.model.User;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.TimelinePost;
 import com.ddangme.sns.model.entity.PostEntity;
 import com.ddangme.sns.model.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PostEntityRepository extends JpaRepository<PostEntity, Integer> {
 
+    // 피드 조회는 한 번의 query 로 PostSummary 를 바로 만든다. 영속성 컨텍스트에 entity 가 올라가지 않는다.
+    String SELECT_SUMMARY = "SELECT new com.ddangme.sns.model.PostSummary(" +
+            "entity.id, entity.title, entity.body, writer.id, writer.userName, writer.role, entity.registeredAt, entity.updatedAt) " +
+            "FROM PostEntity entity JOIN entity.user writer ";
+
     Page<PostEntity> findAllByUser(UserEntity user, Pageable pageable);
 
     Page<PostEntity> findAllByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query(value = SELECT_SUMMARY,
+            countQuery = "SELECT COUNT(entity) FROM PostEntity entity")
+    Page<PostSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SELECT_SUMMARY + "WHERE entity.user.id = :userId",
+            countQuery = "SELECT COUNT(entity) FROM PostEntity entity WHERE entity.user.id = :userId")
+    Page<PostSummary> findAllSummariesByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    // 타임라인을 새로 적재할 때 내 post 와 팔로우한 유저의 최근 post 를 읽는다.
+    @Query("SELECT new com.ddangme.sns.model.TimelinePost(entity.id, entity.registeredAt) FROM PostEntity entity " +
+            "WHERE entity.user.id = :userId " +
+            "OR entity.user.id IN (SELECT follow.followeeId FROM FollowEntity follow WHERE follow.followerId = :userId) " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    List<TimelinePost> findTimelinePosts(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "WHERE entity.id IN :ids " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    List<PostSummary> findAllSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // 타임라인의 post id 와, fan-out 하지 않는 유저(userIds)의 post 를 한 번에 읽는다.
+    @Query(SELECT_SUMMARY +
+            "WHERE entity.id IN :ids OR writer.id IN :userIds " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    List<PostSummary> findTimeline(@Param("ids") Collection<Integer> ids, @Param("userIds") Collection<Integer> userIds, Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "WHERE entity.id IN :ids " +
+            "OR (writer.id IN :userIds " +
+            "AND (entity.registeredAt < :registeredAt OR (entity.registeredAt = :registeredAt AND entity.id < :id))) " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    List<PostSummary> findTimeline(@Param("ids") Collection<Integer> ids, @Param("userIds") Collection<Integer> userIds,
+                                   @Param("registeredAt") Timestamp registeredAt, @Param("id") Integer id, Pageable pageable);
+
+    // 조건부 GET 에서 post 를 읽지 않고 version 만 확인한다.
+    @Query("SELECT entity.version FROM PostEntity entity WHERE entity.id = :postId")
+    Optional<Long> findVersionById(@Param("postId") Integer postId);
+
+    @Query("SELECT entity.user.id FROM PostEntity entity WHERE entity.id = :postId")
+    Optional<Integer> findUserIdById(@Param("postId") Integer postId);
+
+    // 작성자 확인과 수정을 한 문장으로 처리한다. 작성자가 아니거나 post 가 없으면 0 을 돌려준다.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PostEntity entity SET entity.title = :title, entity.body = :body, entity.updatedAt = CURRENT_TIMESTAMP, " +
+            "entity.version = entity.version + 1 " +
+            "WHERE entity.id = :postId AND entity.user.id = :userId AND entity.deletedAt IS NULL")
+    int modifyByIdAndUserId(@Param("postId") Integer postId, @Param("userId") Integer userId,
+                            @Param("title") String title, @Param("body") String body);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PostEntity entity SET entity.deletedAt = CURRENT_TIMESTAMP " +
+            "WHERE entity.id = :postId AND entity.user.id = :userId AND entity.deletedAt IS NULL")
+    int deleteByIdAndUserId(@Param("postId") Integer postId, @Param("userId") Integer userId);
+
+    @Query("SELECT entity.id FROM PostEntity entity WHERE entity.id > :lastId ORDER BY entity.id")
+    List<Integer> findIdsAfter(@Param("lastId") Integer lastId, Pageable pageable);
+
+    // keyset 페이징: OFFSET 과 COUNT(*) 없이 (registered_at, id) 인덱스를 따라 읽는다.
+    @Query(SELECT_SUMMARY +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<PostSummary> findAllByCursor(Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "WHERE entity.registeredAt < :registeredAt OR (entity.registeredAt = :registeredAt AND entity.id < :id) " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<PostSummary> findAllByCursor(@Param("registeredAt") Timestamp registeredAt, @Param("id") Integer id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "WHERE entity.user.id = :userId " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<PostSummary> findAllByUserIdAndCursor(@Param("userId") Integer userId, Pageable pageable);
+
+    // 태그별 피드는 post_hashtag 의 (tag, registered_at, post_id) 인덱스 순서로 읽는다.
+    @Query(SELECT_SUMMARY + ", HashtagEntity hashtag " +
+            "WHERE hashtag.postId = entity.id AND hashtag.tag = :tag " +
+            "ORDER BY hashtag.registeredAt DESC, hashtag.postId DESC")
+    Slice<PostSummary> findAllByTagAndCursor(@Param("tag") String tag, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + ", HashtagEntity hashtag " +
+            "WHERE hashtag.postId = entity.id AND hashtag.tag = :tag " +
+            "AND (hashtag.registeredAt < :registeredAt OR (hashtag.registeredAt = :registeredAt AND hashtag.postId < :id)) " +
+            "ORDER BY hashtag.registeredAt DESC, hashtag.postId DESC")
+    Slice<PostSummary> findAllByTagAndCursor(@Param("tag") String tag, @Param("registeredAt") Timestamp registeredAt, @Param("id") Integer id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "WHERE entity.user.id = :userId " +
+            "AND (entity.registeredAt < :registeredAt OR (entity.registeredAt = :registeredAt AND entity.id < :id)) " +
+            "ORDER BY entity.registeredAt DESC, entity.id DESC")
+    Slice<PostSummary> findAllByUserIdAndCursor(@Param("userId") Integer userId, @Param("registeredAt") Timestamp registeredAt, @Param("id") Integer id, Pageable pageable);
 }
@@ -0,0 +1,267 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 리액티브 조회 서버가 쓰는 R2DBC 조회. JPA 와 같은 테이블을 읽지만 커넥션은 따로 둔다.
+// ConnectionFactory 를 bean 으로 노출하면 Boot 가 data.sql 을 R2DBC 로 실행하려 하므로 여기서만 들고 있는다.
+// 결과는 row 를 읽는 대로 흘려보내고, 구독자가 요청한 만큼만 DB 에서 읽는다.
+@Repository
+@ConditionalOnProperty(name = "reactive.enabled", havingValue = "true")
+public class ReactiveReadRepository {
+
+    private static final String SELECT_SUMMARY = "SELECT post.post_id, post.title, post.body, writer.user_id, writer.user_name, writer.role, " +
+            "post.registered_at, post.updated_at " +
+            "FROM post JOIN users writer ON writer.user_id = post.user_id " +
+            "WHERE post.deleted_at IS NULL ";
+
+    // Pageable 의 sort 로 받을 수 있는 속성. JPA 처럼 entity 의 속성 이름으로 받는다.
+    private static final Map<String, String> POST_COLUMNS = Map.of(
+            "id", "post.post_id",
+            "title", "post.title",
+            "registeredAt", "post.registered_at",
+            "updatedAt", "post.updated_at");
+
+    private static final Map<String, String> COMMENT_COLUMNS = Map.of(
+            "id", "comment.comment_id",
+            "comment", "comment.comment",
+            "registeredAt", "comment.registered_at",
+            "updatedAt", "comment.updated_at");
+
+    private static final Map<String, String> ALARM_COLUMNS = Map.of(
+            "id", "alarm_id",
+            "alarmType", "alarm_type",
+            "registeredAt", "registered_at",
+            "updatedAt", "updated_at");
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveReadRepository(@Value("${reactive.r2dbc.url}") String url,
+                                  @Value("${reactive.r2dbc.username}") String username,
+                                  @Value("${reactive.r2dbc.password}") String password,
+                                  @Value("${reactive.r2dbc.pool-size}") int poolSize,
+                                  ObjectMapper objectMapper) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-read")
+                .initialSize(1)
+                .maxSize(poolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.objectMapper = objectMapper;
+    }
+
+    public Flux<PostSummary> findAllSummaries(Pageable pageable) {
+        return databaseClient.sql(SELECT_SUMMARY +
+                        orderBy(pageable.getSort(), POST_COLUMNS, "post.registered_at DESC, post.post_id DESC") +
+                        "LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(this::toPostSummary)
+                .all();
+    }
+
+    public Mono<Long> countPosts() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM post WHERE deleted_at IS NULL")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Flux<PostSummary> findAllSummariesByUserId(Integer userId, Pageable pageable) {
+        return databaseClient.sql(SELECT_SUMMARY + "AND post.user_id = :userId " +
+                        orderBy(pageable.getSort(), POST_COLUMNS, "post.registered_at DESC, post.post_id DESC") +
+                        "LIMIT :limit OFFSET :offset")
+                .bind("userId", userId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(this::toPostSummary)
+                .all();
+    }
+
+    public Mono<Long> countPostsByUserId(Integer userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM post WHERE user_id = :userId AND deleted_at IS NULL")
+                .bind("userId", userId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    // 순서는 보장하지 않는다.
+    public Flux<PostSummary> findAllSummariesByIdIn(Collection<Integer> postIds) {
+        return databaseClient.sql(SELECT_SUMMARY + "AND post.post_id IN (:postIds)")
+                .bind("postIds", postIds)
+                .map(this::toPostSummary)
+                .all();
+    }
+
+    // (user_id, post_id) unique 인덱스를 탄다.
+    public Flux<Integer> findLikedPostIds(Integer userId, Collection<Integer> postIds) {
+        return databaseClient.sql("SELECT post_id FROM post_like WHERE user_id = :userId AND post_id IN (:postIds) AND deleted_at IS NULL")
+                .bind("userId", userId)
+                .bind("postIds", postIds)
+                .map(row -> row.get("post_id", Integer.class))
+                .all();
+    }
+
+    public Mono<Boolean> existsPost(Integer postId) {
+        return databaseClient.sql("SELECT post_id FROM post WHERE post_id = :postId AND deleted_at IS NULL")
+                .bind("postId", postId)
+                .map(row -> row.get("post_id", Integer.class))
+                .first()
+                .hasElement();
+    }
+
+    public Flux<Comment> findAllCommentsByPostId(Integer postId, Pageable pageable) {
+        return databaseClient.sql("SELECT comment.comment_id, comment.post_id, comment.comment, writer.user_name, " +
+                        "comment.registered_at, comment.updated_at, comment.deleted_at " +
+                        "FROM comment JOIN users writer ON writer.user_id = comment.user_id " +
+                        "WHERE comment.post_id = :postId AND comment.deleted_at IS NULL " +
+                        orderBy(pageable.getSort(), COMMENT_COLUMNS, "comment.registered_at DESC, comment.comment_id DESC") +
+                        "LIMIT :limit OFFSET :offset")
+                .bind("postId", postId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(row -> new Comment(
+                        row.get("comment_id", Integer.class),
+                        row.get("post_id", Integer.class),
+                        row.get("comment", String.class),
+                        row.get("user_name", String.class),
+                        timestamp(row, "registered_at"),
+                        timestamp(row, "updated_at"),
+                        timestamp(row, "deleted_at")))
+                .all();
+    }
+
+    // post_id 인덱스만 읽는다. 댓글이 없으면 0
+    public Mono<Integer> findLastCommentIdByPostId(Integer postId) {
+        return databaseClient.sql("SELECT COALESCE(MAX(comment_id), 0) AS last_id FROM comment WHERE post_id = :postId")
+                .bind("postId", postId)
+                .map(row -> row.get("last_id", Integer.class))
+                .one();
+    }
+
+    public Mono<Long> countCommentsByPostId(Integer postId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM comment WHERE post_id = :postId AND deleted_at IS NULL")
+                .bind("postId", postId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    public Flux<Alarm> findAllAlarmsByUserId(Integer userId, Pageable pageable) {
+        return databaseClient.sql("SELECT alarm_id, alarm_type, args, event_count, registered_at, updated_at, deleted_at " +
+                        "FROM alarm WHERE user_id = :userId AND deleted_at IS NULL " +
+                        orderBy(pageable.getSort(), ALARM_COLUMNS, "registered_at DESC, alarm_id DESC") +
+                        "LIMIT :limit OFFSET :offset")
+                .bind("userId", userId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(row -> {
+                    Integer eventCount = row.get("event_count", Integer.class);
+                    return new Alarm(
+                            row.get("alarm_id", Integer.class),
+                            AlarmType.valueOf(row.get("alarm_type", String.class)),
+                            toArgs(row.get("args")),
+                            eventCount == null ? 1 : eventCount,
+                            timestamp(row, "registered_at"),
+                            timestamp(row, "updated_at"),
+                            timestamp(row, "deleted_at"));
+                })
+                .all();
+    }
+
+    public Mono<Long> countAlarmsByUserId(Integer userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM alarm WHERE user_id = :userId AND deleted_at IS NULL")
+                .bind("userId", userId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    @PreDestroy
+    void close() {
+        connectionPool.dispose();
+    }
+
+    private PostSummary toPostSummary(Row row) {
+        return new PostSummary(
+                row.get("post_id", Integer.class),
+                row.get("title", String.class),
+                row.get("body", String.class),
+                row.get("user_id", Integer.class),
+                row.get("user_name", String.class),
+                UserRole.valueOf(row.get("role", String.class)),
+                timestamp(row, "registered_at"),
+                timestamp(row, "updated_at"));
+    }
+
+    // json column 은 드라이버에 따라 문자열이나 byte 로 읽힌다.
+    private AlarmArgs toArgs(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        String json;
+        if (value instanceof ByteBuffer) {
+            json = StandardCharsets.UTF_8.decode((ByteBuffer) value).toString();
+        } else if (value instanceof byte[]) {
+            json = new String((byte[]) value, StandardCharsets.UTF_8);
+        } else {
+            json = value.toString();
+        }
+
+        try {
+            return objectMapper.readValue(json, AlarmArgs.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read alarm args", e);
+        }
+    }
+
+    // 정렬 조건이 없으면 defaultOrder 로 정렬한다. 정렬할 수 없는 속성이면 JPA 처럼 예외를 던진다.
+    private static String orderBy(Sort sort, Map<String, String> columns, String defaultOrder) {
+        if (sort.isUnsorted()) {
+            return "ORDER BY " + defaultOrder + " ";
+        }
+
+        return sort.stream()
+                .map(order -> {
+                    String column = columns.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("No sortable property " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", "ORDER BY ", " "));
+    }
+
+    private static Timestamp timestamp(Row row, String column) {
+        LocalDateTime value = row.get(column, LocalDateTime.class);
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+}
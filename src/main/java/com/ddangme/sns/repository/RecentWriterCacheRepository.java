@@ -0,0 +1,35 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// 최근에 쓰기를 한 유저. 조회를 replica 로 나눌 때(ReplicaDataSourceConfig) 이 유저의 조회는 primary 에서 읽어서
+// 방금 쓴 post, 댓글, 팔로우, 읽음 처리가 replica 지연 때문에 안 보이는 일이 없게 한다.
+// 인스턴스마다 따로 기억하므로, 쓰기와 조회가 다른 인스턴스로 가면 replica 에서 읽을 수 있다.
+@Repository
+public class RecentWriterCacheRepository {
+
+    private final Cache<Integer, Boolean> writerCache;
+
+    public RecentWriterCacheRepository(@Value("${replica.read-your-writes.maximum-size}") long maximumSize,
+                                       @Value("${replica.read-your-writes.window-ms}") long windowMs) {
+        this.writerCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .build();
+    }
+
+    // 커밋된 뒤부터 window-ms 동안 primary 에서 읽는다.
+    public void written(Integer userId) {
+        TransactionUtils.afterCommit(() -> writerCache.put(userId, Boolean.TRUE));
+    }
+
+    public boolean isRecent(Integer userId) {
+        return writerCache.getIfPresent(userId) != null;
+    }
+}
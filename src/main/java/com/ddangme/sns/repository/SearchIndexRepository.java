@@ -0,0 +1,373 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.SearchDocument;
+import com.ddangme.sns.model.SearchResult;
+import com.ddangme.sns.model.SearchType;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// post 제목/본문과 댓글의 역색인. 로컬 디스크(index-path)에 저장하고, 비어있으면 메모리에만 둔다.
+// 쓰기는 SearchService 의 색인 스레드 하나에서만 하고, 검색은 refresh 된 searcher 로 여러 스레드에서 한다.
+// 디스크에서는 index-path 아래 generation 디렉터리 하나가 현재 색인이다. 재색인은 새 generation 에 만들어서 바꿔 끼운다.
+@Repository
+public class SearchIndexRepository {
+
+    public static final String TITLE = "title";
+    public static final String BODY = "body";
+
+    private static final String KEY = "key";
+    private static final String SORT_KEY = "sortKey";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String POST_ID = "postId";
+    private static final String SNIPPET = "snippet";
+    private static final int SNIPPET_LENGTH = 200;
+
+    private static final String GENERATION_PREFIX = "generation-";
+    // 마지막 commit 이 정상 종료 때 된 것인지. 아니면 그 뒤의 변경을 잃었을 수 있다.
+    private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+    private static final String COMMITTED_AT = "committedAt";
+
+    // 점수가 같으면 key 순서로 정렬해서 searchAfter 위치가 항상 하나로 정해지도록 한다.
+    private static final Sort SORT = new Sort(SortField.FIELD_SCORE, new SortField(SORT_KEY, SortField.Type.LONG));
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private final Path indexPath;
+
+    // 바꿔 끼우는 동안 닫히는 색인을 검색이 읽지 않게 한다.
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Index current;
+    private final boolean cleanShutdown;
+    private long lastGeneration;
+
+    public SearchIndexRepository(@Value("${search.index-path}") String indexPath) {
+        this.indexPath = indexPath.isBlank() ? null : Path.of(indexPath);
+
+        try {
+            this.current = openLatest();
+            this.cleanShutdown = Boolean.parseBoolean(current.commitData().get(CLEAN_SHUTDOWN));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open search index " + indexPath, e);
+        }
+    }
+
+    public Analyzer getAnalyzer() {
+        return analyzer;
+    }
+
+    public void saveAll(Collection<SearchDocument> documents) throws IOException {
+        current.saveAll(documents);
+    }
+
+    // post 와 그 post 의 댓글을 함께 지운다.
+    public void deleteByPostIds(Collection<Integer> postIds) throws IOException {
+        current.writer.deleteDocuments(postIds.stream().map(postId -> new Term(POST_ID, String.valueOf(postId))).toArray(Term[]::new));
+    }
+
+    public void deleteComments(Collection<Integer> commentIds) throws IOException {
+        current.writer.deleteDocuments(commentIds.stream().map(commentId -> new Term(KEY, key(SearchType.COMMENT, commentId))).toArray(Term[]::new));
+    }
+
+    // 새 generation 에 loader 가 넘겨주는 문서로 색인을 만들고, 다 만들어지면 현재 색인과 바꾼다.
+    // 만드는 동안 검색은 기존 색인을 읽는다. 실패하면 새 generation 을 지우고 기존 색인을 그대로 쓴다.
+    public void rebuild(DocumentLoader loader) throws IOException {
+        Index fresh = open(newGeneration());
+
+        try {
+            loader.load(fresh::saveAll);
+            fresh.commit(false);
+            fresh.searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            fresh.closeAndDelete();
+            throw e;
+        }
+
+        Index previous;
+        swapLock.writeLock().lock();
+        try {
+            previous = current;
+            current = fresh;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        previous.closeAndDelete();
+    }
+
+    public void commit() throws IOException {
+        current.commit(false);
+    }
+
+    // 마지막 refresh 이후의 변경을 검색에 반영한다.
+    public void refresh() throws IOException {
+        swapLock.readLock().lock();
+        try {
+            current.searcherManager.maybeRefresh();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public int count() {
+        swapLock.readLock().lock();
+        try {
+            return current.writer.getDocStats().numDocs;
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // 시작할 때 연 색인이 정상 종료 때 commit 된 것인지. false 면 마지막 commit 이후의 변경을 잃었을 수 있다.
+    public boolean isCleanShutdown() {
+        return cleanShutdown;
+    }
+
+    // afterScore, afterSortKey 는 이전 페이지 마지막 결과의 위치. 첫 페이지면 null
+    public List<SearchResult> search(Query query, Float afterScore, Long afterSortKey, int size) throws IOException {
+        swapLock.readLock().lock();
+        try {
+            return search(current.searcherManager, query, afterScore, afterSortKey, size);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public static long sortKey(SearchType type, Integer id) {
+        return ((long) type.ordinal() << 32) | id;
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        current.commit(true);
+        current.close();
+    }
+
+    private List<SearchResult> search(SearcherManager searcherManager, Query query, Float afterScore, Long afterSortKey,
+                                      int size) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try {
+            FieldDoc after = afterScore == null ? null
+                    : new FieldDoc(Integer.MAX_VALUE, afterScore, new Object[]{afterScore, afterSortKey});
+            TopFieldDocs top = searcher.searchAfter(after, query, size, SORT, true);
+            StoredFields storedFields = searcher.storedFields();
+
+            List<SearchResult> results = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                Document document = storedFields.document(scoreDoc.doc);
+                results.add(new SearchResult(
+                        SearchType.valueOf(document.get(TYPE)),
+                        document.getField(ID).numericValue().intValue(),
+                        document.getField(POST_ID).numericValue().intValue(),
+                        document.get(TITLE),
+                        document.get(SNIPPET),
+                        scoreDoc.score
+                ));
+            }
+
+            return results;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // 가장 최근 generation 을 열고 나머지(재색인 중 중단된 것 포함)는 지운다.
+    private Index openLatest() throws IOException {
+        if (indexPath == null) {
+            return open(null);
+        }
+
+        Files.createDirectories(indexPath);
+        deleteSingleDirectoryLayout();
+
+        List<Path> generations;
+        try (Stream<Path> children = Files.list(indexPath)) {
+            generations = children
+                    .filter(child -> Files.isDirectory(child) && child.getFileName().toString().matches(GENERATION_PREFIX + "\\d+"))
+                    .sorted(Comparator.comparing((Path child) -> child.getFileName().toString()).reversed())
+                    .collect(Collectors.toList());
+        }
+
+        Path latest = null;
+        for (Path generation : generations) {
+            if (latest == null && hasCommit(generation)) {
+                latest = generation;
+            } else {
+                deleteRecursively(generation);
+            }
+        }
+
+        if (latest == null) {
+            return open(newGeneration());
+        }
+
+        lastGeneration = Long.parseLong(latest.getFileName().toString().substring(GENERATION_PREFIX.length()));
+        return open(latest);
+    }
+
+    // 이름 순서가 생성 순서와 같도록 자릿수를 맞추고, 같은 ms 에 만들어도 겹치지 않게 한다.
+    private Path newGeneration() {
+        if (indexPath == null) {
+            return null;
+        }
+
+        lastGeneration = Math.max(System.currentTimeMillis(), lastGeneration + 1);
+        return indexPath.resolve(String.format("%s%019d", GENERATION_PREFIX, lastGeneration));
+    }
+
+    private Index open(Path generation) throws IOException {
+        Directory directory = generation == null ? new ByteBuffersDirectory() : FSDirectory.open(generation);
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        return new Index(generation, directory, writer, new SearcherManager(writer, null));
+    }
+
+    // generation 을 쓰기 전에는 index-path 에 바로 색인 파일을 두었다. 남아 있으면 지우고 새로 만든다.
+    private void deleteSingleDirectoryLayout() throws IOException {
+        if (!hasCommit(indexPath)) {
+            return;
+        }
+
+        try (Stream<Path> children = Files.list(indexPath)) {
+            for (Path child : children.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                Files.deleteIfExists(child);
+            }
+        }
+    }
+
+    private static boolean hasCommit(Path generation) throws IOException {
+        try (Directory directory = FSDirectory.open(generation)) {
+            return DirectoryReader.indexExists(directory);
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path child : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(child);
+            }
+        }
+    }
+
+    private static Document toDocument(SearchDocument source) {
+        Document document = new Document();
+
+        document.add(new StringField(KEY, key(source.getType(), source.getId()), Field.Store.NO));
+        document.add(new NumericDocValuesField(SORT_KEY, sortKey(source.getType(), source.getId())));
+        document.add(new StringField(POST_ID, String.valueOf(source.getPostId()), Field.Store.NO));
+        document.add(new StoredField(POST_ID, source.getPostId()));
+        document.add(new StoredField(ID, source.getId()));
+        document.add(new StoredField(TYPE, source.getType().name()));
+
+        if (source.getTitle() != null) {
+            document.add(new TextField(TITLE, source.getTitle(), Field.Store.YES));
+        }
+
+        if (source.getBody() != null) {
+            document.add(new TextField(BODY, source.getBody(), Field.Store.NO));
+            document.add(new StoredField(SNIPPET, source.getBody().length() > SNIPPET_LENGTH
+                    ? source.getBody().substring(0, SNIPPET_LENGTH) : source.getBody()));
+        }
+
+        return document;
+    }
+
+    private static String key(SearchType type, Integer id) {
+        return type.name() + ":" + id;
+    }
+
+    @FunctionalInterface
+    public interface DocumentLoader {
+
+        void load(DocumentSink sink) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface DocumentSink {
+
+        void saveAll(Collection<SearchDocument> documents) throws IOException;
+    }
+
+    private static class Index {
+
+        private final Path generation;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        private Index(Path generation, Directory directory, IndexWriter writer, SearcherManager searcherManager) {
+            this.generation = generation;
+            this.directory = directory;
+            this.writer = writer;
+            this.searcherManager = searcherManager;
+        }
+
+        private void saveAll(Collection<SearchDocument> documents) throws IOException {
+            for (SearchDocument document : documents) {
+                writer.updateDocument(new Term(KEY, key(document.getType(), document.getId())), toDocument(document));
+            }
+        }
+
+        private void commit(boolean shutdown) throws IOException {
+            writer.setLiveCommitData(Map.of(
+                    CLEAN_SHUTDOWN, String.valueOf(shutdown),
+                    COMMITTED_AT, String.valueOf(System.currentTimeMillis())).entrySet());
+            writer.commit();
+        }
+
+        private Map<String, String> commitData() {
+            Map<String, String> data = new HashMap<>();
+            Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+
+            if (live != null) {
+                live.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+            }
+
+            return data;
+        }
+
+        private void close() throws IOException {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+
+        private void closeAndDelete() throws IOException {
+            close();
+
+            if (generation != null) {
+                deleteRecursively(generation);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.SearchDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 검색 색인을 다시 만들 때 삭제되지 않은 post, 댓글을 pk 순서로 나눠서 읽는다.
+@Repository
+@RequiredArgsConstructor
+public class SearchJdbcRepository {
+
+    private static final String POST_SQL = "SELECT post_id, title, body FROM post " +
+            "WHERE post_id > ? AND deleted_at IS NULL ORDER BY post_id LIMIT ?";
+
+    private static final String COMMENT_SQL = "SELECT comment_id, post_id, comment FROM comment " +
+            "WHERE comment_id > ? AND deleted_at IS NULL ORDER BY comment_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<SearchDocument> findPostsAfter(Integer lastPostId, int limit) {
+        return jdbcTemplate.query(POST_SQL, (rs, rowNum) ->
+                SearchDocument.ofPost(rs.getInt("post_id"), rs.getString("title"), rs.getString("body")), lastPostId, limit);
+    }
+
+    public List<SearchDocument> findCommentsAfter(Integer lastCommentId, int limit) {
+        return jdbcTemplate.query(COMMENT_SQL, (rs, rowNum) ->
+                SearchDocument.ofComment(rs.getInt("comment_id"), rs.getInt("post_id"), rs.getString("comment")), lastCommentId, limit);
+    }
+}
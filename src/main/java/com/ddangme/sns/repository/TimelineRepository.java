@@ -0,0 +1,194 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.TimelinePost;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// 유저별 홈 타임라인. 최근 post id 와 작성 시각을 capacity 개까지 ring buffer 로 들고 있는다.
+// ring 은 적재한 만큼만 잡고 push 될 때 capacity 까지 늘린다. 모든 타임라인의 ring 크기 합이 maximum-post-ids 를 넘으면 오래된 타임라인부터 버린다.
+// 인스턴스마다 따로 fan-out 을 받으므로, 다른 인스턴스에서 작성된 post 는 expired-time-ms 가 지나 다시 적재될 때 반영된다.
+@Repository
+public class TimelineRepository implements MeterBinder {
+
+    private static final int INITIAL_RING_SIZE = 16;
+
+    private final Cache<Integer, Timeline> timelineCache;
+    private final int capacity;
+
+    public TimelineRepository(@Value("${timeline.capacity}") int capacity,
+                              @Value("${timeline.maximum-post-ids}") long maximumPostIds,
+                              @Value("${timeline.expired-time-ms}") long expiredTimeMs) {
+        this.capacity = capacity;
+        this.timelineCache = Caffeine.newBuilder()
+                .maximumWeight(maximumPostIds)
+                .weigher((Integer userId, Timeline timeline) -> timeline.ringSize())
+                .expireAfter(new LoadedExpiry(TimeUnit.MILLISECONDS.toNanos(expiredTimeMs)))
+                .recordStats()
+                .build();
+    }
+
+    // loader 는 최신순 post 를 capacity 개까지 돌려준다.
+    public Timeline get(Integer userId, Function<Integer, List<TimelinePost>> loader) {
+        return timelineCache.get(userId, key -> {
+            List<TimelinePost> posts = loader.apply(key);
+            Timeline timeline = new Timeline(capacity, posts.size());
+
+            for (int i = posts.size() - 1; i >= 0; i--) {
+                timeline.push(posts.get(i).getPostId(), posts.get(i).getRegisteredAt());
+            }
+
+            return timeline;
+        });
+    }
+
+    // 적재되지 않은 타임라인은 다음 조회 때 DB 에서 새로 만들므로 건너뛴다.
+    // ring 이 늘어나면 weight 를 다시 계산하도록 compute 로 넣는다.
+    public void push(Integer userId, Integer postId, Timestamp registeredAt) {
+        timelineCache.asMap().computeIfPresent(userId, (key, timeline) -> {
+            timeline.push(postId, registeredAt);
+            return timeline;
+        });
+    }
+
+    public void evict(Integer userId) {
+        timelineCache.invalidate(userId);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 모든 타임라인의 ring 크기 합
+    long weightedSize() {
+        timelineCache.cleanUp();
+        return timelineCache.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, timelineCache, "timeline");
+    }
+
+    public static class Timeline {
+
+        private final int capacity;
+        private int[] postIds;
+        // 작성 시각 (epoch microsecond). DB 의 registered_at 과 같은 정밀도로 비교한다.
+        private long[] registeredAts;
+        // 다음에 쓸 위치
+        private int head = 0;
+        private int size = 0;
+
+        private Timeline(int capacity, int expectedSize) {
+            int ringSize = Math.min(capacity, Math.max(INITIAL_RING_SIZE, expectedSize));
+            this.capacity = capacity;
+            this.postIds = new int[ringSize];
+            this.registeredAts = new long[ringSize];
+        }
+
+        // 가득 차면 capacity 까지 늘리고, 그 뒤에는 가장 오래된 post 를 덮어쓴다.
+        public synchronized void push(int postId, Timestamp registeredAt) {
+            if (size == postIds.length && postIds.length < capacity) {
+                grow();
+            }
+
+            postIds[head] = postId;
+            registeredAts[head] = toMicros(registeredAt);
+            head = (head + 1) % postIds.length;
+            size = Math.min(size + 1, postIds.length);
+        }
+
+        // 피드와 같이 (registeredAt, id) 가 cursor 보다 앞선 post id 를 최신순으로 limit 개까지 돌려준다.
+        // fan-out 순서가 작성 순서와 다를 수 있으므로 ring 순서가 아니라 작성 시각으로 정렬한다.
+        public synchronized List<Integer> before(Cursor cursor, int limit) {
+            long cursorAt = cursor == null ? Long.MAX_VALUE : toMicros(cursor.getRegisteredAt());
+            List<long[]> candidates = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                int index = (head - 1 - i + postIds.length) % postIds.length;
+                long registeredAt = registeredAts[index];
+                int postId = postIds[index];
+
+                if (cursor == null || registeredAt < cursorAt || (registeredAt == cursorAt && postId < cursor.getId())) {
+                    candidates.add(new long[]{registeredAt, postId});
+                }
+            }
+
+            candidates.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+
+            List<Integer> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (int i = 0; i < candidates.size() && result.size() < limit; i++) {
+                result.add((int) candidates.get(i)[1]);
+            }
+
+            return result;
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        synchronized int ringSize() {
+            return postIds.length;
+        }
+
+        // 가득 찬 ring 은 head 가 가장 오래된 위치이므로 오래된 순으로 펼쳐서 옮긴다.
+        private void grow() {
+            int length = Math.min(capacity, postIds.length * 2);
+            int[] grownPostIds = new int[length];
+            long[] grownRegisteredAts = new long[length];
+
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % postIds.length;
+                grownPostIds[i] = postIds[index];
+                grownRegisteredAts[i] = registeredAts[index];
+            }
+
+            postIds = grownPostIds;
+            registeredAts = grownRegisteredAts;
+            head = size;
+        }
+
+        private static long toMicros(Timestamp timestamp) {
+            return ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant());
+        }
+    }
+
+    // push 로 값이 바뀌어도 만료 시점은 적재한 때부터 계산한다.
+    @AllArgsConstructor
+    private static class LoadedExpiry implements Expiry<Integer, Timeline> {
+
+        private final long expiredNanos;
+
+        @Override
+        public long expireAfterCreate(Integer key, Timeline value, long currentTime) {
+            return expiredNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer key, Timeline value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Integer key, Timeline value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
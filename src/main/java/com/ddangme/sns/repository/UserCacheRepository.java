@@ -0,0 +1,63 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// JwtTokenFilter 가 매 요청마다 users 테이블을 조회하지 않도록 principal 을 로컬 캐시에 보관한다.
+@Slf4j
+@Repository
+public class UserCacheRepository implements MeterBinder {
+
+    private final Cache<String, User> userCache;
+
+    public UserCacheRepository(@Value("${cache.user.maximum-size}") long maximumSize,
+                               @Value("${cache.user.expired-time-ms}") long expiredTimeMs) {
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expiredTimeMs))
+                .recordStats()
+                .build();
+    }
+
+    // 같은 userName 에 대한 동시 요청은 한 번만 loader 를 호출한다. loader 가 예외를 던지면 캐시하지 않는다.
+    public User getUser(String userName, Function<String, User> loader) {
+        return userCache.get(userName, loader);
+    }
+
+    public void evict(Integer userId, String userName) {
+        if (userName != null) {
+            userCache.invalidate(userName);
+        }
+
+        // userName 이 변경된 경우 이전 key 로 남아있는 항목도 제거한다.
+        if (userId != null) {
+            userCache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+        }
+
+        log.debug("Evict user cache. userId: {}, userName: {}", userId, userName);
+    }
+
+    public CacheStats stats() {
+        return userCache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, userCache, "user");
+    }
+
+    public long size() {
+        return userCache.estimatedSize();
+    }
+}
@@ -0,0 +1,197 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.AlarmUpdate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+
+// 같은 유저에게 가는 같은 AlarmType, targetId 의 알람을 window 안에서 하나의 묶음 알람으로 합친다.
+// 묶음 알람의 위치(alarm_id)는 인스턴스 메모리에만 두므로, 인스턴스가 여러 대면 인스턴스마다 하나씩 묶음이 생길 수 있다.
+// 읽음 처리 때 유저의 묶음을 한 번에 버릴 수 있도록 받는 유저별로 모아둔다. 묶음 수가 maximum-size 를 넘으면 오래된 유저부터 버린다.
+@Component
+public class AlarmCoalescer {
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int recentActorSize;
+
+    // 유저별 묶음은 바꿀 때마다 새 Map 으로 교체해서 weigher 가 묶음 수를 다시 센다.
+    private final Cache<Integer, Map<AlarmKey, Aggregate>> aggregates;
+
+    public AlarmCoalescer(@Value("${alarm.coalesce.enabled}") boolean enabled,
+                          @Value("${alarm.coalesce.window-ms}") long windowMs,
+                          @Value("${alarm.coalesce.recent-actor-size}") int recentActorSize,
+                          @Value("${alarm.coalesce.maximum-size}") long maximumSize) {
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.recentActorSize = recentActorSize;
+        // 마지막 변경 뒤 window 가 지나면 그 유저의 묶음은 모두 만료된 것이다.
+        this.aggregates = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .<Integer, Map<AlarmKey, Aggregate>>weigher((receiverUserId, byKey) -> byKey.size())
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .build();
+    }
+
+    // AlarmWriter 의 쓰기 스레드에서만 호출된다.
+    public Result coalesce(List<AlarmEvent> events) {
+        if (!enabled) {
+            return new Result(events, List.of());
+        }
+
+        Map<AlarmKey, List<AlarmEvent>> groups = new LinkedHashMap<>();
+        List<AlarmEvent> inserts = new ArrayList<>();
+        List<AlarmUpdate> updates = new ArrayList<>();
+
+        for (AlarmEvent event : events) {
+            if (event.getArgs() == null || event.getArgs().getTargetId() == null) {
+                inserts.add(event);
+                continue;
+            }
+
+            groups.computeIfAbsent(AlarmKey.of(event), key -> new ArrayList<>()).add(event);
+        }
+
+        groups.forEach((key, group) -> {
+            AlarmEvent first = group.get(0);
+            AlarmEvent last = group.get(group.size() - 1);
+            Aggregate aggregate = get(key);
+
+            List<Integer> recentActors = mergeActors(aggregate == null ? List.of() : aggregate.getRecentActors(), group);
+            AlarmArgs args = new AlarmArgs(last.getArgs().getFromUserId(), key.getTargetId(), recentActors);
+
+            if (aggregate == null) {
+                inserts.add(new AlarmEvent(key.getReceiverUserId(), key.getAlarmType(), args, first.getRegisteredAt(), group.size()));
+                return;
+            }
+
+            int eventCount = aggregate.getEventCount() + group.size();
+            updates.add(new AlarmUpdate(aggregate.getAlarmId(), key.getReceiverUserId(), key.getAlarmType(), args,
+                    aggregate.getRegisteredAt(), group.size(), eventCount));
+            put(key, new Aggregate(aggregate.getAlarmId(), eventCount, recentActors, aggregate.getRegisteredAt(), aggregate.getExpiresAt()));
+        });
+
+        return new Result(inserts, updates);
+    }
+
+    // 새로 저장된 알람을 이후 이벤트가 묶일 대상으로 등록한다.
+    public void register(Integer alarmId, AlarmEvent event) {
+        if (!enabled || event.getArgs() == null || event.getArgs().getTargetId() == null) {
+            return;
+        }
+
+        List<Integer> recentActors = event.getArgs().getRecentFromUserIds() == null
+                ? List.of() : event.getArgs().getRecentFromUserIds();
+        put(AlarmKey.of(event), new Aggregate(alarmId, event.getEventCount(), recentActors, event.getRegisteredAt(),
+                System.currentTimeMillis() + windowMs));
+    }
+
+    // 저장에 실패했거나 삭제된 묶음 알람에는 더 이상 묶지 않는다.
+    public void invalidate(AlarmEvent event) {
+        if (event.getArgs() == null || event.getArgs().getTargetId() == null) {
+            return;
+        }
+
+        AlarmKey key = AlarmKey.of(event);
+        aggregates.asMap().computeIfPresent(key.getReceiverUserId(), (receiverUserId, byKey) -> {
+            Map<AlarmKey, Aggregate> changed = new HashMap<>(byKey);
+            changed.remove(key);
+            return changed.isEmpty() ? null : changed;
+        });
+    }
+
+    // 읽음 처리된 묶음 알람에 이벤트를 더하면 읽지 않은 알람으로 보이지 않으므로 새 묶음을 시작한다.
+    public void invalidate(Integer receiverUserId) {
+        aggregates.invalidate(receiverUserId);
+    }
+
+    // window 는 묶음 알람이 처음 만들어진 시점부터 계산한다.
+    private Aggregate get(AlarmKey key) {
+        Map<AlarmKey, Aggregate> byKey = aggregates.getIfPresent(key.getReceiverUserId());
+        Aggregate aggregate = byKey == null ? null : byKey.get(key);
+        return aggregate == null || aggregate.isExpired(System.currentTimeMillis()) ? null : aggregate;
+    }
+
+    // 만료된 묶음은 이때 같이 정리한다.
+    private void put(AlarmKey key, Aggregate aggregate) {
+        long now = System.currentTimeMillis();
+
+        aggregates.asMap().compute(key.getReceiverUserId(), (receiverUserId, byKey) -> {
+            Map<AlarmKey, Aggregate> changed = new HashMap<>();
+            if (byKey != null) {
+                byKey.forEach((k, v) -> {
+                    if (!v.isExpired(now)) {
+                        changed.put(k, v);
+                    }
+                });
+            }
+            changed.put(key, aggregate);
+            return changed;
+        });
+    }
+
+    private List<Integer> mergeActors(List<Integer> previous, List<AlarmEvent> group) {
+        LinkedHashSet<Integer> actors = new LinkedHashSet<>();
+
+        for (int i = group.size() - 1; i >= 0 && actors.size() < recentActorSize; i--) {
+            actors.add(group.get(i).getArgs().getFromUserId());
+        }
+
+        for (Integer actor : previous) {
+            if (actors.size() >= recentActorSize) {
+                break;
+            }
+            actors.add(actor);
+        }
+
+        return new ArrayList<>(actors);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+
+        private List<AlarmEvent> inserts;
+        private List<AlarmUpdate> updates;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class AlarmKey {
+
+        private final Integer receiverUserId;
+        private final AlarmType alarmType;
+        private final Integer targetId;
+
+        static AlarmKey of(AlarmEvent event) {
+            return new AlarmKey(event.getReceiverUserId(), event.getAlarmType(), event.getArgs().getTargetId());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Aggregate {
+
+        private final Integer alarmId;
+        private final int eventCount;
+        private final List<Integer> recentActors;
+        private final Timestamp registeredAt;
+        private final long expiresAt;
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -1,28 +1,245 @@
 package com.ddangme.sns.service;
 
+import com.ddangme.sns.controller.response.AlarmResponse;
 import com.ddangme.sns.exception.ErrorCode;
 import com.ddangme.sns.exception.SnsApplicationException;
 import com.ddangme.sns.model.Alarm;
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmSavedEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.entity.AlarmReadEntity;
 import com.ddangme.sns.model.entity.UserEntity;
 import com.ddangme.sns.repository.AlarmEntityRepository;
+import com.ddangme.sns.repository.AlarmJdbcRepository;
+import com.ddangme.sns.repository.AlarmReadEntityRepository;
+import com.ddangme.sns.repository.AlarmUnreadCacheRepository;
+import com.ddangme.sns.repository.EmitterRepository;
+import com.ddangme.sns.repository.RecentWriterCacheRepository;
 import com.ddangme.sns.repository.UserEntityRepository;
+import com.ddangme.sns.util.TransactionUtils;
+import com.ddangme.sns.util.WorkerThreads;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AlarmService {
 
+    private static final String ALARM_NAME = "alarm";
+
     private final UserEntityRepository userEntityRepository;
     private final AlarmEntityRepository alarmEntityRepository;
+    private final AlarmJdbcRepository alarmJdbcRepository;
+    private final AlarmReadEntityRepository alarmReadEntityRepository;
+    private final AlarmUnreadCacheRepository alarmUnreadCacheRepository;
+    private final AlarmWriter alarmWriter;
+    private final AlarmCoalescer alarmCoalescer;
+    private final EmitterRepository emitterRepository;
+    private final RecentWriterCacheRepository recentWriterCacheRepository;
+    private final WorkerThreads workerThreads;
+
+    // 느린 클라이언트에 쓰느라 AlarmWriter 나 스케줄러 스레드가 막히지 않도록 전송은 별도 스레드에서 한다.
+    // queue 가 가득 차면 전송을 버린다. 알람은 저장되어 있으므로 목록 조회나 재연결(Last-Event-ID) 때 받는다.
+    private ExecutorService pushExecutor;
+
+    @Value("${alarm.sse.push-threads}")
+    private Integer pushThreads;
+
+    @Value("${alarm.sse.push-queue-capacity}")
+    private Integer pushQueueCapacity;
+
+    @Value("${alarm.sse.timeout-ms}")
+    private Long sseTimeoutMs;
+
+    @Value("${alarm.sse.replay-size}")
+    private Integer replaySize;
 
+    @Value("${alarm.unread.maximum-count}")
+    private Integer unreadMaximumCount;
 
+    // 요청 트랜잭션이 커밋된 뒤에 AlarmWriter 의 queue 에 넣는다. 저장은 worker 스레드가 batch 로 처리한다.
+    public void send(AlarmType alarmType, Integer receiverUserId, AlarmArgs args) {
+        AlarmEvent event = AlarmEvent.of(receiverUserId, alarmType, args);
+        TransactionUtils.afterCommit(() -> alarmWriter.offer(event));
+    }
+
+    @Transactional(readOnly = true)
     public Page<Alarm> alarmList(Integer userId, Pageable pageable) {
         return alarmEntityRepository.findAllByUserId(userId, pageable).map(Alarm::fromEntity);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Alarm> alarmList(Integer userId, String cursor, int size) {
+        Pageable limit = Cursor.limit(size);
+
+        if (cursor == null) {
+            return alarmEntityRepository.findAllByUserIdAndCursor(userId, limit).map(Alarm::fromEntity);
+        }
+
+        Cursor position = Cursor.decode(cursor);
+        return alarmEntityRepository.findAllByUserIdAndCursor(userId, position.getRegisteredAt(), position.getId(), limit).map(Alarm::fromEntity);
+    }
+
+    // 캐시에 없을 때만 alarm 을 조회하고, 그마저도 maximum-count 개까지만 센다.
+    // 센 범위의 끝(lastAlarmId)을 같이 적재해서 이후에 저장된 알람만 캐시에서 더한다.
+    @Transactional(readOnly = true)
+    public long unreadCount(Integer userId) {
+        long count = alarmUnreadCacheRepository.getCount(userId, id -> {
+            Integer lastAlarmId = alarmEntityRepository.findMaxIdByUserId(id);
+            int last = lastAlarmId == null ? 0 : lastAlarmId;
+            return new AlarmUnreadCacheRepository.UnreadCount(
+                    alarmJdbcRepository.countUnread(id, lastReadAlarmId(id), last, unreadMaximumCount), last);
+        });
+
+        return Math.min(count, unreadMaximumCount);
+    }
+
+    // 알람 row 는 그대로 두고 마지막으로 확인한 alarm_id 만 옮긴다.
+    @Transactional
+    public void readAll(Integer userId) {
+        Integer lastAlarmId = alarmEntityRepository.findMaxIdByUserId(userId);
+
+        if (lastAlarmId == null) {
+            return;
+        }
+
+        AlarmReadEntity alarmRead = alarmReadEntityRepository.findById(userId).orElseGet(() -> AlarmReadEntity.of(userId));
+
+        // 동시에 들어온 이전 요청이 watermark 를 뒤로 돌리지 않도록 한다.
+        if (alarmRead.getLastReadAlarmId() < lastAlarmId) {
+            alarmRead.setLastReadAlarmId(lastAlarmId);
+            alarmReadEntityRepository.save(alarmRead);
+        }
+
+        TransactionUtils.afterCommit(() -> {
+            alarmUnreadCacheRepository.reset(userId, lastAlarmId);
+            alarmCoalescer.invalidate(userId);
+        });
+        recentWriterCacheRepository.written(userId);
+    }
+
+    // lastEventId 가 있으면 연결이 끊긴 동안 쌓인 알람을 먼저 보낸다.
+    public SseEmitter connectAlarm(Integer userId, Integer lastEventId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitterRepository.save(userId, emitter);
+
+        emitter.onCompletion(() -> emitterRepository.delete(userId, emitter));
+        emitter.onTimeout(() -> emitterRepository.delete(userId, emitter));
+        emitter.onError(e -> emitterRepository.delete(userId, emitter));
+
+        try {
+            emitter.send(SseEmitter.event().name("connect").data("connect completed"));
+
+            if (lastEventId != null) {
+                List<Alarm> missed = alarmEntityRepository.findAllByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastEventId, PageRequest.of(0, replaySize))
+                        .stream().map(Alarm::fromEntity).toList();
+
+                for (Alarm alarm : missed) {
+                    emitter.send(alarmEvent(alarm, true));
+                }
+            }
+        } catch (IOException e) {
+            emitterRepository.delete(userId, emitter);
+            throw new SnsApplicationException(ErrorCode.ALARM_CONNECT_ERROR);
+        }
+
+        return emitter;
+    }
+
+    @EventListener
+    public void onAlarmSaved(AlarmSavedEvent event) {
+        Integer userId = event.getReceiverUserId();
+
+        // 기존 묶음 알람에 더해진 경우는 이미 읽지 않은 알람으로 세어져 있다.
+        if (event.isCreated()) {
+            alarmUnreadCacheRepository.increase(userId, event.getAlarm().getId());
+        }
+
+        Set<SseEmitter> emitters = emitterRepository.get(userId);
+
+        if (emitters.isEmpty()) {
+            return;
+        }
+
+        push("alarm " + event.getAlarm().getId(),
+                () -> emitters.forEach(emitter -> send(userId, emitter, () -> alarmEvent(event.getAlarm(), event.isCreated()))));
+    }
+
+    // 프록시나 로드밸런서가 idle 연결을 끊지 않도록 주기적으로 comment 를 보낸다. 전송에 실패한 연결은 정리된다.
+    @Scheduled(fixedDelayString = "${alarm.sse.heartbeat-interval-ms}")
+    public void heartbeat() {
+        push("heartbeat", () -> emitterRepository.getAll().forEach((userId, emitters) ->
+                emitters.forEach(emitter -> send(userId, emitter, () -> SseEmitter.event().comment("heartbeat")))));
+    }
+
+    @PostConstruct
+    void init() {
+        pushExecutor = workerThreads.boundedExecutor("alarm-push", pushThreads, pushQueueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pushExecutor.shutdown();
+    }
+
+    private void push(String name, Runnable task) {
+        try {
+            pushExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Alarm push queue is full. drop {}", name);
+        }
+    }
+
+    private void send(Integer userId, SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            emitter.send(event.get());
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Remove disconnected emitter of user {}. {}", userId, e.toString());
+            emitterRepository.delete(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 묶음 알람 갱신은 기존 alarm_id 를 가지므로 id 를 보내지 않는다. 보내면 클라이언트의 Last-Event-ID 가 뒤로 가서
+    // 재연결할 때 이미 받은 알람을 다시 받는다. 끊긴 동안의 갱신은 다시 보내지 않으므로 알람 목록을 읽어서 확인한다.
+    private static SseEmitter.SseEventBuilder alarmEvent(Alarm alarm, boolean withId) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event();
+
+        if (withId) {
+            event.id(String.valueOf(alarm.getId()));
+        }
+
+        return event.name(ALARM_NAME).data(AlarmResponse.fromAlarm(alarm));
+    }
+
+    private Integer lastReadAlarmId(Integer userId) {
+        return alarmReadEntityRepository.findById(userId)
+                .map(AlarmReadEntity::getLastReadAlarmId)
+                .orElse(0);
+    }
+
     private UserEntity getUserEntity(String userName) {
         return userEntityRepository.findByUserName(userName)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
@@ -0,0 +1,273 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmSavedEvent;
+import com.ddangme.sns.model.AlarmUpdate;
+import com.ddangme.sns.repository.AlarmJdbcRepository;
+import com.ddangme.sns.util.WorkerThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 좋아요/댓글 요청에서 알람 저장을 분리한다.
+// 요청 스레드는 bounded queue 에 넣기만 하고, worker 스레드가 batch-size 만큼 모으거나
+// flush-interval 이 지나면 한 번의 batch insert 로 저장한다.
+@Slf4j
+@Component
+public class AlarmWriter implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        // 요청 스레드에서 바로 저장한다. 알람은 유실되지 않지만 요청 지연이 늘어난다.
+        CALLER_RUNS,
+        // offer-timeout-ms 만큼 기다린 뒤에도 자리가 없으면 버린다.
+        BLOCK,
+        // 바로 버린다.
+        DROP
+    }
+
+    private final AlarmJdbcRepository alarmJdbcRepository;
+    private final AlarmCoalescer alarmCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkerThreads workerThreads;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AlarmEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // worker 외에도 CALLER_RUNS, 종료 시점에 write 가 호출될 수 있어서 묶음 알람 상태가 꼬이지 않도록 한 번에 하나만 쓴다.
+    // synchronized 는 기다리는 virtual thread 를 carrier 에 고정시키므로 lock 을 쓴다.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public AlarmWriter(AlarmJdbcRepository alarmJdbcRepository,
+                       AlarmCoalescer alarmCoalescer,
+                       ApplicationEventPublisher eventPublisher,
+                       WorkerThreads workerThreads,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${alarm.write.queue-capacity}") int queueCapacity,
+                       @Value("${alarm.write.batch-size}") int batchSize,
+                       @Value("${alarm.write.flush-interval-ms}") long flushIntervalMs,
+                       @Value("${alarm.write.overflow-policy}") OverflowPolicy overflowPolicy,
+                       @Value("${alarm.write.offer-timeout-ms}") long offerTimeoutMs) {
+        this.alarmJdbcRepository = alarmJdbcRepository;
+        this.alarmCoalescer = alarmCoalescer;
+        this.eventPublisher = eventPublisher;
+        this.workerThreads = workerThreads;
+        // CALLER_RUNS 로 요청 트랜잭션의 afterCommit 콜백 안에서 호출될 수 있으므로 항상 새 트랜잭션에서 저장한다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    public void offer(AlarmEvent event) {
+        // 종료 중에는 queue 를 비우는 worker 가 없으므로 바로 저장한다.
+        if (!running) {
+            write(List.of(event));
+            return;
+        }
+
+        if (queue.offer(event)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case CALLER_RUNS:
+                write(List.of(event));
+                break;
+            case BLOCK:
+                try {
+                    if (!queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        drop(event);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(event);
+                }
+                break;
+            case DROP:
+                drop(event);
+                break;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = workerThreads.factory("alarm-writer").newThread(this::run);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // worker 는 flush-interval-ms 안에 running 값을 다시 확인하고 빠져나온다.
+        // JDBC 작업 도중 커넥션 획득이 끊기지 않도록 interrupt 는 하지 않는다.
+        running = false;
+
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // worker 가 처리하지 못하고 남은 알람을 모두 저장한다.
+        List<AlarmEvent> remains = new ArrayList<>();
+        while (queue.drainTo(remains, batchSize) > 0) {
+            write(remains);
+            remains.clear();
+        }
+
+        log.info("Alarm writer stopped. written: {}, dropped: {}, failed: {}", written.get(), dropped.get(), failed.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버가 요청을 더 받지 않게 된 뒤에 멈추고, DataSource 가 닫히기 전에 남은 알람을 저장한다.
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void run() {
+        List<AlarmEvent> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                AlarmEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+
+                    long remainMs = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remainMs <= 0) {
+                        break;
+                    }
+
+                    AlarmEvent next = queue.poll(remainMs, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                log.warn("Alarm writer is interrupted");
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 테스트에서 한 batch 를 바로 저장할 때도 쓴다.
+    void write(List<AlarmEvent> events) {
+        writeLock.lock();
+        try {
+            writeLocked(events);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 묶음 알람 변경과 새 알람 저장은 한 트랜잭션에서 한다. 하나라도 실패하면 둘 다 반영되지 않는다.
+    private void writeLocked(List<AlarmEvent> events) {
+        AlarmCoalescer.Result result = alarmCoalescer.coalesce(events);
+
+        List<AlarmEvent> inserts = new ArrayList<>(result.getInserts());
+        List<AlarmUpdate> updates = new ArrayList<>(result.getUpdates());
+        List<Integer> ids;
+
+        try {
+            ids = transactionTemplate.execute(status -> {
+                // 그 사이 삭제됐거나 읽음 처리된 묶음 알람에 더하려던 이벤트는 새 알람으로 저장한다.
+                for (AlarmUpdate missed : alarmJdbcRepository.updateAll(updates)) {
+                    updates.remove(missed);
+                    alarmCoalescer.invalidate(missed.toEvent());
+                    inserts.add(missed.toEvent());
+                }
+
+                return alarmJdbcRepository.saveAll(inserts);
+            });
+            written.addAndGet(events.size());
+        } catch (DataAccessException | TransactionException | IllegalArgumentException e) {
+            failed.addAndGet(events.size());
+            inserts.forEach(alarmCoalescer::invalidate);
+            updates.forEach(update -> alarmCoalescer.invalidate(update.toEvent()));
+            log.error("Error occurs while writing alarms. size: {}, {}", events.size(), e.toString());
+            return;
+        }
+
+        // 드라이버가 생성된 key 를 돌려주지 않으면 묶음 등록과 이벤트 발행을 하지 않는다.
+        for (int i = 0; i < ids.size() && i < inserts.size(); i++) {
+            alarmCoalescer.register(ids.get(i), inserts.get(i));
+            publish(AlarmSavedEvent.of(ids.get(i), inserts.get(i)));
+        }
+
+        updates.forEach(update -> publish(AlarmSavedEvent.of(update)));
+    }
+
+    private void publish(AlarmSavedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.error("Error occurs while publishing saved alarm. {}", e.toString());
+        }
+    }
+
+    private void drop(AlarmEvent event) {
+        dropped.incrementAndGet();
+        log.warn("Alarm queue is full. drop alarm {} for user {}", event.getAlarmType(), event.getReceiverUserId());
+    }
+}
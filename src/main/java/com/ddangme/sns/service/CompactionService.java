@@ -0,0 +1,99 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.CompactionTable;
+import com.ddangme.sns.repository.CompactionJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// soft delete 된 지 retention-days 가 지난 row 를 archive 테이블로 옮기고 live 테이블에서 hard delete 한다.
+// chunk 마다 트랜잭션을 나누고 chunk-interval-ms 만큼 쉬어서 운영 트래픽과 lock 을 오래 다투지 않도록 한다.
+@Slf4j
+@Service
+public class CompactionService {
+
+    private final CompactionJdbcRepository compactionJdbcRepository;
+    private final long retentionDays;
+    private final int chunkSize;
+    private final long chunkIntervalMs;
+    private final int maxChunksPerRun;
+
+    private final Map<CompactionTable, Long> lastRunMovedCounts = new ConcurrentHashMap<>();
+    private final AtomicLong totalMovedCount = new AtomicLong();
+
+    public CompactionService(CompactionJdbcRepository compactionJdbcRepository,
+                             @Value("${compaction.retention-days}") long retentionDays,
+                             @Value("${compaction.chunk-size}") int chunkSize,
+                             @Value("${compaction.chunk-interval-ms}") long chunkIntervalMs,
+                             @Value("${compaction.max-chunks-per-run}") int maxChunksPerRun) {
+        this.compactionJdbcRepository = compactionJdbcRepository;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.chunkIntervalMs = chunkIntervalMs;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(cron = "${compaction.cron}")
+    public void compact() {
+        Timestamp deletedBefore = Timestamp.from(Instant.now().minus(Duration.ofDays(retentionDays)));
+        int chunks = 0;
+
+        for (CompactionTable table : CompactionTable.values()) {
+            long moved = 0;
+
+            while (chunks < maxChunksPerRun) {
+                int movedInChunk;
+
+                try {
+                    movedInChunk = compactionJdbcRepository.moveToArchive(table, deletedBefore, chunkSize);
+                } catch (DataAccessException e) {
+                    log.error("Error occurs while compacting {}. {}", table.getTable(), e.toString());
+                    break;
+                }
+
+                chunks++;
+                moved += movedInChunk;
+
+                if (movedInChunk < chunkSize || !pause()) {
+                    break;
+                }
+            }
+
+            lastRunMovedCounts.put(table, moved);
+            totalMovedCount.addAndGet(moved);
+            log.info("Compacted {}. moved: {}", table.getTable(), moved);
+        }
+
+        // 남은 row 는 다음 실행에서 이어서 옮긴다.
+        if (chunks >= maxChunksPerRun) {
+            log.warn("Compaction stopped at max-chunks-per-run: {}", maxChunksPerRun);
+        }
+    }
+
+    public long getLastRunMovedCount(CompactionTable table) {
+        return lastRunMovedCounts.getOrDefault(table, 0L);
+    }
+
+    public long getTotalMovedCount() {
+        return totalMovedCount.get();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkIntervalMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
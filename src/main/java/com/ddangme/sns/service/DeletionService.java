@@ -0,0 +1,194 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.DeletionJob;
+import com.ddangme.sns.model.DeletionStep;
+import com.ddangme.sns.model.DeletionTarget;
+import com.ddangme.sns.model.PostChildRow;
+import com.ddangme.sns.model.PostCountDelta;
+import com.ddangme.sns.model.entity.DeletionJobEntity;
+import com.ddangme.sns.repository.AlarmReadEntityRepository;
+import com.ddangme.sns.repository.DeletionJdbcRepository;
+import com.ddangme.sns.repository.DeletionJobEntityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// post, 계정 삭제 요청은 대상만 바로 soft delete 하고, 좋아요/댓글/알람/팔로우는 이 작업이 chunk 단위로 지운다.
+// 탈퇴한 유저가 다른 유저의 post 에 남긴 좋아요/댓글은 chunk 와 같은 트랜잭션에서 post 카운트와 인기 점수에서도 뺀다.
+// chunk-interval-ms 마다 chunk-size 개씩 지우므로 초당 최대 chunk-size * 1000 / chunk-interval-ms 개를 지운다.
+@Slf4j
+@Service
+public class DeletionService {
+
+    private final DeletionJobEntityRepository deletionJobEntityRepository;
+    private final DeletionJdbcRepository deletionJdbcRepository;
+    private final AlarmReadEntityRepository alarmReadEntityRepository;
+    private final PostCountService postCountService;
+    private final SearchService searchService;
+    private final HashtagService hashtagService;
+    private final HotPostService hotPostService;
+    private final FollowService followService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    // 끝나지 않은 작업 수. scrape 마다 COUNT 하지 않도록 running-count-refresh-ms 마다 센 값을 들고 있는다.
+    private final AtomicLong runningCount = new AtomicLong();
+
+    public DeletionService(DeletionJobEntityRepository deletionJobEntityRepository,
+                           DeletionJdbcRepository deletionJdbcRepository,
+                           AlarmReadEntityRepository alarmReadEntityRepository,
+                           PostCountService postCountService,
+                           SearchService searchService,
+                           HashtagService hashtagService,
+                           HotPostService hotPostService,
+                           FollowService followService,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${deletion.chunk-size}") int chunkSize) {
+        this.deletionJobEntityRepository = deletionJobEntityRepository;
+        this.deletionJdbcRepository = deletionJdbcRepository;
+        this.alarmReadEntityRepository = alarmReadEntityRepository;
+        this.postCountService = postCountService;
+        this.searchService = searchService;
+        this.hashtagService = hashtagService;
+        this.hotPostService = hotPostService;
+        this.followService = followService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    // 대상을 soft delete 하는 트랜잭션 안에서 호출해서, 롤백되면 작업도 남지 않도록 한다.
+    public void request(DeletionTarget target, Integer targetId) {
+        deletionJobEntityRepository.save(DeletionJobEntity.of(target, targetId));
+    }
+
+    public DeletionJob getJob(Integer jobId) {
+        return deletionJobEntityRepository.findById(jobId)
+                .map(DeletionJob::fromEntity)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.DELETION_JOB_NOT_FOUND, String.format("%d not founded", jobId)));
+    }
+
+    public Page<DeletionJob> getRunningJobs(Pageable pageable) {
+        return deletionJobEntityRepository.findAllByFinishedAtIsNullOrderByIdAsc(pageable).map(DeletionJob::fromEntity);
+    }
+
+    public long getRunningCount() {
+        return runningCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${deletion.running-count-refresh-ms}")
+    public void refreshRunningCount() {
+        runningCount.set(deletionJobEntityRepository.countByFinishedAtIsNull());
+    }
+
+    // 가장 오래된 작업부터 한 번에 한 chunk 만 지운다. 실패하면 다음 주기에 같은 위치부터 다시 시도한다.
+    @Scheduled(fixedDelayString = "${deletion.chunk-interval-ms}")
+    public void run() {
+        deletionJobEntityRepository.findFirstByFinishedAtIsNullOrderByIdAsc().ifPresentOrElse(job -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> deleteChunk(job.getId()));
+            } catch (DataAccessException e) {
+                log.error("Error occurs while running deletion job {}. {}", job.getId(), e.toString());
+            }
+        }, () -> runningCount.set(0));
+    }
+
+    private void deleteChunk(Integer jobId) {
+        DeletionJobEntity job = deletionJobEntityRepository.findByIdForUpdate(jobId).orElse(null);
+
+        // 다른 인스턴스가 먼저 끝낸 경우
+        if (job == null || job.isFinished()) {
+            return;
+        }
+
+        // 지울 row 가 없는 단계는 같은 주기 안에서 건너뛴다.
+        while (!job.isFinished()) {
+            DeletionStep step = job.getStep();
+            List<Integer> ids = deletionJdbcRepository.findIds(step, job.getTargetId(), job.getLastId(), chunkSize);
+
+            if (ids.isEmpty()) {
+                log.info("Deletion job {} ({} {}) finished step {}. deleted: {}",
+                        job.getId(), job.getTargetType(), job.getTargetId(), step, job.getDeletedCount());
+                job.nextStep();
+                continue;
+            }
+
+            // follow row 는 지우고 나면 followee 를 알 수 없으므로 먼저 읽는다.
+            List<Integer> followeeIds = step == DeletionStep.USER_FOLLOWS
+                    ? deletionJdbcRepository.findFolloweeIdsForUpdate(ids)
+                    : List.of();
+
+            deletionJdbcRepository.delete(step, ids);
+            job.progress(ids.get(ids.size() - 1), ids.size());
+
+            if (step == DeletionStep.USER_POSTS) {
+                deletionJobEntityRepository.saveAll(ids.stream()
+                        .map(postId -> DeletionJobEntity.of(DeletionTarget.POST, postId))
+                        .collect(Collectors.toList()));
+                searchService.deletePosts(ids);
+                ids.forEach(hotPostService::deleted);
+            }
+
+            if (step == DeletionStep.USER_LIKES) {
+                List<PostChildRow> likes = deletionJdbcRepository.findLivePostRows(step, ids);
+                postCountService.decrease(countByPost(likes, true));
+                likes.forEach(like -> hotPostService.unliked(like.getPostId(), like.getRegisteredAt()));
+            }
+
+            if (step == DeletionStep.USER_COMMENTS) {
+                List<PostChildRow> comments = deletionJdbcRepository.findLivePostRows(step, ids);
+                postCountService.decrease(countByPost(comments, false));
+                comments.forEach(comment -> hotPostService.uncommented(comment.getPostId(), comment.getRegisteredAt()));
+                searchService.deleteComments(ids);
+            }
+
+            if (step == DeletionStep.USER_FOLLOWS) {
+                followService.followsDeleted(followeeIds.stream()
+                        .collect(Collectors.groupingBy(followeeId -> followeeId, Collectors.counting())));
+            }
+
+            log.debug("Deletion job {} deleted {} rows of {}. total: {}", job.getId(), ids.size(), step, job.getDeletedCount());
+            return;
+        }
+
+        finish(job);
+    }
+
+    private void finish(DeletionJobEntity job) {
+        switch (job.getTargetType()) {
+            case POST:
+                postCountService.delete(job.getTargetId());
+                hashtagService.delete(job.getTargetId());
+                break;
+            case USER:
+                alarmReadEntityRepository.findById(job.getTargetId()).ifPresent(alarmReadEntityRepository::delete);
+                followService.followeeDeleted(job.getTargetId());
+                break;
+        }
+
+        log.info("Deletion job {} ({} {}) completed. deleted: {}",
+                job.getId(), job.getTargetType(), job.getTargetId(), job.getDeletedCount());
+    }
+
+    private static List<PostCountDelta> countByPost(List<PostChildRow> rows, boolean likes) {
+        Map<Integer, Long> counts = rows.stream()
+                .collect(Collectors.groupingBy(PostChildRow::getPostId, Collectors.counting()));
+
+        return counts.entrySet().stream()
+                .map(entry -> likes
+                        ? new PostCountDelta(entry.getKey(), entry.getValue(), 0)
+                        : new PostCountDelta(entry.getKey(), 0, entry.getValue()))
+                .collect(Collectors.toList());
+    }
+}
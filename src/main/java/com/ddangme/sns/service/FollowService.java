@@ -0,0 +1,170 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.entity.FollowCountEntity;
+import com.ddangme.sns.model.entity.FollowEntity;
+import com.ddangme.sns.repository.FollowCountEntityRepository;
+import com.ddangme.sns.repository.FollowEntityRepository;
+import com.ddangme.sns.repository.RecentWriterCacheRepository;
+import com.ddangme.sns.repository.TimelineRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import com.ddangme.sns.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 팔로워가 celebrity-threshold 를 넘는 유저는 작성 시 fan-out 하지 않고 타임라인을 읽을 때 합친다.
+@Slf4j
+@Service
+public class FollowService {
+
+    private final FollowEntityRepository followEntityRepository;
+    private final FollowCountEntityRepository followCountEntityRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final TimelineRepository timelineRepository;
+    private final RecentWriterCacheRepository recentWriterCacheRepository;
+    private final TransactionTemplate newTransaction;
+    private final long celebrityThreshold;
+
+    private volatile Set<Integer> celebrities = ConcurrentHashMap.newKeySet();
+
+    public FollowService(FollowEntityRepository followEntityRepository,
+                         FollowCountEntityRepository followCountEntityRepository,
+                         UserEntityRepository userEntityRepository,
+                         TimelineRepository timelineRepository,
+                         RecentWriterCacheRepository recentWriterCacheRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${timeline.celebrity-threshold}") long celebrityThreshold) {
+        this.followEntityRepository = followEntityRepository;
+        this.followCountEntityRepository = followCountEntityRepository;
+        this.userEntityRepository = userEntityRepository;
+        this.timelineRepository = timelineRepository;
+        this.recentWriterCacheRepository = recentWriterCacheRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.celebrityThreshold = celebrityThreshold;
+    }
+
+    @Transactional
+    public void follow(Integer followerId, Integer followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new SnsApplicationException(ErrorCode.CANNOT_FOLLOW_SELF);
+        }
+
+        if (!userEntityRepository.existsById(followeeId)) {
+            throw new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%d not founded", followeeId));
+        }
+
+        try {
+            followEntityRepository.saveAndFlush(FollowEntity.of(followerId, followeeId));
+        } catch (DataIntegrityViolationException e) {
+            throw new SnsApplicationException(ErrorCode.ALREADY_FOLLOWED, String.format("userId %d already followed %d", followerId, followeeId));
+        }
+
+        increaseFollowerCount(followeeId, 1);
+        recentWriterCacheRepository.written(followerId);
+
+        // 팔로우한 유저의 이전 post 가 보이도록 다음 조회 때 타임라인을 새로 적재한다.
+        TransactionUtils.afterCommit(() -> {
+            timelineRepository.evict(followerId);
+            updateCelebrity(followeeId);
+        });
+    }
+
+    @Transactional
+    public void unfollow(Integer followerId, Integer followeeId) {
+        if (followEntityRepository.deleteByFollowerIdAndFolloweeId(followerId, followeeId) == 0) {
+            return;
+        }
+
+        increaseFollowerCount(followeeId, -1);
+        recentWriterCacheRepository.written(followerId);
+
+        TransactionUtils.afterCommit(() -> {
+            timelineRepository.evict(followerId);
+            updateCelebrity(followeeId);
+        });
+    }
+
+    // 작성한 post 를 팔로워들의 타임라인에 넣지 않는 유저
+    public boolean isCelebrity(Integer userId) {
+        return celebrities.contains(userId);
+    }
+
+    // viewer 가 팔로우하는 유저 중 fan-out 하지 않는 유저. celebrity 수만큼만 읽는다.
+    public List<Integer> followedCelebrities(Integer viewerId) {
+        Set<Integer> snapshot = celebrities;
+
+        if (snapshot.isEmpty()) {
+            return List.of();
+        }
+
+        return followEntityRepository.findFolloweeIdsIn(viewerId, snapshot);
+    }
+
+    // follow/unfollow 로 갱신하지만, 다른 인스턴스의 변경도 반영되도록 주기적으로 follow_count 를 다시 읽는다.
+    @Scheduled(fixedDelayString = "${timeline.celebrity-refresh-interval-ms}")
+    public void refreshCelebrities() {
+        Set<Integer> refreshed = ConcurrentHashMap.newKeySet();
+        refreshed.addAll(followCountEntityRepository.findUserIdsHavingMoreFollowersThan(celebrityThreshold));
+        celebrities = refreshed;
+
+        log.debug("Celebrities refreshed. size: {}", refreshed.size());
+    }
+
+    // 탈퇴한 유저가 팔로우하던 row 를 지운 트랜잭션에서 호출한다. followee 별로 지운 수만큼 팔로워 수를 줄인다.
+    public void followsDeleted(Map<Integer, Long> deletedByFolloweeId) {
+        deletedByFolloweeId.forEach((followeeId, deleted) -> increaseFollowerCount(followeeId, -deleted));
+        TransactionUtils.afterCommit(() -> deletedByFolloweeId.keySet().forEach(this::updateCelebrity));
+    }
+
+    // 탈퇴한 유저의 팔로워 row 를 모두 지운 뒤 호출한다.
+    public void followeeDeleted(Integer userId) {
+        followCountEntityRepository.deleteByUserId(userId);
+        TransactionUtils.afterCommit(() -> celebrities.remove(userId));
+    }
+
+    public long getFollowerCount(Integer userId) {
+        return followCountEntityRepository.findFollowerCountByUserId(userId).orElse(0L);
+    }
+
+    // follow 와 같은 트랜잭션에서 팔로워 수를 바꾼다.
+    // row 가 없으면 커밋된 follow 수로 새 트랜잭션에서 만든다. 지금 트랜잭션의 follow 는 아직 보이지 않으므로 만든 뒤에 다시 더한다.
+    private void increaseFollowerCount(Integer userId, long delta) {
+        if (followCountEntityRepository.increaseFollowerCount(userId, delta) > 0) {
+            return;
+        }
+
+        try {
+            newTransaction.executeWithoutResult(status -> followCountEntityRepository.saveAndFlush(
+                    FollowCountEntity.of(userId, followEntityRepository.countByFolloweeId(userId))));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 만들었다.
+            log.debug("Follow count of {} already created", userId);
+        }
+
+        followCountEntityRepository.increaseFollowerCount(userId, delta);
+    }
+
+    private void updateCelebrity(Integer userId) {
+        long followers = getFollowerCount(userId);
+
+        if (followers > celebrityThreshold) {
+            celebrities.add(userId);
+        } else {
+            celebrities.remove(userId);
+        }
+    }
+}
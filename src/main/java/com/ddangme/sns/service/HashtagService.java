@@ -0,0 +1,218 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.TrendingHashtag;
+import com.ddangme.sns.model.TrendingWindow;
+import com.ddangme.sns.model.entity.HashtagEntity;
+import com.ddangme.sns.repository.HashtagEntityRepository;
+import com.ddangme.sns.repository.HashtagTrendRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.util.HashtagUtils;
+import com.ddangme.sns.util.TransactionUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// 본문의 #태그를 저장하고, 새로 쓰인 태그를 구간별 sketch 에 센다. 인기 태그 조회는 DB 를 읽지 않는다.
+@Slf4j
+@Service
+public class HashtagService {
+
+    private final HashtagEntityRepository hashtagEntityRepository;
+    private final HashtagTrendRepository hashtagTrendRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final int maxPerPost;
+    private final int candidateSize;
+    private final int warmUpChunkSize;
+
+    // warm-up 이 끝나기 전에 커밋된 태그. warm-up 이 읽은 row 와 겹치지 않는 것만 끝난 뒤에 센다.
+    private final ReentrantLock warmUpLock = new ReentrantLock();
+    private List<PendingTags> pending = new ArrayList<>();
+    private volatile boolean warmedUp = false;
+
+    public HashtagService(HashtagEntityRepository hashtagEntityRepository,
+                          HashtagTrendRepository hashtagTrendRepository,
+                          PostEntityRepository postEntityRepository,
+                          @Value("${hashtag.max-per-post}") int maxPerPost,
+                          @Value("${hashtag.trending.candidate-size}") int candidateSize,
+                          @Value("${hashtag.trending.warm-up-chunk-size}") int warmUpChunkSize) {
+        this.hashtagEntityRepository = hashtagEntityRepository;
+        this.hashtagTrendRepository = hashtagTrendRepository;
+        this.postEntityRepository = postEntityRepository;
+        this.maxPerPost = maxPerPost;
+        this.candidateSize = candidateSize;
+        this.warmUpChunkSize = warmUpChunkSize;
+    }
+
+    // post 를 저장하는 트랜잭션 안에서 호출한다.
+    public void create(Integer postId, String body, Timestamp registeredAt) {
+        Set<String> tags = HashtagUtils.extract(body, maxPerPost);
+
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        count(tags, hashtagEntityRepository.saveAll(toEntities(postId, tags, registeredAt)));
+    }
+
+    // 수정으로 새로 붙은 태그만 센다.
+    public void modify(Integer postId, String body, Timestamp registeredAt) {
+        Set<String> tags = HashtagUtils.extract(body, maxPerPost);
+        Set<String> previous = new HashSet<>(hashtagEntityRepository.findTagsByPostId(postId));
+
+        if (tags.equals(previous)) {
+            return;
+        }
+
+        hashtagEntityRepository.deleteByPostId(postId);
+        List<HashtagEntity> saved = hashtagEntityRepository.saveAll(toEntities(postId, tags, registeredAt));
+
+        Set<String> added = new HashSet<>(tags);
+        added.removeAll(previous);
+        count(added, saved);
+    }
+
+    public void delete(Integer postId) {
+        hashtagEntityRepository.deleteByPostId(postId);
+    }
+
+    public List<TrendingHashtag> trending(TrendingWindow window, int size) {
+        return hashtagTrendRepository.top(window, Math.max(1, Math.min(size, candidateSize)));
+    }
+
+    public Slice<PostSummary> feed(String tag, String cursor, int size) {
+        String normalized = normalize(tag);
+        Pageable limit = Cursor.limit(size);
+
+        if (cursor == null) {
+            return postEntityRepository.findAllByTagAndCursor(normalized, limit);
+        }
+
+        Cursor position = Cursor.decode(cursor);
+        return postEntityRepository.findAllByTagAndCursor(normalized, position.getRegisteredAt(), position.getId(), limit);
+    }
+
+    @Scheduled(fixedDelayString = "${hashtag.trending.rotate-interval-ms}")
+    public void rotate() {
+        hashtagTrendRepository.rotate(System.currentTimeMillis());
+    }
+
+    // sketch 는 메모리에만 있으므로, 시작할 때 가장 긴 구간 안에 저장된 태그를 최근 것부터 다시 센다.
+    // 수정된 post 의 태그는 pk 가 작성 시각 순서와 다르므로, 한 chunk 가 통째로 구간 밖일 때 멈춘다.
+    // 시작할 때의 마지막 pk 까지만 읽고, 그 뒤에 저장된 태그는 보류해 둔 것을 끝난 뒤에 센다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmedUp) {
+            return;
+        }
+
+        long since = System.currentTimeMillis() - TrendingWindow.DAY.getDuration().toMillis();
+        Integer lastId = null;
+        int counted = 0;
+
+        try {
+            lastId = hashtagEntityRepository.findMaxId();
+            Integer beforeId = lastId == null ? 0 : lastId + 1;
+            List<HashtagEntity> chunk;
+            while (!(chunk = hashtagEntityRepository.findAllBefore(beforeId, PageRequest.of(0, warmUpChunkSize))).isEmpty()) {
+                List<HashtagEntity> recent = chunk.stream()
+                        .filter(hashtag -> hashtag.getRegisteredAt().getTime() >= since)
+                        .collect(Collectors.toList());
+
+                if (recent.isEmpty()) {
+                    break;
+                }
+
+                recent.forEach(hashtag -> hashtagTrendRepository.add(List.of(hashtag.getTag()), hashtag.getRegisteredAt().getTime()));
+                counted += recent.size();
+                beforeId = chunk.get(chunk.size() - 1).getId();
+            }
+        } catch (DataAccessException e) {
+            log.error("Error occurs while warming up trending hashtags. {}", e.toString());
+        } finally {
+            finishWarmUp(lastId);
+        }
+
+        log.info("Trending hashtags warmed up. counted: {}", counted);
+    }
+
+    private void count(Set<String> tags, List<HashtagEntity> saved) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        int lastId = saved.stream().mapToInt(HashtagEntity::getId).max().orElse(0);
+        TransactionUtils.afterCommit(() -> add(tags, lastId, System.currentTimeMillis()));
+    }
+
+    private void add(Set<String> tags, int lastId, long timeMillis) {
+        if (!warmedUp) {
+            warmUpLock.lock();
+            try {
+                if (!warmedUp) {
+                    pending.add(new PendingTags(tags, lastId, timeMillis));
+                    return;
+                }
+            } finally {
+                warmUpLock.unlock();
+            }
+        }
+
+        hashtagTrendRepository.add(tags, timeMillis);
+    }
+
+    // warm-up 이 읽은 pk(lastId) 이하의 태그는 이미 세었으므로 건너뛴다.
+    // lastId 를 읽은 뒤에 커밋된 더 작은 pk 의 태그는 어느 쪽에서도 세지 않는다. 추정치라서 허용한다.
+    private void finishWarmUp(Integer lastId) {
+        warmUpLock.lock();
+        try {
+            for (PendingTags tags : pending) {
+                if (lastId == null || tags.lastId > lastId) {
+                    hashtagTrendRepository.add(tags.tags, tags.timeMillis);
+                }
+            }
+
+            pending = null;
+            warmedUp = true;
+        } finally {
+            warmUpLock.unlock();
+        }
+    }
+
+    private static List<HashtagEntity> toEntities(Integer postId, Set<String> tags, Timestamp registeredAt) {
+        return tags.stream()
+                .map(tag -> HashtagEntity.of(postId, tag, registeredAt))
+                .collect(Collectors.toList());
+    }
+
+    private static String normalize(String tag) {
+        String value = tag.startsWith("#") ? tag.substring(1) : tag;
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @AllArgsConstructor
+    private static class PendingTags {
+
+        private final Set<String> tags;
+        private final int lastId;
+        private final long timeMillis;
+    }
+}
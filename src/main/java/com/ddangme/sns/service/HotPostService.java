@@ -0,0 +1,164 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.HotScore;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.repository.HotPostRepository;
+import com.ddangme.sns.repository.HotScoreJdbcRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 좋아요, 댓글이 생길 때마다 post 점수에 weight * 2^(발생 시각 / half-life) 를 더한다.
+// 모든 점수가 같은 비율로 커지므로 다시 계산하지 않아도, half-life 가 지난 반응은 새 반응의 절반으로 취급된다.
+// 인스턴스마다 자기가 받은 반응만 세고, checkpoint 는 재시작한 인스턴스가 순위를 복구하는 데만 쓴다.
+// 지금 반응 evict-below 개보다 작아진 점수는 refresh 때 버린다.
+@Slf4j
+@Service
+public class HotPostService {
+
+    private final HotPostRepository hotPostRepository;
+    private final HotScoreJdbcRepository hotScoreJdbcRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final double halfLifeMs;
+    private final double postWeight;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double evictBelow;
+    private final String instanceId;
+    private final long checkpointRetentionMs;
+
+    private volatile List<HotScore> lastTop = List.of();
+
+    public HotPostService(HotPostRepository hotPostRepository,
+                          HotScoreJdbcRepository hotScoreJdbcRepository,
+                          PostEntityRepository postEntityRepository,
+                          @Value("${hot.half-life-ms}") long halfLifeMs,
+                          @Value("${hot.weight.post}") double postWeight,
+                          @Value("${hot.weight.like}") double likeWeight,
+                          @Value("${hot.weight.comment}") double commentWeight,
+                          @Value("${hot.evict-below}") double evictBelow,
+                          @Value("${hot.checkpoint.instance-id}") String instanceId,
+                          @Value("${hot.checkpoint.retention-ms}") long checkpointRetentionMs) {
+        this.hotPostRepository = hotPostRepository;
+        this.hotScoreJdbcRepository = hotScoreJdbcRepository;
+        this.postEntityRepository = postEntityRepository;
+        this.halfLifeMs = halfLifeMs;
+        this.postWeight = postWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.evictBelow = evictBelow;
+        this.instanceId = instanceId;
+        this.checkpointRetentionMs = checkpointRetentionMs;
+    }
+
+    public void created(Integer postId) {
+        add(postId, postWeight);
+    }
+
+    public void liked(Integer postId) {
+        add(postId, likeWeight);
+    }
+
+    public void commented(Integer postId) {
+        add(postId, commentWeight);
+    }
+
+    // 삭제 작업이 지운 반응은 발생 시각의 점수를 뺀다.
+    // 다른 인스턴스가 받은 반응도 빼므로 점수가 실제보다 낮아질 수 있지만, 남는 점수가 없으면 버리므로 음수가 되지는 않는다.
+    public void unliked(Integer postId, Timestamp likedAt) {
+        subtract(postId, likeWeight, likedAt);
+    }
+
+    public void uncommented(Integer postId, Timestamp commentedAt) {
+        subtract(postId, commentWeight, commentedAt);
+    }
+
+    public void deleted(Integer postId) {
+        TransactionUtils.afterCommit(() -> hotPostRepository.remove(postId));
+    }
+
+    // 마지막 refresh 때 정렬해둔 순위에서 페이지 구간의 post 만 읽는다.
+    public Page<PostSummary> feedList(Pageable pageable) {
+        Page<Integer> ranked = rankedIds(pageable);
+        List<Integer> ids = ranked.getContent();
+
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ranked.getTotalElements());
+        }
+
+        Map<Integer, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+
+        // 순위에 반영되기 전에 삭제된 post 는 빠진다.
+        List<PostSummary> posts = new ArrayList<>(postEntityRepository.findAllSummariesByIdIn(ids));
+        posts.sort(Comparator.comparing(post -> rank.get(post.getId())));
+
+        return new PageImpl<>(posts, pageable, ranked.getTotalElements());
+    }
+
+    // 순위 순서대로 pageable 구간의 post id. 삭제 여부는 확인하지 않는다.
+    public Page<Integer> rankedIds(Pageable pageable) {
+        List<Integer> ranking = hotPostRepository.getRanking();
+        int from = (int) Math.min(pageable.getOffset(), ranking.size());
+        int to = Math.min(from + pageable.getPageSize(), ranking.size());
+        return new PageImpl<>(ranking.subList(from, to), pageable, ranking.size());
+    }
+
+    @Scheduled(fixedDelayString = "${hot.refresh-interval-ms}")
+    public void refresh() {
+        lastTop = hotPostRepository.refresh(score(evictBelow, System.currentTimeMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${hot.checkpoint-interval-ms}", initialDelayString = "${hot.checkpoint-interval-ms}")
+    public void checkpoint() {
+        try {
+            hotScoreJdbcRepository.replaceAll(instanceId, lastTop,
+                    new Timestamp(System.currentTimeMillis() - checkpointRetentionMs));
+        } catch (DataAccessException e) {
+            log.error("Error occurs while checkpointing hot posts. {}", e.toString());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            List<HotScore> scores = hotScoreJdbcRepository.findAll();
+            scores.forEach(score -> hotPostRepository.add(score.getPostId(), score.getScore()));
+            refresh();
+
+            log.info("Hot posts restored. size: {}", scores.size());
+        } catch (DataAccessException e) {
+            log.error("Error occurs while restoring hot posts. {}", e.toString());
+        }
+    }
+
+    private void add(Integer postId, double weight) {
+        TransactionUtils.afterCommit(() -> hotPostRepository.add(postId, score(weight, System.currentTimeMillis())));
+    }
+
+    private void subtract(Integer postId, double weight, Timestamp occurredAt) {
+        TransactionUtils.afterCommit(() -> hotPostRepository.subtract(postId, score(weight, occurredAt.getTime())));
+    }
+
+    private double score(double weight, long timeMillis) {
+        return Math.log(weight) / Math.log(2) + timeMillis / halfLifeMs;
+    }
+}
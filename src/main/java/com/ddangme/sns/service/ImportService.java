@@ -0,0 +1,193 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.*;
+import com.ddangme.sns.repository.IdBlockRepository;
+import com.ddangme.sns.repository.ImportJdbcRepository;
+import com.ddangme.sns.repository.PostCountJdbcRepository;
+import com.ddangme.sns.util.HashtagUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// 이전 시스템의 post, 댓글을 NDJSON 으로 받아 chunk-size 줄씩 한 트랜잭션으로 저장한다.
+// 요청 본문은 한 줄씩 읽고 chunk 하나만 메모리에 둔다. 실패한 chunk 는 롤백하고 다음 chunk 를 계속 저장한다.
+// 지나간 데이터이므로 타임라인, 인기 태그, 인기순 피드, 알람에는 반영하지 않고 검색 색인과 좋아요/댓글 수만 맞춘다.
+@Slf4j
+@Service
+public class ImportService {
+
+    private static final int MAX_ERROR_LENGTH = 200;
+
+    private final IdBlockRepository idBlockRepository;
+    private final ImportJdbcRepository importJdbcRepository;
+    private final PostCountJdbcRepository postCountJdbcRepository;
+    private final SearchService searchService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxHashtagsPerPost;
+
+    public ImportService(IdBlockRepository idBlockRepository,
+                         ImportJdbcRepository importJdbcRepository,
+                         PostCountJdbcRepository postCountJdbcRepository,
+                         SearchService searchService,
+                         TransactionTemplate transactionTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${bulk-import.chunk-size}") int chunkSize,
+                         @Value("${hashtag.max-per-post}") int maxHashtagsPerPost) {
+        this.idBlockRepository = idBlockRepository;
+        this.importJdbcRepository = importJdbcRepository;
+        this.postCountJdbcRepository = postCountJdbcRepository;
+        this.searchService = searchService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxHashtagsPerPost = maxHashtagsPerPost;
+    }
+
+    public List<ImportChunk> importPosts(InputStream input) {
+        return importLines(input, PostImport.class, PostImport::isValid, this::savePosts);
+    }
+
+    public List<ImportChunk> importComments(InputStream input) {
+        return importLines(input, CommentImport.class, CommentImport::isValid, this::saveComments);
+    }
+
+    private <T> List<ImportChunk> importLines(InputStream input, Class<T> type, Predicate<T> valid, Function<List<T>, Integer> save) {
+        List<ImportChunk> chunks = new ArrayList<>();
+        List<T> rows = new ArrayList<>(chunkSize);
+        List<Long> invalidLines = new ArrayList<>();
+        long fromLine = 1;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                T row = parse(line, type);
+                if (row == null || !valid.test(row)) {
+                    invalidLines.add(lineNumber);
+                } else {
+                    rows.add(row);
+                }
+
+                if (rows.size() == chunkSize) {
+                    chunks.add(saveChunk(chunks.size(), fromLine, lineNumber, rows, invalidLines, save));
+                    rows = new ArrayList<>(chunkSize);
+                    invalidLines = new ArrayList<>();
+                    fromLine = lineNumber + 1;
+                }
+            }
+        } catch (IOException e) {
+            // 요청 본문을 끝까지 읽지 못한 경우. 이미 커밋된 chunk 는 남는다.
+            throw new UncheckedIOException("Failed to read import body at line " + (lineNumber + 1), e);
+        }
+
+        if (!rows.isEmpty() || !invalidLines.isEmpty()) {
+            chunks.add(saveChunk(chunks.size(), fromLine, lineNumber, rows, invalidLines, save));
+        }
+
+        return chunks;
+    }
+
+    private <T> ImportChunk saveChunk(int chunk, long fromLine, long toLine, List<T> rows, List<Long> invalidLines,
+                                      Function<List<T>, Integer> save) {
+        if (rows.isEmpty()) {
+            return new ImportChunk(chunk, fromLine, toLine, 0, null, invalidLines, null);
+        }
+
+        try {
+            Integer firstId = transactionTemplate.execute(status -> save.apply(rows));
+            return new ImportChunk(chunk, fromLine, toLine, rows.size(), firstId, invalidLines, null);
+        } catch (DataAccessException e) {
+            log.error("Error occurs while importing lines {} ~ {}. {}", fromLine, toLine, e.toString());
+            return new ImportChunk(chunk, fromLine, toLine, 0, null, invalidLines, abbreviate(e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private Integer savePosts(List<PostImport> posts) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int firstId = idBlockRepository.allocate(IdBlock.POST, posts.size());
+
+        importJdbcRepository.insertPosts(firstId, posts, now);
+        importJdbcRepository.insertPostCounts(firstId, posts.size(), now);
+
+        List<Object[]> hashtags = new ArrayList<>();
+        List<SearchDocument> documents = new ArrayList<>(posts.size());
+
+        for (int i = 0; i < posts.size(); i++) {
+            PostImport post = posts.get(i);
+            Integer postId = firstId + i;
+            Timestamp registeredAt = post.getRegisteredAt() == null ? now : post.getRegisteredAt();
+
+            HashtagUtils.extract(post.getBody(), maxHashtagsPerPost)
+                    .forEach(tag -> hashtags.add(new Object[]{postId, tag, registeredAt}));
+            documents.add(SearchDocument.ofPost(postId, post.getTitle(), post.getBody()));
+        }
+
+        importJdbcRepository.insertHashtags(hashtags);
+        searchService.indexAll(documents);
+
+        return firstId;
+    }
+
+    private Integer saveComments(List<CommentImport> comments) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int firstId = idBlockRepository.allocate(IdBlock.COMMENT, comments.size());
+
+        importJdbcRepository.insertComments(firstId, comments, now);
+
+        Map<Integer, Long> commentCounts = new HashMap<>();
+        List<SearchDocument> documents = new ArrayList<>(comments.size());
+
+        for (int i = 0; i < comments.size(); i++) {
+            CommentImport comment = comments.get(i);
+            commentCounts.merge(comment.getPostId(), 1L, Long::sum);
+            documents.add(SearchDocument.ofComment(firstId + i, comment.getPostId(), comment.getComment()));
+        }
+
+        List<PostCountDelta> deltas = new ArrayList<>(commentCounts.size());
+        commentCounts.forEach((postId, count) -> deltas.add(new PostCountDelta(postId, 0, count)));
+        postCountJdbcRepository.increase(deltas);
+        searchService.indexAll(documents);
+
+        return firstId;
+    }
+
+    private <T> T parse(String line, Class<T> type) {
+        try {
+            return objectMapper.readValue(line, type);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
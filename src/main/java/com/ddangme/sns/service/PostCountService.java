@@ -0,0 +1,243 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.PostCountDelta;
+import com.ddangme.sns.model.entity.PostCountEntity;
+import com.ddangme.sns.repository.*;
+import com.ddangme.sns.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 좋아요/댓글 수를 post_count 에 비정규화해서 관리한다.
+// 증가분은 커밋 이후 post 별 LongAdder 에 모았다가 주기적으로 batch 로 반영하고,
+// 원본 테이블과 어긋난 값은 reconcile 에서 바로잡는다.
+// flush 와 reconcile 은 같은 lock 안에서 post_count 를 쓰므로 서로의 반영분을 덮어쓰거나 두 번 더하지 않는다.
+@Slf4j
+@Service
+public class PostCountService {
+
+    private final PostEntityRepository postEntityRepository;
+    private final LikeEntityRepository likeEntityRepository;
+    private final CommentEntityRepository commentEntityRepository;
+    private final PostCountEntityRepository postCountEntityRepository;
+    private final PostCountJdbcRepository postCountJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileChunkSize;
+
+    private final ConcurrentHashMap<Integer, PendingCount> pendingCounts = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public PostCountService(PostEntityRepository postEntityRepository,
+                            LikeEntityRepository likeEntityRepository,
+                            CommentEntityRepository commentEntityRepository,
+                            PostCountEntityRepository postCountEntityRepository,
+                            PostCountJdbcRepository postCountJdbcRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${count.post.reconcile-chunk-size}") int reconcileChunkSize) {
+        this.postEntityRepository = postEntityRepository;
+        this.likeEntityRepository = likeEntityRepository;
+        this.commentEntityRepository = commentEntityRepository;
+        this.postCountEntityRepository = postCountEntityRepository;
+        this.postCountJdbcRepository = postCountJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.reconcileChunkSize = reconcileChunkSize;
+    }
+
+    public void create(Integer postId) {
+        postCountEntityRepository.save(PostCountEntity.of(postId));
+    }
+
+    // 롤백된 트랜잭션의 증가분이 반영되지 않도록 커밋 이후에만 카운트를 올린다.
+    public void increaseLikeCount(Integer postId) {
+        TransactionUtils.afterCommit(() -> addPending(postId, 1, 0));
+    }
+
+    public void increaseCommentCount(Integer postId) {
+        TransactionUtils.afterCommit(() -> addPending(postId, 0, 1));
+    }
+
+    // 삭제 작업이 지운 좋아요/댓글. 증가분과 같이 커밋 이후 pending 에서 뺀다.
+    public void decrease(List<PostCountDelta> deltas) {
+        TransactionUtils.afterCommit(() ->
+                deltas.forEach(delta -> addPending(delta.getPostId(), -delta.getLikeCount(), -delta.getCommentCount())));
+    }
+
+    public void delete(Integer postId) {
+        postCountEntityRepository.deleteByPostId(postId);
+        TransactionUtils.afterCommit(() -> pendingCounts.remove(postId));
+    }
+
+    public long getLikeCount(Integer postId) {
+        return getPostCount(postId).getLikeCount() + pendingLikeCount(postId);
+    }
+
+    public long getCommentCount(Integer postId) {
+        return getPostCount(postId).getCommentCount() + pendingCommentCount(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${count.post.flush-interval-ms}")
+    public void flush() {
+        writeLock.lock();
+        try {
+            flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${count.post.reconcile-interval-ms}", fixedDelayString = "${count.post.reconcile-interval-ms}")
+    public void reconcile() {
+        Integer lastId = 0;
+        int repaired = 0;
+
+        while (true) {
+            List<Integer> postIds = postEntityRepository.findIdsAfter(lastId, PageRequest.of(0, reconcileChunkSize));
+
+            if (postIds.isEmpty()) {
+                break;
+            }
+
+            // chunk 마다 lock 을 잡아서 flush 가 reconcile 전체를 기다리지 않게 한다.
+            writeLock.lock();
+            try {
+                Integer repairedInChunk = transactionTemplate.execute(status -> reconcile(postIds));
+                repaired += repairedInChunk == null ? 0 : repairedInChunk;
+            } finally {
+                writeLock.unlock();
+            }
+            lastId = postIds.get(postIds.size() - 1);
+        }
+
+        log.info("Post counts reconciled. repaired: {}", repaired);
+    }
+
+    private void flushPending() {
+        List<PostCountDelta> deltas = new ArrayList<>();
+
+        for (Integer postId : pendingCounts.keySet()) {
+            // map 에서 떼어낸 뒤에 합계를 읽는다. 증가는 같은 key 의 compute 안에서 하므로
+            // 떼어낸 이후의 증가분은 새 PendingCount 에 쌓인다.
+            PendingCount[] taken = new PendingCount[1];
+            pendingCounts.computeIfPresent(postId, (key, pending) -> {
+                taken[0] = pending;
+                return null;
+            });
+
+            if (taken[0] == null) {
+                continue;
+            }
+
+            long likes = taken[0].likes.sum();
+            long comments = taken[0].comments.sum();
+
+            if (likes != 0 || comments != 0) {
+                deltas.add(new PostCountDelta(postId, likes, comments));
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            postCountJdbcRepository.increase(deltas);
+        } catch (DataAccessException e) {
+            log.error("Error occurs while flushing post counts. size: {}, {}", deltas.size(), e.toString());
+
+            // 반영하지 못한 증가분은 다음 주기에 다시 시도한다.
+            deltas.forEach(delta -> addPending(delta.getPostId(), delta.getLikeCount(), delta.getCommentCount()));
+        }
+    }
+
+    // 저장된 값을 덮어쓰지 않고 차이만큼 더한다. 다른 인스턴스가 그 사이 flush 한 증가분도 지워지지 않는다.
+    // 원본 테이블에 커밋됐지만 아직 afterCommit 으로 pending 에 올라가지 않은 증가분은 다음 reconcile 에서 다시 맞춰진다.
+    private int reconcile(List<Integer> postIds) {
+        Map<Integer, Long> likeCounts = toCountMap(likeEntityRepository.countAllByPostIds(postIds));
+        Map<Integer, Long> commentCounts = toCountMap(commentEntityRepository.countAllByPostIds(postIds));
+        Map<Integer, PostCountEntity> postCounts = postCountEntityRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(PostCountEntity::getPostId, Function.identity()));
+
+        List<PostCountDelta> corrections = new ArrayList<>();
+
+        for (Integer postId : postIds) {
+            // 아직 flush 되지 않은 증가분은 원본 테이블에는 이미 반영되어 있으므로 빼고 비교한다.
+            long likeCount = likeCounts.getOrDefault(postId, 0L) - pendingLikeCount(postId);
+            long commentCount = commentCounts.getOrDefault(postId, 0L) - pendingCommentCount(postId);
+
+            PostCountEntity postCount = postCounts.get(postId);
+            long storedLikeCount = postCount == null ? 0 : postCount.getLikeCount();
+            long storedCommentCount = postCount == null ? 0 : postCount.getCommentCount();
+
+            if (postCount != null && storedLikeCount == likeCount && storedCommentCount == commentCount) {
+                continue;
+            }
+
+            corrections.add(new PostCountDelta(postId, likeCount - storedLikeCount, commentCount - storedCommentCount));
+        }
+
+        if (!corrections.isEmpty()) {
+            postCountJdbcRepository.increase(corrections);
+        }
+
+        return corrections.size();
+    }
+
+    private PostCountEntity getPostCount(Integer postId) {
+        return postCountEntityRepository.findById(postId).orElseGet(() -> {
+            if (!postEntityRepository.existsById(postId)) {
+                throw new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId));
+            }
+
+            return PostCountEntity.of(postId);
+        });
+    }
+
+    private long pendingLikeCount(Integer postId) {
+        PendingCount pending = pendingCounts.get(postId);
+        return pending == null ? 0 : pending.likes.sum();
+    }
+
+    private long pendingCommentCount(Integer postId) {
+        PendingCount pending = pendingCounts.get(postId);
+        return pending == null ? 0 : pending.comments.sum();
+    }
+
+    // flush 가 PendingCount 를 떼어내는 것과 겹치지 않도록 compute 안에서 더한다.
+    private void addPending(Integer postId, long likes, long comments) {
+        pendingCounts.compute(postId, (key, pending) -> {
+            PendingCount count = pending == null ? new PendingCount() : pending;
+            count.likes.add(likes);
+            count.comments.add(comments);
+            return count;
+        });
+    }
+
+    private static Map<Integer, Long> toCountMap(List<Object[]> rows) {
+        Map<Integer, Long> counts = new HashMap<>();
+
+        for (Object[] row : rows) {
+            counts.put((Integer) row[0], (Long) row[1]);
+        }
+
+        return counts;
+    }
+
+    private static class PendingCount {
+
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+    }
+}
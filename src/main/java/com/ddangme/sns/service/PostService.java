@@ -6,11 +6,19 @@ import com.ddangme.sns.model.*;
 import com.ddangme.sns.model.entity.*;
 import com.ddangme.sns.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 
 @Service
 @RequiredArgsConstructor
@@ -20,46 +28,92 @@ public class PostService {
     private final UserEntityRepository userEntityRepository;
     private final LikeEntityRepository likeEntityRepository;
     private final CommentEntityRepository commentEntityRepository;
-    private final AlarmEntityRepository alarmEntityRepository;
+    private final AlarmService alarmService;
+    private final PostCountService postCountService;
+    private final DeletionService deletionService;
+    private final TimelineService timelineService;
+    private final SearchService searchService;
+    private final HashtagService hashtagService;
+    private final HotPostService hotPostService;
+    private final RecentWriterCacheRepository recentWriterCacheRepository;
 
     @Transactional
     public void create(String title, String body, Integer loginUserId) {
         // save post
-        postEntityRepository.save(PostEntity.of(title, body, loginUserId));
+        PostEntity postEntity = postEntityRepository.save(PostEntity.of(title, body, loginUserId));
+        postCountService.create(postEntity.getId());
+        timelineService.publish(postEntity.getId(), loginUserId, postEntity.getRegisteredAt());
+        searchService.indexPost(postEntity.getId(), title, body);
+        hashtagService.create(postEntity.getId(), body, postEntity.getRegisteredAt());
+        hotPostService.created(postEntity.getId());
+        recentWriterCacheRepository.written(loginUserId);
     }
 
     @Transactional
     public Post modify(Integer postId, String title, String body, Integer loginUserId) {
-        PostEntity postEntity = getPostEntity(postId);
-
-        if (postEntity.noSameUser(loginUserId)) {
-            throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", loginUserId, postId));
+        if (postEntityRepository.modifyByIdAndUserId(postId, loginUserId, title, body) == 0) {
+            throw noPermissionOrNotFound(postId, loginUserId);
         }
 
-        postEntity.modify(title, body);
-
-        return Post.fromEntity(postEntityRepository.saveAndFlush(postEntity));
+        Post post = Post.fromEntity(getPostEntity(postId));
+        searchService.indexPost(postId, title, body);
+        hashtagService.modify(postId, body, post.getRegisteredAt());
+        recentWriterCacheRepository.written(loginUserId);
+        return post;
     }
 
     @Transactional
     public void delete(Integer loginUserId, Integer postId) {
-        PostEntity postEntity = getPostEntity(postId);
-
-        if (postEntity.noSameUser(loginUserId)) {
-            throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", loginUserId, postId));
+        if (postEntityRepository.deleteByIdAndUserId(postId, loginUserId) == 0) {
+            throw noPermissionOrNotFound(postId, loginUserId);
         }
 
-        likeEntityRepository.deleteAllByPost(postEntity);
-        commentEntityRepository.deleteAllByPost(postEntity);
-        postEntityRepository.delete(postEntity);
+        // 좋아요, 댓글은 DeletionService 가 chunk 단위로 지운다.
+        deletionService.request(DeletionTarget.POST, postId);
+        postCountService.delete(postId);
+        searchService.deletePosts(List.of(postId));
+        hotPostService.deleted(postId);
+        recentWriterCacheRepository.written(loginUserId);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostSummary> feedList(Pageable pageable) {
+        return postEntityRepository.findAllSummaries(pageable);
+    }
+
+    // 인기순 피드는 post 테이블을 정렬하지 않고 메모리의 순위를 따른다.
+    @Transactional(readOnly = true)
+    public Page<PostSummary> hotFeedList(Pageable pageable) {
+        return hotPostService.feedList(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostSummary> myFeedList(Integer loginUserId, Pageable pageable) {
+        return postEntityRepository.findAllSummariesByUserId(loginUserId, pageable);
     }
 
-    public Page<Post> feedList(Pageable pageable) {
-        return postEntityRepository.findAll(pageable).map(Post::fromEntity);
+    @Transactional(readOnly = true)
+    public Slice<PostSummary> feedList(String cursor, int size) {
+        Pageable limit = Cursor.limit(size);
+
+        if (cursor == null) {
+            return postEntityRepository.findAllByCursor(limit);
+        }
+
+        Cursor position = Cursor.decode(cursor);
+        return postEntityRepository.findAllByCursor(position.getRegisteredAt(), position.getId(), limit);
     }
 
-    public Page<Post> myFeedList(Integer loginUserId, Pageable pageable) {
-        return postEntityRepository.findAllByUserId(loginUserId, pageable).map(Post::fromEntity);
+    @Transactional(readOnly = true)
+    public Slice<PostSummary> myFeedList(Integer loginUserId, String cursor, int size) {
+        Pageable limit = Cursor.limit(size);
+
+        if (cursor == null) {
+            return postEntityRepository.findAllByUserIdAndCursor(loginUserId, limit);
+        }
+
+        Cursor position = Cursor.decode(cursor);
+        return postEntityRepository.findAllByUserIdAndCursor(loginUserId, position.getRegisteredAt(), position.getId(), limit);
     }
 
     private UserEntity getUserEntity(String userName) {
@@ -67,6 +121,15 @@ public class PostService {
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
     }
 
+    // 조건부 UPDATE 가 0 건일 때만 원인을 구분하기 위해 조회한다.
+    private SnsApplicationException noPermissionOrNotFound(Integer postId, Integer loginUserId) {
+        if (!postEntityRepository.existsById(postId)) {
+            return new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId));
+        }
+
+        return new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", loginUserId, postId));
+    }
+
     private PostEntity getPostEntity(Integer postId) {
         return postEntityRepository.findById(postId)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId)));
@@ -74,34 +137,92 @@ public class PostService {
 
     @Transactional
     public void like(Integer postId, Integer loginUserId) {
-        PostEntity postEntity = getPostEntity(postId);
+        Integer writerId = postEntityRepository.findUserIdById(postId)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId)));
 
-        likeEntityRepository.findByUserIdAndPostId(loginUserId, postId)
-                .ifPresent(it -> {
-                    throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("userId %s already like post %d", loginUserId, postId));
-                });
+        try {
+            likeEntityRepository.insert(postId, loginUserId);
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // 이미 좋아요를 했거나, 동시에 들어온 같은 요청과 중복 key lock 을 기다리다 deadlock 이 난 경우
+            throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("userId %s already like post %d", loginUserId, postId));
+        }
 
-        likeEntityRepository.save(LikeEntity.of(postEntity, loginUserId));
-        alarmEntityRepository.save(AlarmEntity.of(postEntity.getUser(), AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(loginUserId, postId)));
+        postCountService.increaseLikeCount(postId);
+        hotPostService.liked(postId);
+        recentWriterCacheRepository.written(loginUserId);
+        alarmService.send(AlarmType.NEW_LIKE_ON_POST, writerId, new AlarmArgs(loginUserId, postId));
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Integer> likedPostIds(Integer loginUserId, Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(likeEntityRepository.findLikedPostIds(loginUserId, postIds));
     }
 
-    @Transactional
     public long likeCount(Integer postId) {
-        PostEntity postEntity = getPostEntity(postId);
+        return postCountService.getLikeCount(postId);
+    }
 
-        return likeEntityRepository.countByPost(postEntity);
+    public long commentCount(Integer postId) {
+        return postCountService.getCommentCount(postId);
     }
 
     @Transactional
     public void comment(Integer postId, Integer loginUserId, String comment) {
         PostEntity postEntity = getPostEntity(postId);
 
-        commentEntityRepository.save(CommentEntity.of(postEntity, loginUserId, comment));
-        alarmEntityRepository.save(AlarmEntity.of(postEntity.getUser(), AlarmType.NEW_COMMENT_ON_POST, new AlarmArgs(loginUserId, postId)));
+        CommentEntity commentEntity = commentEntityRepository.save(CommentEntity.of(postEntity, loginUserId, comment));
+        postCountService.increaseCommentCount(postId);
+        searchService.indexComment(commentEntity.getId(), postId, comment);
+        hotPostService.commented(postId);
+        recentWriterCacheRepository.written(loginUserId);
+        alarmService.send(AlarmType.NEW_COMMENT_ON_POST, postEntity.getUser().getId(), new AlarmArgs(loginUserId, postId));
+    }
+
+    // ETag 용 값. 내용이 바뀌면 달라진다.
+    @Transactional(readOnly = true)
+    public String version(Integer postId) {
+        return postEntityRepository.findVersionById(postId)
+                .map(version -> postId + "-" + version)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId)));
     }
 
+    // 댓글은 추가만 되므로 마지막 댓글 id 가 같으면 목록이 같다. 삭제는 댓글 수로 구분한다.
+    @Transactional(readOnly = true)
+    public String commentsVersion(Integer postId) {
+        Integer lastCommentId = commentEntityRepository.findLastIdByPostId(postId);
+        return postId + "-" + (lastCommentId == null ? 0 : lastCommentId) + "-" + commentCount(postId);
+    }
+
+    @Transactional(readOnly = true)
+    public PostSummary detail(Integer postId) {
+        return postEntityRepository.findAllSummariesByIdIn(List.of(postId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId)));
+    }
+
+    @Transactional(readOnly = true)
     public Page<Comment> getComments(Integer postId, Pageable pageable) {
         PostEntity postEntity = getPostEntity(postId);
         return commentEntityRepository.findAllByPost(postEntity, pageable).map(Comment::fromEntity);
     }
+
+    @Transactional(readOnly = true)
+    public Slice<Comment> getComments(Integer postId, String cursor, int size) {
+        if (!postEntityRepository.existsById(postId)) {
+            throw new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%d not founded", postId));
+        }
+
+        Pageable limit = Cursor.limit(size);
+
+        if (cursor == null) {
+            return commentEntityRepository.findAllByPostIdAndCursor(postId, limit).map(Comment::fromEntity);
+        }
+
+        Cursor position = Cursor.decode(cursor);
+        return commentEntityRepository.findAllByPostIdAndCursor(postId, position.getRegisteredAt(), position.getId(), limit).map(Comment::fromEntity);
+    }
 }
@@ -0,0 +1,241 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.SearchDocument;
+import com.ddangme.sns.model.SearchPage;
+import com.ddangme.sns.model.SearchResult;
+import com.ddangme.sns.repository.SearchIndexRepository;
+import com.ddangme.sns.repository.SearchJdbcRepository;
+import com.ddangme.sns.util.TransactionUtils;
+import com.ddangme.sns.util.WorkerThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// post, 댓글 전문 검색. 변경은 커밋 이후 색인 스레드 하나가 순서대로 반영하고,
+// refresh-interval-ms 마다 검색에 보이게, commit-interval-ms 마다 디스크에 저장한다.
+@Slf4j
+@Service
+public class SearchService {
+
+    private static final String DELIMITER = ":";
+    private static final float TITLE_BOOST = 2.0f;
+
+    private final SearchIndexRepository searchIndexRepository;
+    private final SearchJdbcRepository searchJdbcRepository;
+    private final int rebuildChunkSize;
+
+    // 재색인 중에 들어온 변경이 재색인 결과에 덮어써지지 않도록 모든 쓰기를 한 스레드에서 순서대로 처리한다.
+    private final ExecutorService indexExecutor;
+
+    public SearchService(SearchIndexRepository searchIndexRepository,
+                         SearchJdbcRepository searchJdbcRepository,
+                         WorkerThreads workerThreads,
+                         @Value("${search.rebuild-chunk-size}") int rebuildChunkSize) {
+        this.searchIndexRepository = searchIndexRepository;
+        this.searchJdbcRepository = searchJdbcRepository;
+        this.indexExecutor = workerThreads.singleThreadExecutor("search-indexer");
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public void indexPost(Integer postId, String title, String body) {
+        afterCommit(() -> searchIndexRepository.saveAll(List.of(SearchDocument.ofPost(postId, title, body))));
+    }
+
+    public void indexComment(Integer commentId, Integer postId, String comment) {
+        afterCommit(() -> searchIndexRepository.saveAll(List.of(SearchDocument.ofComment(commentId, postId, comment))));
+    }
+
+    // 대량 import 한 chunk 를 한 번에 색인한다.
+    public void indexAll(List<SearchDocument> documents) {
+        afterCommit(() -> searchIndexRepository.saveAll(documents));
+    }
+
+    public void deletePosts(Collection<Integer> postIds) {
+        afterCommit(() -> searchIndexRepository.deleteByPostIds(postIds));
+    }
+
+    public void deleteComments(Collection<Integer> commentIds) {
+        afterCommit(() -> searchIndexRepository.deleteComments(commentIds));
+    }
+
+    public SearchPage search(String keyword, String cursor, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new SnsApplicationException(ErrorCode.INVALID_SEARCH_KEYWORD);
+        }
+
+        Query query = buildQuery(keyword);
+
+        // 불용어만 있는 경우
+        if (query == null) {
+            return new SearchPage(List.of(), null, false);
+        }
+
+        int limit = Cursor.limit(size).getPageSize();
+        Float afterScore = null;
+        Long afterSortKey = null;
+
+        if (cursor != null) {
+            String[] tokens = decodeCursor(cursor);
+            afterScore = Float.intBitsToFloat(Integer.parseInt(tokens[0]));
+            afterSortKey = Long.parseLong(tokens[1]);
+        }
+
+        List<SearchResult> results;
+        try {
+            // 다음 페이지가 있는지 알기 위해 한 건 더 읽는다.
+            results = searchIndexRepository.search(query, afterScore, afterSortKey, limit + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        boolean hasNext = results.size() > limit;
+        List<SearchResult> content = hasNext ? results.subList(0, limit) : results;
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1)) : null;
+
+        return new SearchPage(content, nextCursor, hasNext);
+    }
+
+    // DB 의 삭제되지 않은 post, 댓글로 색인을 처음부터 다시 만든다. 관리자 API 로도 실행한다.
+    public void rebuild() {
+        indexExecutor.execute(() -> {
+            try {
+                rebuildIndex();
+            } catch (IOException | RuntimeException e) {
+                log.error("Error occurs while rebuilding search index. {}", e.toString());
+            }
+        });
+    }
+
+    // 로컬 색인이 없거나(새 서버, 디스크 유실) 이전 프로세스가 비정상 종료되어 마지막 commit 이후의 변경을 잃었을 수 있으면
+    // 시작할 때 DB 에서 색인을 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (searchIndexRepository.count() == 0 || !searchIndexRepository.isCleanShutdown()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms}")
+    public void refresh() {
+        try {
+            searchIndexRepository.refresh();
+        } catch (IOException e) {
+            log.error("Error occurs while refreshing search index. {}", e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.commit-interval-ms}")
+    public void commit() {
+        submit(searchIndexRepository::commit);
+    }
+
+    // 남은 변경을 반영한다. 색인은 SearchIndexRepository 가 닫힐 때 디스크에 저장된다.
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        indexExecutor.shutdown();
+        indexExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void rebuildIndex() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        int[] counts = new int[2];
+
+        searchIndexRepository.rebuild(sink -> {
+            Integer lastPostId = 0;
+            List<SearchDocument> documents;
+            while (!(documents = searchJdbcRepository.findPostsAfter(lastPostId, rebuildChunkSize)).isEmpty()) {
+                sink.saveAll(documents);
+                counts[0] += documents.size();
+                lastPostId = documents.get(documents.size() - 1).getId();
+            }
+
+            Integer lastCommentId = 0;
+            while (!(documents = searchJdbcRepository.findCommentsAfter(lastCommentId, rebuildChunkSize)).isEmpty()) {
+                sink.saveAll(documents);
+                counts[1] += documents.size();
+                lastCommentId = documents.get(documents.size() - 1).getId();
+            }
+        });
+
+        log.info("Search index rebuilt. posts: {}, comments: {}, took: {}ms", counts[0], counts[1], System.currentTimeMillis() - startedAt);
+    }
+
+    private Query buildQuery(String keyword) {
+        QueryBuilder queryBuilder = new QueryBuilder(searchIndexRepository.getAnalyzer());
+        Query title = queryBuilder.createBooleanQuery(SearchIndexRepository.TITLE, keyword);
+        Query body = queryBuilder.createBooleanQuery(SearchIndexRepository.BODY, keyword);
+
+        if (title == null || body == null) {
+            return null;
+        }
+
+        return new BooleanQuery.Builder()
+                .add(new BoostQuery(title, TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                .add(body, BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    private void afterCommit(IndexTask task) {
+        TransactionUtils.afterCommit(() -> submit(task));
+    }
+
+    private void submit(IndexTask task) {
+        indexExecutor.execute(() -> {
+            try {
+                task.run();
+            } catch (IOException | RuntimeException e) {
+                // 색인에 반영하지 못한 변경은 관리자 rebuild(POST /api/v1/search/rebuild)로 바로잡는다.
+                log.error("Error occurs while updating search index. {}", e.toString());
+            }
+        });
+    }
+
+    private static String encodeCursor(SearchResult result) {
+        String raw = Float.floatToIntBits(result.getScore()) + DELIMITER + SearchIndexRepository.sortKey(result.getType(), result.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] tokens = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(DELIMITER);
+
+            if (tokens.length != 2) {
+                throw new SnsApplicationException(ErrorCode.INVALID_CURSOR, cursor);
+            }
+
+            Integer.parseInt(tokens[0]);
+            Long.parseLong(tokens[1]);
+
+            return tokens;
+        } catch (IllegalArgumentException e) {
+            throw new SnsApplicationException(ErrorCode.INVALID_CURSOR, cursor);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,143 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.repository.FollowEntityRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.TimelineRepository;
+import com.ddangme.sns.util.TransactionUtils;
+import com.ddangme.sns.util.WorkerThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+// 홈 타임라인. 작성 시 팔로워들의 타임라인에 post id 를 넣고(push),
+// 팔로워가 많은 유저의 post 는 읽을 때 합친다(pull).
+@Slf4j
+@Service
+public class TimelineService {
+
+    private final TimelineRepository timelineRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final FollowEntityRepository followEntityRepository;
+    private final FollowService followService;
+    private final int fanOutChunkSize;
+
+    // 팔로워가 많아도 요청 스레드가 기다리지 않도록 fan-out 은 별도 스레드에서 한다.
+    // queue 가 가득 차면 그 post 는 fan-out 하지 않고, 팔로워의 타임라인이 다시 적재될 때 보이게 된다.
+    private final ExecutorService fanOutExecutor;
+
+    public TimelineService(TimelineRepository timelineRepository,
+                           PostEntityRepository postEntityRepository,
+                           FollowEntityRepository followEntityRepository,
+                           FollowService followService,
+                           WorkerThreads workerThreads,
+                           @Value("${timeline.fan-out-chunk-size}") int fanOutChunkSize,
+                           @Value("${timeline.fan-out-threads}") int fanOutThreads,
+                           @Value("${timeline.fan-out-queue-capacity}") int fanOutQueueCapacity) {
+        this.timelineRepository = timelineRepository;
+        this.postEntityRepository = postEntityRepository;
+        this.followEntityRepository = followEntityRepository;
+        this.followService = followService;
+        this.fanOutExecutor = workerThreads.boundedExecutor("timeline-fanout", fanOutThreads, fanOutQueueCapacity);
+        this.fanOutChunkSize = fanOutChunkSize;
+    }
+
+    // post 를 저장한 트랜잭션이 커밋된 뒤에 fan-out 한다.
+    public void publish(Integer postId, Integer writerId, Timestamp registeredAt) {
+        TransactionUtils.afterCommit(() -> {
+            try {
+                fanOutExecutor.execute(() -> fanOut(postId, writerId, registeredAt));
+            } catch (RejectedExecutionException e) {
+                log.warn("Fan-out queue is full. skip post {}", postId);
+            }
+        });
+    }
+
+    public Slice<PostSummary> timeline(Integer userId, String cursor, int size) {
+        Pageable limit = Cursor.limit(size);
+        Cursor position = cursor == null ? null : Cursor.decode(cursor);
+
+        TimelineRepository.Timeline timeline = timelineRepository.get(userId,
+                id -> postEntityRepository.findTimelinePosts(id, PageRequest.of(0, timelineRepository.getCapacity())));
+
+        // 다음 페이지가 있는지 알기 위해 한 건 더 읽는다.
+        List<Integer> postIds = timeline.before(position, limit.getPageSize() + 1);
+        List<Integer> celebrities = followService.followedCelebrities(userId);
+        Pageable fetch = PageRequest.of(0, limit.getPageSize() + 1);
+
+        List<PostSummary> posts;
+        if (celebrities.isEmpty()) {
+            posts = postIds.isEmpty() ? List.of() : postEntityRepository.findAllSummariesByIdIn(postIds);
+        } else if (position == null) {
+            posts = postEntityRepository.findTimeline(orNone(postIds), celebrities, fetch);
+        } else {
+            posts = postEntityRepository.findTimeline(orNone(postIds), celebrities, position.getRegisteredAt(), position.getId(), fetch);
+        }
+
+        // 삭제된 post 는 조회되지 않으므로 페이지가 size 보다 짧을 수 있다.
+        boolean hasNext = posts.size() > limit.getPageSize() || postIds.size() > limit.getPageSize();
+        List<PostSummary> content = posts.size() > limit.getPageSize() ? posts.subList(0, limit.getPageSize()) : posts;
+
+        return new SliceImpl<>(content, limit, hasNext);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdown();
+    }
+
+    private void fanOut(Integer postId, Integer writerId, Timestamp registeredAt) {
+        try {
+            pushToFollowers(postId, writerId, registeredAt);
+        } catch (DataAccessException e) {
+            // 타임라인이 다시 적재될 때 DB 에서 읽어오므로 다시 시도하지 않는다.
+            log.error("Error occurs while fanning out post {}. {}", postId, e.toString());
+        }
+    }
+
+    private void pushToFollowers(Integer postId, Integer writerId, Timestamp registeredAt) {
+        timelineRepository.push(writerId, postId, registeredAt);
+
+        if (followService.isCelebrity(writerId)) {
+            return;
+        }
+
+        Integer lastFollowerId = 0;
+        int pushed = 0;
+
+        while (true) {
+            List<Integer> followerIds = followEntityRepository.findFollowerIds(writerId, lastFollowerId, PageRequest.of(0, fanOutChunkSize));
+
+            for (Integer followerId : followerIds) {
+                timelineRepository.push(followerId, postId, registeredAt);
+            }
+
+            pushed += followerIds.size();
+
+            if (followerIds.size() < fanOutChunkSize) {
+                break;
+            }
+
+            lastFollowerId = followerIds.get(followerIds.size() - 1);
+        }
+
+        log.debug("Post {} fanned out to {} followers", postId, pushed);
+    }
+
+    // 빈 IN 절은 SQL 로 만들 수 없으므로 존재하지 않는 id 로 대신한다.
+    private static List<Integer> orNone(List<Integer> postIds) {
+        return postIds.isEmpty() ? List.of(0) : postIds;
+    }
+}
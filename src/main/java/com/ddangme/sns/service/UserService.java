@@ -2,12 +2,14 @@ package com.ddangme.sns.service;
 
 import com.ddangme.sns.exception.ErrorCode;
 import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.DeletionTarget;
 import com.ddangme.sns.model.User;
 import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.RecentWriterCacheRepository;
+import com.ddangme.sns.repository.UserCacheRepository;
 import com.ddangme.sns.repository.UserEntityRepository;
-import com.ddangme.sns.util.JwtTokenUtils;
+import com.ddangme.sns.util.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -21,16 +23,16 @@ public class UserService {
 
     private final UserEntityRepository userEntityRepository;
     private final BCryptPasswordEncoder encoder;
+    private final UserCacheRepository userCacheRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final DeletionService deletionService;
+    private final RecentWriterCacheRepository recentWriterCacheRepository;
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${jwt.token.expired-time-ms}")
-    private Long expiredTimeMs;
-
+    @Transactional(readOnly = true)
     public User loadUserByUserName(String userName) {
-        return userEntityRepository.findByUserName(userName).map(User::fromEntity).orElseThrow(() ->
-                new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
+        return userCacheRepository.getUser(userName, name ->
+                userEntityRepository.findByUserName(name).map(User::fromEntity).orElseThrow(() ->
+                        new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", name))));
     }
 
 
@@ -48,7 +50,19 @@ public class UserService {
     }
 
 
+    // 계정만 바로 soft delete 하고, 작성한 post, 좋아요, 댓글, 알람은 DeletionService 가 지운다.
+    @Transactional
+    public void delete(Integer userId) {
+        UserEntity userEntity = userEntityRepository.findById(userId)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%d not founded", userId)));
+
+        userEntityRepository.delete(userEntity);
+        deletionService.request(DeletionTarget.USER, userId);
+        recentWriterCacheRepository.written(userId);
+    }
+
     // TODO : implement
+    // 가입 직후에는 replica 에 아직 없을 수 있으므로 primary 에서 읽고, 이어지는 요청이 replica 를 읽지 않도록 캐시에 넣어둔다.
     public String login(String userName, String password) {
         // 회원가입 여부 체크
         UserEntity userEntity = userEntityRepository.findByUserName(userName)
@@ -59,8 +73,10 @@ public class UserService {
             throw new SnsApplicationException(ErrorCode.INVALID_PASSWORD);
         }
 
+        userCacheRepository.getUser(userName, name -> User.fromEntity(userEntity));
+
         // 토큰 생성
-        String token = JwtTokenUtils.generatedToken(userName, secretKey, expiredTimeMs);
+        String token = jwtTokenProvider.generateToken(userName);
 
         return token;
     }
@@ -0,0 +1,77 @@
+package com.ddangme.sns.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 고정 크기(depth * width)의 빈도 추정 sketch. 값은 실제 빈도 이상으로만 틀린다.
+// 칸마다 atomic 으로 더하므로 여러 스레드가 lock 없이 동시에 더할 수 있다.
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(String key, long count) {
+        int hash1 = hash1(key);
+        int hash2 = hash2(hash1);
+
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(index(row, hash1, hash2), count);
+        }
+    }
+
+    public long estimate(String key) {
+        return estimate(new CountMinSketch[]{this}, key);
+    }
+
+    // 같은 크기의 sketch 들을 합친 빈도. 행마다 먼저 더한 뒤 최솟값을 고르므로 sketch 별 추정치를 더하는 것보다 정확하다.
+    public static long estimate(CountMinSketch[] sketches, String key) {
+        int hash1 = hash1(key);
+        int hash2 = hash2(hash1);
+        long min = Long.MAX_VALUE;
+
+        for (int row = 0; row < sketches[0].depth; row++) {
+            long sum = 0;
+            for (CountMinSketch sketch : sketches) {
+                sum += sketch.counters.get(sketch.index(row, hash1, hash2));
+            }
+            min = Math.min(min, sum);
+        }
+
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    // 두 hash 의 선형 결합으로 행마다 다른 hash 를 만든다. (Kirsch-Mitzenmacher)
+    private int index(int row, int hash1, int hash2) {
+        return row * width + Math.floorMod(hash1 + row * hash2, width);
+    }
+
+    private static int hash1(String key) {
+        return mix(key.hashCode());
+    }
+
+    private static int hash2(int hash1) {
+        return mix(hash1 ^ 0x9E3779B9) | 1;
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
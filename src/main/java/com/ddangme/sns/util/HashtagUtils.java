@@ -0,0 +1,35 @@
+package com.ddangme.sns.util;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class HashtagUtils {
+
+    public static final int MAX_LENGTH = 50;
+
+    // 글자, 숫자, _ 로 이루어진 #태그. 단어 중간의 # (예: C#, a#b) 는 태그로 보지 않는다.
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_#])#([\\p{L}\\p{N}_]+)");
+
+    // 본문에 나온 순서대로, 소문자로 바꾼 중복 없는 태그를 maxCount 개까지 돌려준다.
+    public static Set<String> extract(String body, int maxCount) {
+        Set<String> tags = new LinkedHashSet<>();
+
+        if (body == null) {
+            return tags;
+        }
+
+        Matcher matcher = HASHTAG.matcher(body);
+        while (matcher.find() && tags.size() < maxCount) {
+            String tag = matcher.group(1);
+
+            if (tag.length() <= MAX_LENGTH) {
+                tags.add(tag.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        return tags;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ddangme.sns.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Key 와 JwtParser 는 시작 시 한 번만 만들고, 토큰은 요청마다 한 번만 파싱한다.
+// 이미 검증한 토큰은 digest 를 key 로 만료 시각까지 캐시해서 같은 클라이언트의 반복 요청은 서명 검증을 생략한다.
+@Component
+public class JwtTokenProvider implements MeterBinder {
+
+    // 용도가 제한된 토큰(SubscribeTicketProvider)에만 있다. access token 으로는 쓸 수 없다.
+    public static final String SCOPE_CLAIM = "scope";
+
+    private static final String USER_NAME_CLAIM = "userName";
+
+    private final Key key;
+    private final JwtParser parser;
+    private final long expiredTimeMs;
+    private final Cache<String, VerifiedToken> verifiedTokenCache;
+
+    public JwtTokenProvider(@Value("${jwt.secret-key}") String secretKey,
+                            @Value("${jwt.token.expired-time-ms}") long expiredTimeMs,
+                            @Value("${cache.token.maximum-size}") long maximumSize) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expiredTimeMs = expiredTimeMs;
+        this.verifiedTokenCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new VerifiedTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public String generateToken(String userName) {
+        Claims claims = Jwts.claims();
+        claims.put(USER_NAME_CLAIM, userName);
+
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiredTimeMs))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // 서명이 올바르지 않거나 만료됐거나 용도가 제한된 토큰이면 JwtException 을 던진다.
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        VerifiedToken verified = parse(token);
+        if (verified.getExpiredAt() != null) {
+            verifiedTokenCache.put(digest, verified);
+        }
+
+        return verified;
+    }
+
+    // 캐시를 거치지 않는 검증 경로. 만료 확인은 JwtParser 가 함께 처리한다.
+    VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+
+        if (claims.get(SCOPE_CLAIM) != null) {
+            throw new UnsupportedJwtException("Scoped token cannot be used as an access token");
+        }
+
+        return new VerifiedToken(
+                claims.get(USER_NAME_CLAIM, String.class),
+                expiration == null ? null : expiration.getTime()
+        );
+    }
+
+    public CacheStats stats() {
+        return verifiedTokenCache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokenCache, "token");
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class VerifiedToken {
+
+        private final String userName;
+        private final Long expiredAt;
+
+        public boolean isExpired() {
+            return expiredAt != null && expiredAt <= System.currentTimeMillis();
+        }
+    }
+
+    // 캐시 항목은 토큰의 exp 시각에 만료된다.
+    private static class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainMs = Math.max(0, value.getExpiredAt() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainMs);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ddangme.sns.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+// EventSource 는 헤더를 지정할 수 없어서 SSE 연결은 query parameter 로 인증한다.
+// 접근 로그에 남는 값이 access token 이 되지 않도록, 알람 구독에만 쓸 수 있고 몇 초 뒤 만료되는 ticket 을 따로 발급한다.
+// 서명된 값이라 어느 인스턴스로 연결해도 검증되고, 한 인스턴스 안에서는 한 번만 쓸 수 있다.
+@Component
+public class SubscribeTicketProvider {
+
+    public static final String SCOPE = "alarm-subscribe";
+
+    private static final String USER_NAME_CLAIM = "userName";
+
+    private final Key key;
+    private final JwtParser parser;
+    private final long expiredTimeMs;
+    // 이미 쓴 ticket id. ticket 이 만료되면 다시 쓸 수 없으므로 그때까지만 들고 있는다.
+    private final Cache<String, Boolean> usedTicketIds;
+
+    public SubscribeTicketProvider(@Value("${jwt.secret-key}") String secretKey,
+                                   @Value("${jwt.subscribe-ticket.expired-time-ms}") long expiredTimeMs,
+                                   @Value("${jwt.subscribe-ticket.maximum-size}") long maximumSize) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expiredTimeMs = expiredTimeMs;
+        this.usedTicketIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expiredTimeMs))
+                .build();
+    }
+
+    public String generateTicket(String userName) {
+        Claims claims = Jwts.claims();
+        claims.put(USER_NAME_CLAIM, userName);
+        claims.put(JwtTokenProvider.SCOPE_CLAIM, SCOPE);
+
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiredTimeMs))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // ticket 의 userName. 서명이 올바르지 않거나 만료됐거나 이미 쓴 ticket 이면 JwtException 을 던진다.
+    public String verify(String ticket) {
+        Claims claims = parser.parseClaimsJws(ticket).getBody();
+
+        if (!SCOPE.equals(claims.get(JwtTokenProvider.SCOPE_CLAIM, String.class)) || claims.getId() == null) {
+            throw new UnsupportedJwtException("Not a subscribe ticket");
+        }
+
+        if (usedTicketIds.asMap().putIfAbsent(claims.getId(), Boolean.TRUE) != null) {
+            throw new JwtException("Subscribe ticket already used");
+        }
+
+        return claims.get(USER_NAME_CLAIM, String.class);
+    }
+}
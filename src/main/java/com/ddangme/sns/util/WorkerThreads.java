@@ -0,0 +1,81 @@
+package com.ddangme.sns.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 요청 처리, 백그라운드 작업, 스케줄러가 쓸 스레드를 만든다.
+// threads.virtual.enabled 가 true 면 virtual thread 를 만든다. Java 21 이상에서 실행해야 하고,
+// 빌드는 Java 17 로 하므로 virtual thread API 는 reflection 으로 부른다.
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(@Value("${threads.virtual.enabled}") boolean virtual) {
+        this.virtual = virtual;
+
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("threads.virtual.enabled requires Java 21 or later. current: " + Runtime.version());
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    // 이름이 prefix-0, prefix-1, ... 인 daemon 스레드를 만든다.
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            return virtualFactory(prefix);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // 순서대로 처리해야 하는 작업을 위한 스레드 하나짜리 executor
+    public ExecutorService singleThreadExecutor(String name) {
+        return Executors.newSingleThreadExecutor(factory(name));
+    }
+
+    // 스레드 threads 개와 queueCapacity 크기의 queue 를 가진 executor. queue 가 가득 차면 execute 가 RejectedExecutionException 을 던진다.
+    public ExecutorService boundedExecutor(String prefix, int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory(prefix));
+    }
+
+    // 작업마다 virtual thread 를 하나씩 만드는 executor. virtual 모드에서만 쓴다.
+    public ExecutorService perTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, virtualFactory(prefix));
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    // Thread.ofVirtual().name(prefix + "-", 0).factory()
+    private static ThreadFactory virtualFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- post, comment id 구간을 나눠주는 id_sequence row 를 만든다. (IdBlock 참고)
+-- IDENTITY 로 쓰던 DB 나 archive 로 옮겨진 row 의 id 를 다시 쓰지 않도록, 이미 쓰인 가장 큰 id 다음부터 시작한다.
+INSERT INTO id_sequence (sequence_name, next_val)
+SELECT 'post', 1 FROM (SELECT 1 AS one) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE sequence_name = 'post');
+
+INSERT INTO id_sequence (sequence_name, next_val)
+SELECT 'comment', 1 FROM (SELECT 1 AS one) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE sequence_name = 'comment');
+
+UPDATE id_sequence
+SET next_val = GREATEST(next_val,
+        (SELECT COALESCE(MAX(post_id), 0) + 1 FROM post),
+        (SELECT COALESCE(MAX(row_id), 0) + 1 FROM archive WHERE table_name = 'post'))
+WHERE sequence_name = 'post';
+
+UPDATE id_sequence
+SET next_val = GREATEST(next_val,
+        (SELECT COALESCE(MAX(comment_id), 0) + 1 FROM comment),
+        (SELECT COALESCE(MAX(row_id), 0) + 1 FROM archive WHERE table_name = 'comment'))
+WHERE sequence_name = 'comment';
@@ -0,0 +1,175 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.configuration.ReactiveReadConfig;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.service.HotPostService;
+import com.ddangme.sns.service.PostService;
+import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.JwtTokenProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@ActiveProfiles({"test", "reactive"})
+@SpringBootTest
+public class ReactiveReadTest {
+
+    @Autowired
+    private ReactiveReadConfig.ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private HotPostService hotPostService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @DisplayName("리액티브 조회 - 내 포스트 목록을 읽는다")
+    @Test
+    void my_posts() {
+        User user = userService.join("reactive_writer", "password");
+        postService.create("reactive title", "reactive body", user.getId());
+
+        client().get().uri("/api/v1/posts/my")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.content[0].title").isEqualTo("reactive title");
+    }
+
+    @DisplayName("리액티브 조회 - 미로그인")
+    @Test
+    void my_posts_none_login() {
+        client().get().uri("/api/v1/posts/my")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @DisplayName("리액티브 조회 - 토큰이 빈 Bearer 헤더는 미로그인으로 처리한다")
+    @Test
+    void my_posts_empty_bearer() {
+        client().get().uri("/api/v1/posts/my")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer   ")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @DisplayName("리액티브 조회 - sort 파라미터로 정렬한다")
+    @Test
+    void my_posts_sorted() {
+        // Given
+        User user = userService.join("reactive_sorter", "password");
+        postService.create("a title", "body", user.getId());
+        postService.create("b title", "body", user.getId());
+
+        // When & Then
+        client().get().uri("/api/v1/posts/my?sort=title,asc")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.content[0].title").isEqualTo("a title");
+
+        client().get().uri("/api/v1/posts/my?sort=title,desc")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.content[0].title").isEqualTo("b title");
+    }
+
+    @DisplayName("리액티브 조회 - 정렬할 수 없는 속성이면 MVC 처럼 실패한다")
+    @Test
+    void my_posts_unknown_sort() {
+        User user = userService.join("reactive_bad_sorter", "password");
+
+        client().get().uri("/api/v1/posts/my?sort=password")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @DisplayName("리액티브 조회 - mode=HOT 이면 인기순으로 읽는다")
+    @Test
+    void hot_posts() {
+        // Given
+        User writer = userService.join("reactive_hot_writer", "password");
+        postService.create("hot title", "body", writer.getId());
+        postService.create("cold title", "body", writer.getId());
+        Integer hotPostId = postService.myFeedList(writer.getId(), PageRequest.of(0, 10)).stream()
+                .filter(post -> post.getTitle().equals("hot title"))
+                .map(PostSummary::getId)
+                .findFirst()
+                .orElseThrow();
+
+        for (int i = 0; i < 3; i++) {
+            User liker = userService.join("reactive_hot_liker_" + i, "password");
+            postService.like(hotPostId, liker.getId());
+        }
+        hotPostService.refresh();
+
+        // When & Then
+        client().get().uri("/api/v1/posts?mode=HOT&size=5")
+                .header(HttpHeaders.AUTHORIZATION, bearer(writer))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.content[0].title").isEqualTo("hot title");
+    }
+
+    @DisplayName("리액티브 조회 - 댓글 목록이 바뀌지 않았으면 304 로 응답한다")
+    @Test
+    void comments_not_modified() {
+        // Given
+        User user = userService.join("reactive_commenter", "password");
+        postService.create("comment title", "body", user.getId());
+        Integer postId = postService.myFeedList(user.getId(), PageRequest.of(0, 1)).getContent().get(0).getId();
+        postService.comment(postId, user.getId(), "comment");
+
+        String etag = client().get().uri("/api/v1/posts/{postId}/comments", postId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // When & Then
+        client().get().uri("/api/v1/posts/{postId}/comments", postId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        postService.comment(postId, user.getId(), "another comment");
+
+        client().get().uri("/api/v1/posts/{postId}/comments", postId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtTokenProvider.generateToken(user.getUsername());
+    }
+
+    private WebTestClient client() {
+        return WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.ddangme.sns.configuration;
+
+import com.ddangme.sns.model.CompactionTable;
+import com.ddangme.sns.service.DeletionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class MetricsConfigTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DeletionService deletionService;
+
+    @DisplayName("metric 이름 - 대시보드에서 쓰는 이름으로 등록된다")
+    @Test
+    void metric_names() {
+        assertThat(meterRegistry.find("alarm.write.queue.size").gauge()).isNotNull();
+        assertThat(meterRegistry.find("alarm.write.written").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("alarm.write.dropped").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("alarm.write.failed").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("compaction.moved").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("deletion.jobs.running").gauge()).isNotNull();
+
+        for (CompactionTable table : CompactionTable.values()) {
+            assertThat(meterRegistry.find("compaction.last.run.moved").tag("table", table.getTable()).gauge()).isNotNull();
+        }
+    }
+
+    @DisplayName("deletion.jobs.running - scrape 할 때 세지 않고 마지막으로 센 값을 돌려준다")
+    @Test
+    void deletion_jobs_running_from_refreshed_count() {
+        // When
+        deletionService.refreshRunningCount();
+
+        // Then
+        assertThat(meterRegistry.get("deletion.jobs.running").gauge().value()).isEqualTo(deletionService.getRunningCount());
+    }
+}
@@ -0,0 +1,58 @@
+package com.ddangme.sns.configuration;
+
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.service.PostService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class ServiceTimerAspectTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DisplayName("service.method - 클래스와 메소드 이름으로 실행 시간을 기록한다")
+    @Test
+    void time_service_method() {
+        // Given
+        long before = count("feedList", "none");
+
+        // When
+        postService.feedList(null, 5);
+
+        // Then
+        assertThat(count("feedList", "none")).isEqualTo(before + 1);
+    }
+
+    @DisplayName("service.method - 예외가 나면 예외 이름을 tag 로 남긴다")
+    @Test
+    void time_service_method_exception() {
+        // Given
+        long before = count("detail", "SnsApplicationException");
+
+        // When
+        assertThrows(SnsApplicationException.class, () -> postService.detail(Integer.MAX_VALUE));
+
+        // Then
+        assertThat(count("detail", "SnsApplicationException")).isEqualTo(before + 1);
+    }
+
+    private long count(String method, String exception) {
+        Timer timer = meterRegistry.find("service.method")
+                .tags("class", "PostService", "method", method, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
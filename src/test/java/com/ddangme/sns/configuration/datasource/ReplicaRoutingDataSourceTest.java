@@ -0,0 +1,97 @@
+package com.ddangme.sns.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커넥션을 꺼내지 않고 lookup key 만 확인하므로 풀은 시작하지 않는다.
+public class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaDataSources dataSources = new ReplicaDataSources(pool(ReplicaDataSources.PRIMARY),
+                List.of(pool("replica-0"), pool("replica-1")), 1);
+        routingDataSource = new ReplicaRoutingDataSource(dataSources, () -> false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("replica 고정 - 한 요청의 조회는 트랜잭션이 달라도 같은 replica 를 쓴다")
+    @Test
+    void pin_replica_to_request() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // When
+        Object first = routingDataSource.determineCurrentLookupKey();
+        Object second = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertThat(first).isIn("replica-0", "replica-1");
+        assertThat(second).isEqualTo(first);
+    }
+
+    @DisplayName("replica 고정 - 요청이 다르면 replica 를 돌아가며 고른다")
+    @Test
+    void next_replica_per_request() {
+        // When
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Object first = routingDataSource.determineCurrentLookupKey();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Object second = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica-0", "replica-1");
+    }
+
+    @DisplayName("replica 고정 - 요청 밖에서는 트랜잭션이 끝날 때까지 같은 replica 를 쓴다")
+    @Test
+    void pin_replica_to_transaction() {
+        // When
+        Object first = routingDataSource.determineCurrentLookupKey();
+        Object second = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(TransactionSynchronizationManager.hasResource(
+                ReplicaRoutingDataSource.class.getName() + ".PINNED_REPLICA")).isTrue();
+    }
+
+    @DisplayName("replica 고정 - readOnly 가 아닌 트랜잭션은 primary 를 쓴다")
+    @Test
+    void primary_for_write() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        // When & Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaDataSources.PRIMARY);
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
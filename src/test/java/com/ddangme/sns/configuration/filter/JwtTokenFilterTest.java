@@ -0,0 +1,45 @@
+package com.ddangme.sns.configuration.filter;
+
+import com.ddangme.sns.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JwtTokenFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("토큰 추출 - Bearer 뒤에 토큰이 없으면 null")
+    @Test
+    void resolve_empty_bearer() {
+        assertThat(JwtAuthenticator.resolveToken("Bearer ")).isNull();
+        assertThat(JwtAuthenticator.resolveToken("Bearer    ")).isNull();
+        assertThat(JwtAuthenticator.resolveToken("Bearer")).isNull();
+        assertThat(JwtAuthenticator.resolveToken("Bearer  token ")).isEqualTo("token");
+    }
+
+    @DisplayName("인증 - 토큰이 빈 Bearer 헤더는 미로그인으로 처리한다")
+    @Test
+    void empty_bearer_header() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/my/cursor")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer   ")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().is(ErrorCode.INVALID_TOKEN.getStatus().value()));
+    }
+}
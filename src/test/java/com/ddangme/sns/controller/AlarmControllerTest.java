@@ -1,7 +1,10 @@
 package com.ddangme.sns.controller;
 
+import com.ddangme.sns.fixture.UserEntityFixture;
+import com.ddangme.sns.model.User;
 import com.ddangme.sns.service.AlarmService;
 import com.ddangme.sns.service.UserService;
+import com.ddangme.sns.util.JwtTokenProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +44,9 @@ public class AlarmControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
 
     @DisplayName("알림 리스트 - 정상 동작")
     @Test
@@ -64,4 +71,38 @@ public class AlarmControllerTest {
                 .andDo(print())
                 .andExpect(status().isUnauthorized());
     }
+
+    @DisplayName("알림 구독 - access token 을 query parameter 로 보내면 인증되지 않는다")
+    @Test
+    void alarm_subscribe_with_access_token() throws Exception {
+        when(userService.loadUserByUserName("userName"))
+                .thenReturn(User.fromEntity(UserEntityFixture.get("userName", "password", 1)));
+        String token = jwtTokenProvider.generateToken("userName");
+
+        mockMvc.perform(get("/api/v1/alarm/subscribe")
+                        .param("token", token)
+                        .param("ticket", token))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("알림 구독 ticket - 미로그인")
+    @Test
+    @WithAnonymousUser
+    void alarm_subscribe_ticket_none_login() throws Exception {
+        mockMvc.perform(post("/api/v1/alarm/subscribe-ticket")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("읽지 않은 알림 수 - 미로그인")
+    @Test
+    @WithAnonymousUser
+    void alarm_unread_count_none_login() throws Exception {
+        mockMvc.perform(get("/api/v1/alarm/unread-count")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -0,0 +1,80 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.DeletionJob;
+import com.ddangme.sns.model.DeletionStep;
+import com.ddangme.sns.model.DeletionTarget;
+import com.ddangme.sns.service.DeletionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DeletionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeletionService deletionService;
+
+    @DisplayName("삭제 작업 조회 - 정상 동작")
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void deletion_job() throws Exception {
+        when(deletionService.getJob(1)).thenReturn(new DeletionJob(1, DeletionTarget.POST, 2,
+                DeletionStep.POST_COMMENTS, 30, 500, new Timestamp(System.currentTimeMillis()), null, null));
+
+        mockMvc.perform(get("/api/v1/deletion/jobs/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.step").value("POST_COMMENTS"))
+                .andExpect(jsonPath("$.result.lastId").value(30))
+                .andExpect(jsonPath("$.result.deletedCount").value(500));
+    }
+
+    @DisplayName("삭제 작업 조회 - 작업이 없는 경우")
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void deletion_job_not_found() throws Exception {
+        when(deletionService.getJob(1)).thenThrow(new SnsApplicationException(ErrorCode.DELETION_JOB_NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/deletion/jobs/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("진행 중인 삭제 작업 목록 - 관리자가 아닌 경우")
+    @Test
+    @WithMockUser
+    void running_deletion_jobs_not_admin() throws Exception {
+        when(deletionService.getRunningJobs(any())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/deletion/jobs")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
+}
@@ -5,6 +5,11 @@ import com.ddangme.sns.controller.request.PostCreateRequest;
 import com.ddangme.sns.controller.request.PostModifyRequest;
 import com.ddangme.sns.exception.ErrorCode;
 import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.TrendingHashtag;
+import com.ddangme.sns.model.TrendingWindow;
+import com.ddangme.sns.model.UserRole;
+import com.ddangme.sns.service.HashtagService;
 import com.ddangme.sns.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Disabled;
@@ -15,17 +20,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.Timestamp;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -42,6 +54,9 @@ public class PostControllerTest {
     @MockBean
     private PostService postService;
 
+    @MockBean
+    private HashtagService hashtagService;
+
 
     @DisplayName("포스트 작성 - 정상 동작")
     @Test
@@ -184,6 +199,79 @@ public class PostControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @DisplayName("포스트 상세 - 변경되지 않았으면 304")
+    @Test
+    @WithMockUser
+    void post_detail_not_modified() throws Exception {
+        when(postService.version(eq(1))).thenReturn("1-1000");
+
+        mockMvc.perform(get("/api/v1/posts/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"post-1-1000-false\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        verify(postService, never()).detail(any());
+    }
+
+    @DisplayName("피드 목록(커서) - 정상 동작")
+    @Test
+    @WithMockUser
+    void feed_list_cursor() throws Exception {
+        when(postService.feedList(any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
+
+        mockMvc.perform(get("/api/v1/posts/cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("피드 목록(커서) - 잘못된 커서")
+    @Test
+    @WithMockUser
+    void feed_list_invalid_cursor() throws Exception {
+        when(postService.feedList(eq("invalid"), anyInt())).thenThrow(new SnsApplicationException(ErrorCode.INVALID_CURSOR));
+
+        mockMvc.perform(get("/api/v1/posts/cursor")
+                        .param("cursor", "invalid")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("인기 태그 - 구간별 추정치 순으로 응답한다")
+    @Test
+    @WithMockUser
+    void hashtag_trending() throws Exception {
+        when(hashtagService.trending(eq(TrendingWindow.DAY), eq(5)))
+                .thenReturn(List.of(new TrendingHashtag("java", 3), new TrendingHashtag("spring", 1)));
+
+        mockMvc.perform(get("/api/v1/posts/hashtags/trending")
+                        .param("window", "DAY")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result[0].tag").value("java"))
+                .andExpect(jsonPath("$.result[0].count").value(3))
+                .andExpect(jsonPath("$.result[1].tag").value("spring"));
+    }
+
+    @DisplayName("태그 피드(커서) - 정상 동작")
+    @Test
+    @WithMockUser
+    void hashtag_feed_cursor() throws Exception {
+        PostSummary post = new PostSummary(1, "title", "#java body", 1, "userName", UserRole.USER,
+                new Timestamp(1000), null);
+        when(hashtagService.feed(eq("java"), any(), anyInt())).thenReturn(new SliceImpl<>(List.of(post)));
+
+        mockMvc.perform(get("/api/v1/posts/hashtags/java/cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].id").value(1));
+    }
+
     @DisplayName("내 피드 목록 - 정상 동작")
     @Test
     @WithMockUser
@@ -0,0 +1,91 @@
+package com.ddangme.sns.controller;
+
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.service.PostService;
+import com.ddangme.sns.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 로그인한 유저가 principal 이어야 좋아요 여부를 확인하므로, 실제로 로그인한 토큰으로 요청한다.
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PostLikedByMeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @DisplayName("포스트 상세 - 좋아요한 유저에게만 likedByMe 가 true 다")
+    @Test
+    void post_detail_liked_by_me() throws Exception {
+        // Given
+        User writer = userService.join("liked_detail_writer", "password");
+        User liker = userService.join("liked_detail_liker", "password");
+        userService.join("liked_detail_viewer", "password");
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        postService.like(post.getId(), liker.getId());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/posts/" + post.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("liked_detail_liker"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.likedByMe").value(true));
+
+        mockMvc.perform(get("/api/v1/posts/" + post.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("liked_detail_viewer"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.likedByMe").value(false));
+    }
+
+    @DisplayName("내 포스트 목록 - 좋아요한 post 만 likedByMe 가 true 다")
+    @Test
+    void my_feed_liked_by_me() throws Exception {
+        // Given
+        User writer = userService.join("liked_feed_writer", "password");
+        PostEntity liked = postEntityRepository.save(PostEntity.of("liked", "body", writer.getId()));
+        PostEntity notLiked = postEntityRepository.save(PostEntity.of("not liked", "body", writer.getId()));
+        postService.like(liked.getId(), writer.getId());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/posts/my/cursor")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("liked_feed_writer"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].id").value(notLiked.getId()))
+                .andExpect(jsonPath("$.result.content[0].likedByMe").value(false))
+                .andExpect(jsonPath("$.result.content[1].id").value(liked.getId()))
+                .andExpect(jsonPath("$.result.content[1].likedByMe").value(true));
+    }
+
+    private String bearer(String userName) {
+        return "Bearer " + userService.login(userName, "password");
+    }
+}
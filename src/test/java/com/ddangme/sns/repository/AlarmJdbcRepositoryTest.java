@@ -0,0 +1,94 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.AlarmUpdate;
+import com.ddangme.sns.model.entity.AlarmEntity;
+import com.ddangme.sns.model.entity.AlarmReadEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class AlarmJdbcRepositoryTest {
+
+    @Autowired
+    private AlarmJdbcRepository alarmJdbcRepository;
+
+    @Autowired
+    private AlarmEntityRepository alarmEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private AlarmReadEntityRepository alarmReadEntityRepository;
+
+    @DisplayName("알람 batch 저장 - JDBC 로 저장한 args 를 JPA 로 읽을 수 있다")
+    @Test
+    void save_all_then_read_args() {
+        // Given
+        UserEntity receiver = userEntityRepository.save(UserEntity.of("alarm_jdbc_receiver", "password"));
+        AlarmArgs args = new AlarmArgs(1, 2);
+
+        // When
+        List<Integer> ids = alarmJdbcRepository.saveAll(List.of(AlarmEvent.of(receiver.getId(), AlarmType.NEW_COMMENT_ON_POST, args)));
+
+        // Then
+        assertThat(alarmEntityRepository.findAllById(ids))
+                .singleElement()
+                .extracting(AlarmEntity::getArgs)
+                .isEqualTo(args);
+    }
+
+    @DisplayName("알람 batch 수정 - JDBC 로 바꾼 args 를 JPA 로 읽을 수 있다")
+    @Test
+    void update_all_then_read_args() {
+        // Given
+        UserEntity receiver = userEntityRepository.save(UserEntity.of("alarm_jdbc_updated", "password"));
+        Integer alarmId = alarmJdbcRepository.saveAll(
+                List.of(AlarmEvent.of(receiver.getId(), AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(1, 2)))).get(0);
+        AlarmArgs coalesced = new AlarmArgs(3, 2, List.of(3, 1));
+
+        // When
+        List<AlarmUpdate> missed = alarmJdbcRepository.updateAll(List.of(new AlarmUpdate(alarmId, receiver.getId(),
+                AlarmType.NEW_LIKE_ON_POST, coalesced, new Timestamp(System.currentTimeMillis()), 1, 2)));
+
+        // Then
+        assertThat(missed).isEmpty();
+        AlarmEntity alarm = alarmEntityRepository.findById(alarmId).orElseThrow();
+        assertThat(alarm.getArgs()).isEqualTo(coalesced);
+        assertThat(alarm.getEventCount()).isEqualTo(2);
+    }
+
+    @DisplayName("알람 batch 수정 - 읽음 처리된 알람에는 더하지 않고 반영되지 않은 변경분으로 돌려준다")
+    @Test
+    void update_all_skips_read_alarm() {
+        // Given
+        UserEntity receiver = userEntityRepository.save(UserEntity.of("alarm_jdbc_read", "password"));
+        Integer alarmId = alarmJdbcRepository.saveAll(
+                List.of(AlarmEvent.of(receiver.getId(), AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(1, 2)))).get(0);
+        AlarmReadEntity read = AlarmReadEntity.of(receiver.getId());
+        read.setLastReadAlarmId(alarmId);
+        alarmReadEntityRepository.save(read);
+        AlarmUpdate update = new AlarmUpdate(alarmId, receiver.getId(), AlarmType.NEW_LIKE_ON_POST,
+                new AlarmArgs(3, 2, List.of(3, 1)), new Timestamp(System.currentTimeMillis()), 1, 2);
+
+        // When
+        List<AlarmUpdate> missed = alarmJdbcRepository.updateAll(List.of(update));
+
+        // Then
+        assertThat(missed).containsExactly(update);
+        assertThat(alarmEntityRepository.findById(alarmId).orElseThrow().getEventCount()).isEqualTo(1);
+    }
+}
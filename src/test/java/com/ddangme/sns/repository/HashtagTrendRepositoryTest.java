@@ -0,0 +1,65 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.TrendingHashtag;
+import com.ddangme.sns.model.TrendingWindow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class HashtagTrendRepositoryTest {
+
+    @DisplayName("인기 태그 - 추정치가 높은 순으로 돌려준다")
+    @Test
+    void top_by_estimate() {
+        // Given
+        HashtagTrendRepository repository = new HashtagTrendRepository(4, 2048, 10);
+        long now = System.currentTimeMillis();
+
+        // When
+        repository.add(List.of("java", "spring"), now);
+        repository.add(List.of("java"), now);
+        repository.add(List.of("java", "kotlin"), now);
+
+        // Then
+        assertThat(repository.top(TrendingWindow.HOUR, 2))
+                .extracting(TrendingHashtag::getTag, TrendingHashtag::getCount)
+                .containsExactly(tuple("java", 3L), tuple("kotlin", 1L));
+    }
+
+    @DisplayName("구간 회전 - 구간이 지난 태그는 짧은 구간에서 빠지고 긴 구간에는 남는다")
+    @Test
+    void rotate_drops_expired_buckets() {
+        // Given
+        HashtagTrendRepository repository = new HashtagTrendRepository(4, 2048, 10);
+        long now = System.currentTimeMillis();
+        repository.add(List.of("java"), now);
+
+        // When
+        repository.rotate(now + TrendingWindow.HOUR.getDuration().toMillis());
+
+        // Then
+        assertThat(repository.top(TrendingWindow.HOUR, 10)).isEmpty();
+        assertThat(repository.top(TrendingWindow.DAY, 10))
+                .extracting(TrendingHashtag::getTag)
+                .containsExactly("java");
+    }
+
+    @DisplayName("태그 추가 - 구간보다 오래된 시각의 태그는 세지 않는다")
+    @Test
+    void add_ignores_outside_window() {
+        // Given
+        HashtagTrendRepository repository = new HashtagTrendRepository(4, 2048, 10);
+        long now = System.currentTimeMillis();
+
+        // When
+        repository.add(List.of("old"), now - TrendingWindow.HOUR.getDuration().toMillis() - TrendingWindow.HOUR.getBucketMs());
+
+        // Then
+        assertThat(repository.top(TrendingWindow.HOUR, 10)).isEmpty();
+        assertThat(repository.top(TrendingWindow.DAY, 10)).extracting(TrendingHashtag::getTag).containsExactly("old");
+    }
+}
@@ -0,0 +1,89 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.HotScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotPostRepositoryTest {
+
+    private static final double NO_FLOOR = Double.NEGATIVE_INFINITY;
+
+    @DisplayName("인기 순위 - 순위 밖의 post 도 점수가 쌓여서 순위에 들어온다")
+    @Test
+    void rising_post_enters_ranking() {
+        // Given
+        HotPostRepository repository = new HotPostRepository(1, 100);
+        repository.add(1, 10);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            repository.add(2, 9);
+            repository.refresh(NO_FLOOR);
+        }
+
+        // Then
+        // log2(3 * 2^9) > 10
+        assertThat(repository.getRanking()).containsExactly(2);
+        assertThat(repository.size()).isEqualTo(2);
+    }
+
+    @DisplayName("인기 순위 - floor 보다 낮아진 점수는 버린다")
+    @Test
+    void evict_below_floor() {
+        // Given
+        HotPostRepository repository = new HotPostRepository(10, 100);
+        repository.add(1, 10);
+        repository.add(2, 3);
+
+        // When
+        repository.refresh(5);
+
+        // Then
+        assertThat(repository.getRanking()).containsExactly(1);
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    @DisplayName("인기 순위 - max-tracked 개를 넘으면 낮은 점수부터 버린다")
+    @Test
+    void evict_over_max_tracked() {
+        // Given
+        HotPostRepository repository = new HotPostRepository(1, 2);
+        repository.add(1, 10);
+        repository.add(2, 9);
+        repository.add(3, 8);
+
+        // When
+        repository.refresh(NO_FLOOR);
+        repository.add(3, 8);
+        repository.refresh(NO_FLOOR);
+
+        // Then
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.refresh(NO_FLOOR)).extracting(HotScore::getPostId).containsExactly(1);
+    }
+
+    @DisplayName("인기 순위 - 뺀 반응만큼 순위가 내려가고, 남는 점수가 없으면 버린다")
+    @Test
+    void subtract_score() {
+        // Given
+        HotPostRepository repository = new HotPostRepository(10, 100);
+        repository.add(1, 10);
+        repository.add(1, 10);
+        repository.add(2, 10.5);
+
+        // When
+        repository.subtract(1, 10);
+        repository.refresh(NO_FLOOR);
+
+        // Then
+        assertThat(repository.getRanking()).containsExactly(2, 1);
+
+        // When
+        repository.subtract(1, 10);
+
+        // Then
+        assertThat(repository.size()).isEqualTo(1);
+    }
+}
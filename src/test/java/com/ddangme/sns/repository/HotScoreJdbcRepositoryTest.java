@@ -0,0 +1,41 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.HotScore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class HotScoreJdbcRepositoryTest {
+
+    @Autowired
+    private HotScoreJdbcRepository hotScoreJdbcRepository;
+
+    @DisplayName("인기 순위 checkpoint - 인스턴스끼리 덮어쓰지 않고 post 별 최댓값으로 복구한다")
+    @Test
+    void checkpoint_per_instance() {
+        // Given
+        Timestamp keepAll = new Timestamp(0);
+        hotScoreJdbcRepository.replaceAll("checkpoint-a", List.of(new HotScore(-1, 5), new HotScore(-2, 3)), keepAll);
+
+        // When
+        hotScoreJdbcRepository.replaceAll("checkpoint-b", List.of(new HotScore(-1, 7)), keepAll);
+        hotScoreJdbcRepository.replaceAll("checkpoint-a", List.of(new HotScore(-1, 6), new HotScore(-2, 4)), keepAll);
+
+        // Then
+        Map<Integer, Double> restored = hotScoreJdbcRepository.findAll().stream()
+                .filter(score -> score.getPostId() < 0)
+                .collect(Collectors.toMap(HotScore::getPostId, HotScore::getScore));
+        assertThat(restored).containsEntry(-1, 7.0).containsEntry(-2, 4.0);
+    }
+}
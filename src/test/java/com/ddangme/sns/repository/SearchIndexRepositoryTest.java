@@ -0,0 +1,97 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.SearchDocument;
+import com.ddangme.sns.model.SearchResult;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.QueryBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SearchIndexRepositoryTest {
+
+    @TempDir
+    Path indexPath;
+
+    @DisplayName("재색인 - 새 generation 에 만든 색인으로 바꾸고 이전 generation 을 지운다")
+    @Test
+    void rebuild_swaps_generation() throws Exception {
+        // Given
+        SearchIndexRepository repository = new SearchIndexRepository(indexPath.toString());
+        repository.saveAll(List.of(SearchDocument.ofPost(1, "apple pie", "sweet")));
+        repository.commit();
+        repository.refresh();
+
+        // When
+        repository.rebuild(sink -> sink.saveAll(List.of(SearchDocument.ofPost(2, "banana bread", "soft"))));
+
+        // Then
+        assertThat(search(repository, "banana")).extracting(SearchResult::getId).containsExactly(2);
+        assertThat(search(repository, "apple")).isEmpty();
+        assertThat(generations()).hasSize(1);
+
+        repository.close();
+    }
+
+    @DisplayName("재색인 실패 - 기존 색인을 그대로 쓰고 만들던 generation 은 지운다")
+    @Test
+    void rebuild_failure_keeps_current() throws Exception {
+        // Given
+        SearchIndexRepository repository = new SearchIndexRepository(indexPath.toString());
+        repository.saveAll(List.of(SearchDocument.ofPost(1, "apple pie", "sweet")));
+        repository.commit();
+        repository.refresh();
+
+        // When
+        assertThrows(IOException.class, () -> repository.rebuild(sink -> {
+            sink.saveAll(List.of(SearchDocument.ofPost(2, "banana bread", "soft")));
+            throw new IOException("database unavailable");
+        }));
+
+        // Then
+        assertThat(search(repository, "apple")).extracting(SearchResult::getId).containsExactly(1);
+        assertThat(generations()).hasSize(1);
+
+        repository.close();
+    }
+
+    @DisplayName("정상 종료 - 다시 열면 정상 종료로 표시되고 문서가 남아있다")
+    @Test
+    void reopen_after_clean_shutdown() throws Exception {
+        // Given
+        SearchIndexRepository repository = new SearchIndexRepository(indexPath.toString());
+        assertThat(repository.isCleanShutdown()).isFalse();
+        repository.saveAll(List.of(SearchDocument.ofPost(1, "apple pie", "sweet")));
+
+        // When
+        repository.close();
+        SearchIndexRepository reopened = new SearchIndexRepository(indexPath.toString());
+
+        // Then
+        assertThat(reopened.isCleanShutdown()).isTrue();
+        assertThat(reopened.count()).isEqualTo(1);
+
+        reopened.close();
+    }
+
+    private static List<SearchResult> search(SearchIndexRepository repository, String keyword) throws IOException {
+        Query query = new QueryBuilder(repository.getAnalyzer()).createBooleanQuery(SearchIndexRepository.TITLE, keyword);
+        return repository.search(query, null, null, 10);
+    }
+
+    private List<Path> generations() throws IOException {
+        try (Stream<Path> children = Files.list(indexPath)) {
+            return children.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ddangme.sns.repository;
+
+import com.ddangme.sns.model.Cursor;
+import com.ddangme.sns.model.TimelinePost;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimelineRepositoryTest {
+
+    private static final long EXPIRED_TIME_MS = 600000;
+
+    @DisplayName("타임라인 조회 - id 순서와 작성 순서가 달라도 작성 시각 cursor 로 이어서 읽는다")
+    @Test
+    void before_cursor_by_registered_at() {
+        // Given
+        TimelineRepository repository = new TimelineRepository(100, 10000, EXPIRED_TIME_MS);
+        // id 가 구간 단위로 발급되어 나중에 작성된 post 의 id 가 더 작다.
+        List<TimelinePost> posts = List.of(
+                new TimelinePost(5, at(3000)),
+                new TimelinePost(20, at(2000)),
+                new TimelinePost(10, at(1000)));
+        TimelineRepository.Timeline timeline = repository.get(1, userId -> posts);
+
+        // When
+        List<Integer> first = timeline.before(null, 2);
+        List<Integer> next = timeline.before(Cursor.of(at(2000), 20), 2);
+
+        // Then
+        assertThat(first).containsExactly(5, 20);
+        assertThat(next).containsExactly(10);
+    }
+
+    @DisplayName("타임라인 push - fan-out 순서가 작성 순서와 달라도 작성 시각 순으로 읽는다")
+    @Test
+    void push_out_of_order() {
+        // Given
+        TimelineRepository repository = new TimelineRepository(100, 10000, EXPIRED_TIME_MS);
+        TimelineRepository.Timeline timeline = repository.get(1, userId -> List.of(new TimelinePost(1, at(1000))));
+
+        // When
+        repository.push(1, 3, at(3000));
+        repository.push(1, 2, at(2000));
+
+        // Then
+        assertThat(timeline.before(null, 10)).containsExactly(3, 2, 1);
+    }
+
+    @DisplayName("타임라인 push - ring 은 capacity 까지만 늘고 가장 오래된 post 를 덮어쓴다")
+    @Test
+    void push_grows_until_capacity() {
+        // Given
+        int capacity = 40;
+        TimelineRepository repository = new TimelineRepository(capacity, 10000, EXPIRED_TIME_MS);
+        TimelineRepository.Timeline timeline = repository.get(1, userId -> List.of());
+        assertThat(repository.weightedSize()).isEqualTo(16);
+
+        // When
+        for (int postId = 1; postId <= 50; postId++) {
+            repository.push(1, postId, at(postId * 1000L));
+        }
+
+        // Then
+        assertThat(repository.weightedSize()).isEqualTo(capacity);
+        assertThat(timeline.size()).isEqualTo(capacity);
+        assertThat(timeline.before(null, 1)).containsExactly(50);
+        assertThat(timeline.before(Cursor.of(at(12000), 12), 10)).containsExactly(11);
+    }
+
+    @DisplayName("타임라인 적재 - ring 크기 합이 maximum-post-ids 를 넘지 않는다")
+    @Test
+    void bounded_by_total_post_ids() {
+        // Given
+        long maximumPostIds = 100;
+        TimelineRepository repository = new TimelineRepository(50, maximumPostIds, EXPIRED_TIME_MS);
+
+        // When
+        for (int userId = 1; userId <= 20; userId++) {
+            repository.get(userId, TimelineRepositoryTest::posts);
+        }
+
+        // Then
+        assertThat(repository.weightedSize()).isLessThanOrEqualTo(maximumPostIds);
+    }
+
+    private static List<TimelinePost> posts(Integer userId) {
+        List<TimelinePost> posts = new ArrayList<>();
+        for (int i = 30; i > 0; i--) {
+            posts.add(new TimelinePost(userId * 100 + i, at(i * 1000L)));
+        }
+        return posts;
+    }
+
+    private static Timestamp at(long epochMilli) {
+        return new Timestamp(epochMilli);
+    }
+}
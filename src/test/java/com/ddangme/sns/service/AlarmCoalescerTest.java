@@ -0,0 +1,92 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.AlarmUpdate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AlarmCoalescerTest {
+
+    private static final int RECEIVER = 1;
+    private static final int POST = 10;
+
+    @DisplayName("묶음 알람 - 한 batch 안의 같은 대상 알람은 하나로 저장한다")
+    @Test
+    void coalesce_in_batch() {
+        // Given
+        AlarmCoalescer coalescer = coalescer(true);
+
+        // When
+        AlarmCoalescer.Result result = coalescer.coalesce(List.of(like(2), like(3), like(4), like(5)));
+
+        // Then
+        assertThat(result.getUpdates()).isEmpty();
+        assertThat(result.getInserts()).singleElement().satisfies(insert -> {
+            assertThat(insert.getEventCount()).isEqualTo(4);
+            assertThat(insert.getArgs().getFromUserId()).isEqualTo(5);
+            assertThat(insert.getArgs().getRecentFromUserIds()).containsExactly(5, 4, 3);
+        });
+    }
+
+    @DisplayName("묶음 알람 - 등록된 알람에는 다음 batch 의 이벤트를 더한다")
+    @Test
+    void coalesce_into_registered() {
+        // Given
+        AlarmCoalescer coalescer = coalescer(true);
+        AlarmEvent saved = coalescer.coalesce(List.of(like(2), like(3))).getInserts().get(0);
+        coalescer.register(100, saved);
+
+        // When
+        AlarmCoalescer.Result result = coalescer.coalesce(List.of(like(4)));
+
+        // Then
+        assertThat(result.getInserts()).isEmpty();
+        AlarmUpdate update = result.getUpdates().get(0);
+        assertThat(update.getAlarmId()).isEqualTo(100);
+        assertThat(update.getCountDelta()).isEqualTo(1);
+        assertThat(update.getEventCount()).isEqualTo(3);
+        assertThat(update.getArgs().getRecentFromUserIds()).containsExactly(4, 3, 2);
+    }
+
+    @DisplayName("묶음 알람 - 무효화된 묶음에는 더하지 않고 새 알람을 만든다")
+    @Test
+    void invalidate_then_insert() {
+        // Given
+        AlarmCoalescer coalescer = coalescer(true);
+        AlarmEvent saved = coalescer.coalesce(List.of(like(2))).getInserts().get(0);
+        coalescer.register(100, saved);
+
+        // When
+        coalescer.invalidate(saved);
+        AlarmCoalescer.Result result = coalescer.coalesce(List.of(like(3)));
+
+        // Then
+        assertThat(result.getUpdates()).isEmpty();
+        assertThat(result.getInserts()).singleElement()
+                .extracting(AlarmEvent::getEventCount)
+                .isEqualTo(1);
+    }
+
+    @DisplayName("묶음 알람 - 대상이 없는 알람과 꺼진 경우에는 묶지 않는다")
+    @Test
+    void not_coalesced() {
+        AlarmEvent noTarget = AlarmEvent.of(RECEIVER, AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(2, null));
+
+        assertThat(coalescer(true).coalesce(List.of(noTarget, noTarget)).getInserts()).hasSize(2);
+        assertThat(coalescer(false).coalesce(List.of(like(2), like(3))).getInserts()).hasSize(2);
+    }
+
+    private static AlarmCoalescer coalescer(boolean enabled) {
+        return new AlarmCoalescer(enabled, 3600000, 3, 1000);
+    }
+
+    private static AlarmEvent like(int fromUserId) {
+        return AlarmEvent.of(RECEIVER, AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(fromUserId, POST));
+    }
+}
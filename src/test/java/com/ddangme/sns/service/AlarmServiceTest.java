@@ -0,0 +1,135 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmSavedEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.entity.AlarmReadEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.AlarmJdbcRepository;
+import com.ddangme.sns.repository.AlarmReadEntityRepository;
+import com.ddangme.sns.repository.AlarmUnreadCacheRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class AlarmServiceTest {
+
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private AlarmCoalescer alarmCoalescer;
+
+    @Autowired
+    private AlarmJdbcRepository alarmJdbcRepository;
+
+    @Autowired
+    private AlarmReadEntityRepository alarmReadEntityRepository;
+
+    @Autowired
+    private AlarmUnreadCacheRepository alarmUnreadCacheRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @DisplayName("모두 읽음 - 알람은 남기고 읽지 않은 알람 수만 0 으로 만든다")
+    @Test
+    void read_all() {
+        // Given
+        Integer userId = saveUser("read_all_receiver");
+        save(userId, 1);
+        save(userId, 2);
+        assertThat(alarmService.unreadCount(userId)).isEqualTo(2);
+
+        // When
+        alarmService.readAll(userId);
+
+        // Then
+        assertThat(alarmService.unreadCount(userId)).isZero();
+        assertThat(alarmService.alarmList(userId, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+
+        save(userId, 3);
+        assertThat(alarmService.unreadCount(userId)).isEqualTo(1);
+    }
+
+    @DisplayName("모두 읽음 - 읽음 처리 범위보다 새 알람이 먼저 세어졌으면 다시 센다")
+    @Test
+    void reset_after_newer_alarm() {
+        // Given
+        Integer userId = saveUser("reset_race_receiver");
+        Integer readAlarmId = save(userId, 1);
+        assertThat(alarmService.unreadCount(userId)).isEqualTo(1);
+
+        // readAll 이 읽은 범위를 정한 뒤, 커밋 후 콜백 전에 새 알람이 저장되어 세어졌다.
+        AlarmReadEntity alarmRead = AlarmReadEntity.of(userId);
+        alarmRead.setLastReadAlarmId(readAlarmId);
+        alarmReadEntityRepository.save(alarmRead);
+        save(userId, 2);
+
+        // When
+        alarmUnreadCacheRepository.reset(userId, readAlarmId);
+
+        // Then
+        assertThat(alarmService.unreadCount(userId)).isEqualTo(1);
+    }
+
+    @DisplayName("읽지 않은 알람 수 - 적재할 때 이미 센 알람은 저장 이벤트가 와도 다시 세지 않는다")
+    @Test
+    void increase_counted_alarm() {
+        // Given
+        Integer userId = saveUser("counted_receiver");
+        AlarmEvent event = AlarmEvent.of(userId, AlarmType.NEW_COMMENT_ON_POST, new AlarmArgs(1, null));
+        Integer alarmId = alarmJdbcRepository.saveAll(List.of(event)).get(0);
+        assertThat(alarmService.unreadCount(userId)).isEqualTo(1);
+
+        // When
+        alarmService.onAlarmSaved(AlarmSavedEvent.of(alarmId, event));
+
+        // Then
+        assertThat(alarmService.unreadCount(userId)).isEqualTo(1);
+    }
+
+    @DisplayName("모두 읽음 - 읽은 묶음 알람에는 더하지 않고 새 묶음을 시작한다")
+    @Test
+    void read_all_starts_new_group() {
+        // Given
+        Integer userId = saveUser("read_all_group_receiver");
+        AlarmEvent like = AlarmEvent.of(userId, AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(1, 10));
+        alarmCoalescer.register(save(userId, like), like);
+
+        // When
+        alarmService.readAll(userId);
+
+        // Then
+        AlarmCoalescer.Result result = alarmCoalescer.coalesce(List.of(AlarmEvent.of(userId, AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(2, 10))));
+        assertThat(result.getUpdates()).isEmpty();
+        assertThat(result.getInserts()).hasSize(1);
+    }
+
+    // AlarmWriter 처럼 저장하고 저장 이벤트를 발행한다.
+    private Integer save(Integer userId, int fromUserId) {
+        return save(userId, AlarmEvent.of(userId, AlarmType.NEW_COMMENT_ON_POST, new AlarmArgs(fromUserId, null)));
+    }
+
+    private Integer save(Integer userId, AlarmEvent event) {
+        Integer alarmId = alarmJdbcRepository.saveAll(List.of(event)).get(0);
+        alarmService.onAlarmSaved(AlarmSavedEvent.of(alarmId, event));
+        return alarmId;
+    }
+
+    private Integer saveUser(String userName) {
+        UserEntity user = userEntityRepository.save(UserEntity.of(userName, "password"));
+        return user.getId();
+    }
+}
@@ -0,0 +1,141 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmEvent;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.entity.AlarmEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.AlarmEntityRepository;
+import com.ddangme.sns.repository.AlarmJdbcRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import com.ddangme.sns.util.WorkerThreads;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class AlarmWriterTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int EVENTS_PER_THREAD = 50;
+
+    @Autowired
+    private AlarmJdbcRepository alarmJdbcRepository;
+
+    @Autowired
+    private AlarmEntityRepository alarmEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private WorkerThreads workerThreads;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DisplayName("알람 저장 - 같은 대상의 알람은 하나의 묶음 알람으로 저장된다")
+    @Test
+    void offer_coalesced() {
+        // Given
+        AlarmWriter alarmWriter = alarmWriter();
+        UserEntity receiver = userEntityRepository.save(UserEntity.of("writer_coalesced_receiver", "password"));
+
+        // When
+        alarmWriter.offer(like(receiver.getId(), 2));
+        alarmWriter.offer(like(receiver.getId(), 3));
+
+        // Then
+        assertThat(alarms(receiver)).singleElement().satisfies(alarm -> {
+            assertThat(alarm.getEventCount()).isEqualTo(2);
+            assertThat(alarm.getArgs().getRecentFromUserIds()).containsExactly(3, 2);
+        });
+        assertThat(alarmWriter.getWrittenCount()).isEqualTo(2);
+    }
+
+    @DisplayName("알람 저장 - 같은 batch 의 insert 가 실패하면 묶음 알람 변경도 반영되지 않는다")
+    @Test
+    void update_rolled_back_with_failed_insert() {
+        // Given
+        AlarmWriter alarmWriter = alarmWriter();
+        UserEntity receiver = userEntityRepository.save(UserEntity.of("writer_rollback_receiver", "password"));
+        alarmWriter.offer(like(receiver.getId(), 2));
+
+        // When
+        // 없는 유저에게 가는 알람은 FK 때문에 저장되지 않는다.
+        alarmWriter.write(List.of(like(receiver.getId(), 3), like(Integer.MAX_VALUE, 3)));
+
+        // Then
+        assertThat(alarms(receiver)).singleElement()
+                .extracting(AlarmEntity::getEventCount)
+                .isEqualTo(1);
+        assertThat(alarmWriter.getFailedCount()).isEqualTo(2);
+    }
+
+    @DisplayName("알람 저장 - 여러 요청 스레드가 동시에 저장해도 묶음 알람의 이벤트 수가 맞다")
+    @Test
+    void concurrent_caller_writes() throws Exception {
+        // Given
+        AlarmWriter alarmWriter = alarmWriter();
+        UserEntity receiver = userEntityRepository.save(UserEntity.of("writer_concurrent_receiver", "password"));
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            int fromUserId = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    alarmWriter.offer(like(receiver.getId(), fromUserId));
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(alarms(receiver)).singleElement()
+                .extracting(AlarmEntity::getEventCount)
+                .isEqualTo(THREAD_COUNT * EVENTS_PER_THREAD);
+    }
+
+    // 시작하지 않은 writer 는 offer 를 호출한 스레드에서 바로 저장한다.
+    private AlarmWriter alarmWriter() {
+        return new AlarmWriter(alarmJdbcRepository, new AlarmCoalescer(true, 3600000, 3, 1000), eventPublisher,
+                workerThreads, transactionManager, 100, 100, 10, AlarmWriter.OverflowPolicy.CALLER_RUNS, 10);
+    }
+
+    private List<AlarmEntity> alarms(UserEntity receiver) {
+        return alarmEntityRepository.findAllByUserId(receiver.getId(), PageRequest.of(0, 10)).getContent();
+    }
+
+    private static AlarmEvent like(Integer receiverUserId, int fromUserId) {
+        return AlarmEvent.of(receiverUserId, AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(fromUserId, 10));
+    }
+}
@@ -0,0 +1,131 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.entity.CommentEntity;
+import com.ddangme.sns.model.entity.LikeEntity;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.CommentEntityRepository;
+import com.ddangme.sns.repository.LikeEntityRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "compaction.chunk-size=2",
+        "compaction.chunk-interval-ms=0"
+})
+public class CompactionServiceTest {
+
+    @Autowired
+    private CompactionService compactionService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private LikeEntityRepository likeEntityRepository;
+
+    @Autowired
+    private CommentEntityRepository commentEntityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("compaction - 보관 기간이 지난 자식 row 를 먼저 옮기고 같은 실행에서 부모 post 도 옮긴다")
+    @Test
+    void compact_children_then_parent() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("compaction_writer", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        LikeEntity like = likeEntityRepository.save(LikeEntity.of(post, writer.getId()));
+        CommentEntity first = commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "first"));
+        CommentEntity second = commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "second"));
+        CommentEntity third = commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "third"));
+
+        softDelete("post_like", "post_like_id", like.getId());
+        softDelete("comment", "comment_id", first.getId());
+        softDelete("comment", "comment_id", second.getId());
+        softDelete("comment", "comment_id", third.getId());
+        softDelete("post", "post_id", post.getId());
+
+        // When
+        compactionService.compact();
+
+        // Then
+        assertThat(countLive("comment", "comment_id", first.getId(), second.getId(), third.getId())).isZero();
+        assertThat(countLive("post_like", "post_like_id", like.getId())).isZero();
+        assertThat(countLive("post", "post_id", post.getId())).isZero();
+        assertThat(countArchived("comment", first.getId(), second.getId(), third.getId())).isEqualTo(3);
+        assertThat(countArchived("post", post.getId())).isEqualTo(1);
+    }
+
+    @DisplayName("compaction - 살아있는 자식 row 가 있는 post 는 옮기지 않는다")
+    @Test
+    void keep_parent_with_live_children() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("compaction_parent", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "live"));
+        softDelete("post", "post_id", post.getId());
+
+        // When
+        compactionService.compact();
+
+        // Then
+        assertThat(countLive("post", "post_id", post.getId())).isEqualTo(1);
+        assertThat(countArchived("post", post.getId())).isZero();
+    }
+
+    @DisplayName("compaction - 보관 기간이 지나지 않은 row 는 옮기지 않는다")
+    @Test
+    void keep_within_retention() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("compaction_recent", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        jdbcTemplate.update("UPDATE post SET deleted_at = ? WHERE post_id = ?", Timestamp.from(Instant.now()), post.getId());
+
+        // When
+        compactionService.compact();
+
+        // Then
+        assertThat(countLive("post", "post_id", post.getId())).isEqualTo(1);
+    }
+
+    private void softDelete(String table, String idColumn, Integer id) {
+        Timestamp deletedAt = Timestamp.from(Instant.now().minus(Duration.ofDays(365)));
+        jdbcTemplate.update(String.format("UPDATE %s SET deleted_at = ? WHERE %s = ?", table, idColumn), deletedAt, id);
+    }
+
+    private long countLive(String table, String idColumn, Integer... ids) {
+        long count = 0;
+        for (Integer id : ids) {
+            count += jdbcTemplate.queryForObject(
+                    String.format("SELECT COUNT(*) FROM %s WHERE %s = ?", table, idColumn), Long.class, id);
+        }
+        return count;
+    }
+
+    private long countArchived(String table, Integer... ids) {
+        long count = 0;
+        for (Integer id : ids) {
+            count += jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM archive WHERE table_name = ? AND row_id = ?", Long.class, table, id);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,287 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.AlarmArgs;
+import com.ddangme.sns.model.AlarmType;
+import com.ddangme.sns.model.DeletionStep;
+import com.ddangme.sns.model.DeletionTarget;
+import com.ddangme.sns.model.User;
+import com.ddangme.sns.model.entity.AlarmEntity;
+import com.ddangme.sns.model.entity.CommentEntity;
+import com.ddangme.sns.model.entity.DeletionJobEntity;
+import com.ddangme.sns.model.entity.LikeEntity;
+import com.ddangme.sns.model.entity.PostCountEntity;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.AlarmEntityRepository;
+import com.ddangme.sns.repository.CommentEntityRepository;
+import com.ddangme.sns.repository.DeletionJdbcRepository;
+import com.ddangme.sns.repository.DeletionJobEntityRepository;
+import com.ddangme.sns.repository.LikeEntityRepository;
+import com.ddangme.sns.repository.PostCountEntityRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// 테스트 profile 에서는 스케줄러가 작업을 진행하지 않으므로 run() 을 직접 호출한다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "deletion.chunk-size=2")
+public class DeletionServiceTest {
+
+    private static final int MAX_RUNS = 1000;
+
+    @Autowired
+    private DeletionService deletionService;
+
+    @Autowired
+    private DeletionJobEntityRepository deletionJobEntityRepository;
+
+    @SpyBean
+    private DeletionJdbcRepository deletionJdbcRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private LikeEntityRepository likeEntityRepository;
+
+    @Autowired
+    private CommentEntityRepository commentEntityRepository;
+
+    @Autowired
+    private AlarmEntityRepository alarmEntityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostCountService postCountService;
+
+    @Autowired
+    private PostCountEntityRepository postCountEntityRepository;
+
+    @Autowired
+    private FollowService followService;
+
+    // run() 은 가장 오래된 작업부터 진행하므로 다른 테스트가 남긴 작업을 먼저 끝낸다.
+    @BeforeEach
+    void finishRemainingJobs() {
+        runUntilIdle();
+    }
+
+    @DisplayName("post 삭제 작업 - 한 번 실행할 때 chunk 하나만 지우고 바로 commit 한다")
+    @Test
+    void delete_one_chunk_per_run() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("deletion_chunk_writer", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        List<LikeEntity> likes = saveLikes(post, "deletion_chunk_liker", 3);
+        DeletionJobEntity job = request(DeletionTarget.POST, post.getId());
+
+        // When
+        deletionService.run();
+
+        // Then
+        assertThat(countLive("post_like", "post_like_id", likes.get(0).getId(), likes.get(1).getId())).isZero();
+        assertThat(countLive("post_like", "post_like_id", likes.get(2).getId())).isEqualTo(1);
+
+        DeletionJobEntity saved = deletionJobEntityRepository.findById(job.getId()).orElseThrow();
+        assertThat(saved.getStep()).isEqualTo(DeletionStep.POST_LIKES);
+        assertThat(saved.getLastId()).isEqualTo(likes.get(1).getId());
+        assertThat(saved.getDeletedCount()).isEqualTo(2);
+        assertThat(saved.isFinished()).isFalse();
+    }
+
+    @DisplayName("post 삭제 작업 - chunk 가 실패하면 그 chunk 만 롤백되고, 다음 실행에서 저장된 위치부터 이어서 지운다")
+    @Test
+    void resume_after_failed_chunk() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("deletion_resume_writer", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        List<LikeEntity> likes = saveLikes(post, "deletion_resume_liker", 3);
+        DeletionJobEntity job = request(DeletionTarget.POST, post.getId());
+        deletionService.run();
+
+        // 두 번째 chunk 는 row 를 지운 뒤 실패한다.
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new QueryTimeoutException("timeout");
+        }).doCallRealMethod().when(deletionJdbcRepository).delete(any(), any());
+
+        // When
+        deletionService.run();
+
+        // Then
+        assertThat(countLive("post_like", "post_like_id", likes.get(2).getId())).isEqualTo(1);
+        DeletionJobEntity failed = deletionJobEntityRepository.findById(job.getId()).orElseThrow();
+        assertThat(failed.getLastId()).isEqualTo(likes.get(1).getId());
+        assertThat(failed.getDeletedCount()).isEqualTo(2);
+
+        // When
+        runUntilIdle();
+
+        // Then
+        assertThat(countLive("post_like", "post_like_id", likes.get(2).getId())).isZero();
+        DeletionJobEntity finished = deletionJobEntityRepository.findById(job.getId()).orElseThrow();
+        assertThat(finished.isFinished()).isTrue();
+        assertThat(finished.getStep()).isNull();
+        assertThat(finished.getDeletedCount()).isEqualTo(3);
+    }
+
+    @DisplayName("post 삭제 작업 - 그 post 의 좋아요와 댓글만 지운다")
+    @Test
+    void delete_post_children() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("deletion_post_writer", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        PostEntity other = postEntityRepository.save(PostEntity.of("other", "body", writer.getId()));
+        List<LikeEntity> likes = saveLikes(post, "deletion_post_liker", 3);
+        LikeEntity otherLike = likeEntityRepository.save(LikeEntity.of(other, writer.getId()));
+        CommentEntity first = commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "first"));
+        CommentEntity second = commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "second"));
+        CommentEntity third = commentEntityRepository.save(CommentEntity.of(post, writer.getId(), "third"));
+        CommentEntity otherComment = commentEntityRepository.save(CommentEntity.of(other, writer.getId(), "other"));
+        DeletionJobEntity job = request(DeletionTarget.POST, post.getId());
+
+        // When
+        runUntilIdle();
+
+        // Then
+        assertThat(countLive("post_like", "post_like_id",
+                likes.get(0).getId(), likes.get(1).getId(), likes.get(2).getId())).isZero();
+        assertThat(countLive("comment", "comment_id", first.getId(), second.getId(), third.getId())).isZero();
+        assertThat(countLive("post_like", "post_like_id", otherLike.getId())).isEqualTo(1);
+        assertThat(countLive("comment", "comment_id", otherComment.getId())).isEqualTo(1);
+        assertThat(deletionJobEntityRepository.findById(job.getId()).orElseThrow().getDeletedCount()).isEqualTo(6);
+    }
+
+    @DisplayName("계정 삭제 작업 - 작성한 post, 좋아요, 댓글, 알람을 지우고 post 마다 만든 작업이 다른 유저의 좋아요도 지운다")
+    @Test
+    void delete_user_children() {
+        // Given
+        UserEntity user = userEntityRepository.save(UserEntity.of("deletion_user", "password"));
+        UserEntity other = userEntityRepository.save(UserEntity.of("deletion_user_other", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", user.getId()));
+        PostEntity otherPost = postEntityRepository.save(PostEntity.of("other", "body", other.getId()));
+        LikeEntity likeOnOwnPost = likeEntityRepository.save(LikeEntity.of(post, other.getId()));
+        LikeEntity likeOnOtherPost = likeEntityRepository.save(LikeEntity.of(otherPost, user.getId()));
+        CommentEntity comment = commentEntityRepository.save(CommentEntity.of(otherPost, user.getId(), "comment"));
+        AlarmEntity alarm = alarmEntityRepository.save(
+                AlarmEntity.of(user, AlarmType.NEW_LIKE_ON_POST, new AlarmArgs(other.getId(), post.getId())));
+
+        // When
+        userService.delete(user.getId());
+        runUntilIdle();
+
+        // Then
+        assertThat(countLive("post", "post_id", post.getId())).isZero();
+        assertThat(countLive("post_like", "post_like_id", likeOnOwnPost.getId(), likeOnOtherPost.getId())).isZero();
+        assertThat(countLive("comment", "comment_id", comment.getId())).isZero();
+        assertThat(countLive("alarm", "alarm_id", alarm.getId())).isZero();
+        assertThat(countLive("post", "post_id", otherPost.getId())).isEqualTo(1);
+    }
+
+    @DisplayName("계정 삭제 작업 - 다른 유저의 post 에 남긴 좋아요/댓글만큼 post 카운트를 줄인다")
+    @Test
+    void delete_user_decreases_post_counts() {
+        // Given
+        User user = userService.join("deletion_count_user", "password");
+        User other = userService.join("deletion_count_other", "password");
+        Integer postId = postEntityRepository.save(PostEntity.of("title", "body", other.getId())).getId();
+        postCountService.create(postId);
+        postService.like(postId, user.getId());
+        postService.like(postId, other.getId());
+        postService.comment(postId, user.getId(), "comment");
+        postService.comment(postId, other.getId(), "other comment");
+        postCountService.flush();
+        String commentsVersion = postService.commentsVersion(postId);
+
+        // When
+        userService.delete(user.getId());
+        runUntilIdle();
+
+        // Then
+        assertThat(postCountService.getLikeCount(postId)).isEqualTo(1);
+        assertThat(postCountService.getCommentCount(postId)).isEqualTo(1);
+        assertThat(postService.commentsVersion(postId)).isNotEqualTo(commentsVersion);
+
+        postCountService.flush();
+        PostCountEntity postCount = postCountEntityRepository.findById(postId).orElseThrow();
+        assertThat(postCount.getLikeCount()).isEqualTo(1);
+        assertThat(postCount.getCommentCount()).isEqualTo(1);
+    }
+
+    @DisplayName("계정 삭제 작업 - 팔로우 row 를 지우고 팔로우하던 유저의 팔로워 수를 줄인다")
+    @Test
+    void delete_user_follows() {
+        // Given
+        UserEntity user = userEntityRepository.save(UserEntity.of("deletion_follow_user", "password"));
+        UserEntity followee = userEntityRepository.save(UserEntity.of("deletion_follow_followee", "password"));
+        UserEntity follower = userEntityRepository.save(UserEntity.of("deletion_follow_follower", "password"));
+        followService.follow(user.getId(), followee.getId());
+        followService.follow(follower.getId(), followee.getId());
+        followService.follow(follower.getId(), user.getId());
+
+        // When
+        userService.delete(user.getId());
+        runUntilIdle();
+
+        // Then
+        assertThat(followService.getFollowerCount(followee.getId())).isEqualTo(1);
+        assertThat(followService.getFollowerCount(user.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM follow WHERE follower_id = ? OR followee_id = ?",
+                Long.class, user.getId(), user.getId())).isZero();
+    }
+
+    private DeletionJobEntity request(DeletionTarget target, Integer targetId) {
+        return deletionJobEntityRepository.save(DeletionJobEntity.of(target, targetId));
+    }
+
+    private List<LikeEntity> saveLikes(PostEntity post, String userNamePrefix, int count) {
+        List<LikeEntity> likes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UserEntity liker = userEntityRepository.save(UserEntity.of(userNamePrefix + "_" + i, "password"));
+            likes.add(likeEntityRepository.save(LikeEntity.of(post, liker.getId())));
+        }
+        return likes;
+    }
+
+    private void runUntilIdle() {
+        for (int i = 0; i < MAX_RUNS && deletionJobEntityRepository.countByFinishedAtIsNull() > 0; i++) {
+            deletionService.run();
+        }
+        assertThat(deletionJobEntityRepository.countByFinishedAtIsNull()).isZero();
+    }
+
+    private long countLive(String table, String idColumn, Integer... ids) {
+        long count = 0;
+        for (Integer id : ids) {
+            count += jdbcTemplate.queryForObject(
+                    String.format("SELECT COUNT(*) FROM %s WHERE %s = ? AND deleted_at IS NULL", table, idColumn), Long.class, id);
+        }
+        return count;
+    }
+}
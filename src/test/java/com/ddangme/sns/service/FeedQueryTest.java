@@ -0,0 +1,73 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class FeedQueryTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        if (postEntityRepository.count() < 50) {
+            UserEntity writer = userEntityRepository.save(UserEntity.of("feed_writer", "password"));
+            for (int i = 0; i < 50; i++) {
+                postEntityRepository.save(PostEntity.of("title" + i, "body" + i, writer.getId()));
+            }
+        }
+    }
+
+    @DisplayName("피드 목록 - 페이지 크기와 상관없이 한 번의 query 로 조회한다")
+    @Test
+    void feed_list_cursor_statement_count() {
+        assertThat(countStatements(() -> postService.feedList(null, 5))).isEqualTo(1);
+        assertThat(countStatements(() -> postService.feedList(null, 50))).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @DisplayName("피드 목록 - offset 페이징은 목록과 count 두 번의 query 로 조회한다")
+    @Test
+    void feed_list_page_statement_count() {
+        assertThat(countStatements(() -> postService.feedList(PageRequest.of(0, 5)))).isEqualTo(2);
+        assertThat(countStatements(() -> postService.feedList(PageRequest.of(0, 50)))).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private long countStatements(Runnable query) {
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,142 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.entity.FollowCountEntity;
+import com.ddangme.sns.model.entity.FollowEntity;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.FollowCountEntityRepository;
+import com.ddangme.sns.repository.FollowEntityRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "timeline.celebrity-threshold=2")
+public class FollowServiceTest {
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private FollowEntityRepository followEntityRepository;
+
+    @Autowired
+    private FollowCountEntityRepository followCountEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @DisplayName("팔로우 - 팔로워 수를 올리고 언팔로우하면 내린다")
+    @Test
+    void follow_then_unfollow_counts() {
+        // Given
+        UserEntity followee = saveUser("count_followee");
+        UserEntity follower = saveUser("count_follower");
+
+        // When
+        followService.follow(follower.getId(), followee.getId());
+        long followed = followService.getFollowerCount(followee.getId());
+        followService.unfollow(follower.getId(), followee.getId());
+
+        // Then
+        assertThat(followed).isEqualTo(1);
+        assertThat(followService.getFollowerCount(followee.getId())).isZero();
+    }
+
+    @DisplayName("팔로우 - 카운트 row 가 없으면 이미 있던 팔로우까지 세서 만든다")
+    @Test
+    void follow_counts_existing_follows() {
+        // Given
+        UserEntity followee = saveUser("existing_followee");
+        followEntityRepository.save(FollowEntity.of(saveUser("existing_follower").getId(), followee.getId()));
+
+        // When
+        followService.follow(saveUser("new_follower").getId(), followee.getId());
+
+        // Then
+        assertThat(followService.getFollowerCount(followee.getId())).isEqualTo(2);
+    }
+
+    @DisplayName("팔로우 - 팔로워가 기준을 넘으면 celebrity 가 되고, 언팔로우로 기준 이하가 되면 풀린다")
+    @Test
+    void celebrity_by_follower_count() {
+        // Given
+        UserEntity followee = saveUser("celebrity_followee");
+        List<UserEntity> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(saveUser("celebrity_follower_" + i));
+        }
+
+        // When
+        for (UserEntity follower : followers) {
+            followService.follow(follower.getId(), followee.getId());
+        }
+        boolean celebrity = followService.isCelebrity(followee.getId());
+        followService.unfollow(followers.get(0).getId(), followee.getId());
+
+        // Then
+        assertThat(celebrity).isTrue();
+        assertThat(followService.isCelebrity(followee.getId())).isFalse();
+    }
+
+    @DisplayName("celebrity 갱신 - 다른 인스턴스가 바꾼 팔로워 수를 follow_count 에서 다시 읽는다")
+    @Test
+    void refresh_celebrities_from_follow_count() {
+        // Given
+        UserEntity followee = saveUser("refresh_followee");
+        followService.follow(saveUser("refresh_follower").getId(), followee.getId());
+        assertThat(followService.isCelebrity(followee.getId())).isFalse();
+        followCountEntityRepository.save(FollowCountEntity.of(followee.getId(), 3));
+
+        // When
+        followService.refreshCelebrities();
+
+        // Then
+        assertThat(followService.isCelebrity(followee.getId())).isTrue();
+    }
+
+    @DisplayName("타임라인 - 팔로우한 유저의 이전 post 와 celebrity 의 post 를 작성 시각 순으로 보여준다")
+    @Test
+    void timeline_after_follow() {
+        // Given
+        UserEntity viewer = saveUser("timeline_viewer");
+        UserEntity writer = saveUser("timeline_writer");
+        UserEntity celebrity = saveUser("timeline_celebrity");
+        for (int i = 0; i < 2; i++) {
+            followService.follow(saveUser("timeline_fan_" + i).getId(), celebrity.getId());
+        }
+        PostEntity first = postEntityRepository.save(PostEntity.of("first", "body", writer.getId()));
+        PostEntity second = postEntityRepository.save(PostEntity.of("second", "body", celebrity.getId()));
+        PostEntity third = postEntityRepository.save(PostEntity.of("third", "body", writer.getId()));
+
+        // When
+        followService.follow(viewer.getId(), writer.getId());
+        followService.follow(viewer.getId(), celebrity.getId());
+
+        // Then
+        assertThat(followService.isCelebrity(celebrity.getId())).isTrue();
+        assertThat(timelineService.timeline(viewer.getId(), null, 10).getContent())
+                .extracting(PostSummary::getId)
+                .containsExactly(third.getId(), second.getId(), first.getId());
+    }
+
+    private UserEntity saveUser(String userName) {
+        return userEntityRepository.save(UserEntity.of(userName, "password"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.TrendingHashtag;
+import com.ddangme.sns.model.TrendingWindow;
+import com.ddangme.sns.model.entity.HashtagEntity;
+import com.ddangme.sns.repository.HashtagEntityRepository;
+import com.ddangme.sns.repository.HashtagTrendRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HashtagServiceTest {
+
+    private final HashtagEntityRepository hashtagEntityRepository = mock(HashtagEntityRepository.class);
+    private final HashtagTrendRepository hashtagTrendRepository = new HashtagTrendRepository(4, 2048, 10);
+    private final HashtagService hashtagService = new HashtagService(hashtagEntityRepository, hashtagTrendRepository,
+            mock(PostEntityRepository.class), 10, 10, 100);
+
+    @DisplayName("warm-up - 시작 전에 저장된 태그는 warm-up 에서만 한 번 센다")
+    @Test
+    void warm_up_does_not_double_count() {
+        // Given
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        HashtagEntity saved = hashtag(1, "java", now);
+        when(hashtagEntityRepository.saveAll(any())).thenReturn(List.of(saved));
+        // warm-up 이 끝나기 전에 커밋된 post
+        hashtagService.create(1, "#java", now);
+
+        when(hashtagEntityRepository.findMaxId()).thenReturn(1);
+        when(hashtagEntityRepository.findAllBefore(eq(2), any())).thenReturn(List.of(saved));
+
+        // When
+        hashtagService.warmUp();
+
+        // Then
+        assertThat(hashtagService.trending(TrendingWindow.HOUR, 10))
+                .extracting(TrendingHashtag::getTag, TrendingHashtag::getCount)
+                .containsExactly(tuple("java", 1L));
+    }
+
+    @DisplayName("warm-up - 읽기 시작한 뒤에 저장된 태그는 끝난 뒤에 센다")
+    @Test
+    void warm_up_counts_later_tags() {
+        // Given
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        when(hashtagEntityRepository.findMaxId()).thenReturn(1);
+        when(hashtagEntityRepository.findAllBefore(anyInt(), any())).thenReturn(List.of());
+        HashtagEntity saved = hashtag(2, "spring", now);
+        when(hashtagEntityRepository.saveAll(any())).thenReturn(List.of(saved));
+        hashtagService.create(2, "#spring", now);
+
+        // When
+        assertThat(hashtagService.trending(TrendingWindow.HOUR, 10)).isEmpty();
+        hashtagService.warmUp();
+
+        // Then
+        assertThat(hashtagService.trending(TrendingWindow.HOUR, 10))
+                .extracting(TrendingHashtag::getTag)
+                .containsExactly("spring");
+    }
+
+    @DisplayName("warm-up 이후 - 저장된 태그를 바로 센다")
+    @Test
+    void count_after_warm_up() {
+        // Given
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        when(hashtagEntityRepository.findAllBefore(anyInt(), any())).thenReturn(List.of());
+        hashtagService.warmUp();
+        HashtagEntity saved = hashtag(3, "kotlin", now);
+        when(hashtagEntityRepository.saveAll(any())).thenReturn(List.of(saved));
+
+        // When
+        hashtagService.create(3, "#kotlin", now);
+
+        // Then
+        assertThat(hashtagService.trending(TrendingWindow.HOUR, 10))
+                .extracting(TrendingHashtag::getTag)
+                .containsExactly("kotlin");
+    }
+
+    private static HashtagEntity hashtag(int id, String tag, Timestamp registeredAt) {
+        HashtagEntity hashtag = mock(HashtagEntity.class);
+        when(hashtag.getId()).thenReturn(id);
+        when(hashtag.getTag()).thenReturn(tag);
+        when(hashtag.getRegisteredAt()).thenReturn(registeredAt);
+        return hashtag;
+    }
+}
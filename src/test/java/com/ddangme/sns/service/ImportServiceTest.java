@@ -0,0 +1,63 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.ImportChunk;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @DisplayName("import - 형식이 맞는 줄만 줄 순서대로 연속된 id 로 저장하고, 이후 작성한 post 와 id 가 겹치지 않는다")
+    @Test
+    void import_posts() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("import_writer", "password"));
+        String body = "{\"userId\": " + writer.getId() + ", \"title\": \"first\", \"body\": \"#history\", \"registeredAt\": \"2019-03-01T09:00:00Z\"}\n" +
+                "not json\n" +
+                "{\"userId\": " + writer.getId() + ", \"title\": \"second\", \"body\": \"body\"}\n";
+
+        // When
+        List<ImportChunk> chunks = importService.importPosts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        postService.create("after import", "body", writer.getId());
+
+        // Then
+        assertThat(chunks).singleElement().satisfies(chunk -> {
+            assertThat(chunk.getImported()).isEqualTo(2);
+            assertThat(chunk.getInvalidLines()).containsExactly(2L);
+            assertThat(chunk.getError()).isNull();
+            assertThat(postEntityRepository.findById(chunk.getFirstId())).get()
+                    .satisfies(post -> assertThat(post.getTitle()).isEqualTo("first"));
+            assertThat(postEntityRepository.findById(chunk.getFirstId() + 1)).get()
+                    .satisfies(post -> assertThat(post.getTitle()).isEqualTo("second"));
+        });
+        assertThat(postEntityRepository.findAll())
+                .filteredOn(post -> post.getTitle().equals("after import"))
+                .singleElement()
+                .satisfies(post -> assertThat(post.getId()).isGreaterThan(chunks.get(0).getFirstId() + 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.LikeEntityRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class LikeConcurrencyTest {
+
+    private static final int THREAD_COUNT = 32;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private LikeEntityRepository likeEntityRepository;
+
+    @DisplayName("좋아요 - 같은 유저가 동시에 여러 번 요청해도 한 번만 저장된다")
+    @Test
+    void post_like_concurrently() throws Exception {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("like_writer", "password"));
+        UserEntity liker = userEntityRepository.save(UserEntity.of("like_liker", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger alreadyLiked = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                try {
+                    postService.like(post.getId(), liker.getId());
+                    succeeded.incrementAndGet();
+                } catch (SnsApplicationException e) {
+                    if (e.getErrorCode() == ErrorCode.ALREADY_LIKED) {
+                        alreadyLiked.incrementAndGet();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(1);
+        assertThat(alreadyLiked.get()).isEqualTo(THREAD_COUNT - 1);
+        assertThat(likeEntityRepository.countAllByPostIds(List.of(post.getId())))
+                .singleElement()
+                .satisfies(row -> assertThat(row[1]).isEqualTo(1L));
+    }
+}
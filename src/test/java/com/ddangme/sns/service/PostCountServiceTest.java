@@ -0,0 +1,144 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.PostCountDelta;
+import com.ddangme.sns.model.entity.LikeEntity;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.LikeEntityRepository;
+import com.ddangme.sns.repository.PostCountEntityRepository;
+import com.ddangme.sns.repository.PostCountJdbcRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class PostCountServiceTest {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int INCREMENTS_PER_THREAD = 500;
+
+    @Autowired
+    private PostCountService postCountService;
+
+    @Autowired
+    private PostCountEntityRepository postCountEntityRepository;
+
+    @Autowired
+    private PostCountJdbcRepository postCountJdbcRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private LikeEntityRepository likeEntityRepository;
+
+    @DisplayName("카운트 - flush 중에 들어온 증가분도 유실되지 않는다")
+    @Test
+    void increase_while_flushing() throws Exception {
+        // Given
+        PostEntity post = savePost("count_writer");
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            while (running.get()) {
+                postCountService.flush();
+            }
+            return null;
+        });
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < INCREMENTS_PER_THREAD; j++) {
+                    postCountService.increaseLikeCount(post.getId());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        postCountService.flush();
+
+        // Then
+        long expected = (long) THREAD_COUNT * INCREMENTS_PER_THREAD;
+        assertThat(postCountEntityRepository.findById(post.getId()).orElseThrow().getLikeCount()).isEqualTo(expected);
+        assertThat(postCountService.getLikeCount(post.getId())).isEqualTo(expected);
+    }
+
+    @DisplayName("카운트 - reconcile 과 flush 가 동시에 실행돼도 원본 테이블의 수로 맞춰진다")
+    @Test
+    void reconcile_while_flushing() throws Exception {
+        // Given
+        PostEntity post = savePost("reconcile_writer");
+        int likes = 20;
+
+        for (int i = 0; i < likes; i++) {
+            UserEntity liker = userEntityRepository.save(UserEntity.of("reconcile_liker_" + i, "password"));
+            likeEntityRepository.save(LikeEntity.of(post, liker.getId()));
+            postCountService.increaseLikeCount(post.getId());
+        }
+        // 저장된 값이 어긋나 있다.
+        postCountJdbcRepository.increase(List.of(new PostCountDelta(post.getId(), 5, 0)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        Future<?> reconciler = executor.submit(() -> {
+            start.await();
+            postCountService.reconcile();
+            return null;
+        });
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            postCountService.flush();
+            return null;
+        });
+
+        start.countDown();
+        reconciler.get(30, TimeUnit.SECONDS);
+        flusher.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        postCountService.flush();
+
+        // Then
+        assertThat(postCountEntityRepository.findById(post.getId()).orElseThrow().getLikeCount()).isEqualTo(likes);
+    }
+
+    private PostEntity savePost(String userName) {
+        UserEntity writer = userEntityRepository.save(UserEntity.of(userName, "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        postCountService.create(post.getId());
+        return post;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.exception.ErrorCode;
+import com.ddangme.sns.exception.SnsApplicationException;
+import com.ddangme.sns.repository.LikeEntityRepository;
+import com.ddangme.sns.repository.PostEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+// H2 에서는 MySQL 의 중복 key lock deadlock 이 재현되지 않으므로 repository 가 던지는 예외로 확인한다.
+@ActiveProfiles("test")
+@SpringBootTest
+public class PostLikeFailureTest {
+
+    @Autowired
+    private PostService postService;
+
+    @MockBean
+    private PostEntityRepository postEntityRepository;
+
+    @MockBean
+    private LikeEntityRepository likeEntityRepository;
+
+    @DisplayName("좋아요 - unique key 에 걸리면 이미 좋아요한 것으로 응답한다")
+    @Test
+    void post_like_duplicated() {
+        // Given
+        when(postEntityRepository.findUserIdById(1)).thenReturn(Optional.of(2));
+        doThrow(new DataIntegrityViolationException("duplicated")).when(likeEntityRepository).insert(1, 3);
+
+        // When
+        SnsApplicationException e = assertThrows(SnsApplicationException.class, () -> postService.like(1, 3));
+
+        // Then
+        assertThat(e.getErrorCode()).isEqualTo(ErrorCode.ALREADY_LIKED);
+    }
+
+    @DisplayName("좋아요 - 같은 요청과 deadlock 이 나도 이미 좋아요한 것으로 응답한다")
+    @Test
+    void post_like_deadlock() {
+        // Given
+        when(postEntityRepository.findUserIdById(1)).thenReturn(Optional.of(2));
+        doThrow(new DeadlockLoserDataAccessException("deadlock", null)).when(likeEntityRepository).insert(1, 3);
+
+        // When
+        SnsApplicationException e = assertThrows(SnsApplicationException.class, () -> postService.like(1, 3));
+
+        // Then
+        assertThat(e.getErrorCode()).isEqualTo(ErrorCode.ALREADY_LIKED);
+    }
+}
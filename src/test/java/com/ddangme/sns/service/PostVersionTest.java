@@ -0,0 +1,60 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class PostVersionTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @DisplayName("post version - 같은 시각 안에 여러 번 수정해도 매번 달라진다")
+    @Test
+    void version_changes_on_every_modify() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("version_writer", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+        String created = postService.version(post.getId());
+
+        // When
+        postService.modify(post.getId(), "title1", "body1", writer.getId());
+        String first = postService.version(post.getId());
+        postService.modify(post.getId(), "title2", "body2", writer.getId());
+        String second = postService.version(post.getId());
+
+        // Then
+        assertThat(created).isNotEqualTo(first);
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @DisplayName("post version - 수정하지 않으면 그대로다")
+    @Test
+    void version_stays_without_modify() {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("version_reader", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer.getId()));
+
+        // When
+        String version = postService.version(post.getId());
+
+        // Then
+        assertThat(postService.version(post.getId())).isEqualTo(version);
+    }
+}
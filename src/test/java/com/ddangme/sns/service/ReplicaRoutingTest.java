@@ -0,0 +1,94 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.PostSummary;
+import com.ddangme.sns.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// primary(testdb) 와 replica 를 각각 H2 메모리 DB 로 띄우고, 복제는 primary 의 덤프를 replica 에 다시 실행해서 흉내낸다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "replica.enabled=true",
+        "replica.urls=" + ReplicaRoutingTest.REPLICA_URL
+})
+public class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FollowService followService;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:testdb", "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @DisplayName("replica - 조회는 replica 에서 읽고, 방금 쓴 유저는 primary 에서 읽는다")
+    @Test
+    void read_from_replica(@TempDir Path dir) {
+        // Given
+        User writer = userService.join("replica_writer", "password");
+        User reader = userService.join("replica_reader", "password");
+        replicate(dir.resolve("before.sql"));
+
+        // When
+        postService.create("replica title", "replica body", writer.getId());
+
+        // Then
+        // 아직 복제되지 않았으므로 다른 유저에게는 보이지 않는다.
+        assertThat(myFeedAs(reader, writer.getId())).isEmpty();
+        assertThat(myFeedAs(writer, writer.getId())).extracting(PostSummary::getTitle).containsExactly("replica title");
+
+        replicate(dir.resolve("after.sql"));
+        assertThat(myFeedAs(reader, writer.getId())).extracting(PostSummary::getTitle).containsExactly("replica title");
+    }
+
+    @DisplayName("replica - 방금 팔로우한 유저도 primary 에서 읽는다")
+    @Test
+    void read_from_primary_after_follow(@TempDir Path dir) {
+        // Given
+        User writer = userService.join("replica_followee", "password");
+        User follower = userService.join("replica_follower", "password");
+        replicate(dir.resolve("before.sql"));
+        postService.create("followee title", "followee body", writer.getId());
+
+        // When
+        followService.follow(follower.getId(), writer.getId());
+
+        // Then
+        assertThat(myFeedAs(follower, writer.getId())).extracting(PostSummary::getTitle).containsExactly("followee title");
+    }
+
+    private List<PostSummary> myFeedAs(User loginUser, Integer writerId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, loginUser.getAuthorities()));
+        try {
+            return postService.myFeedList(writerId, null, 10).getContent();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void replicate(Path dump) {
+        primary.execute("SCRIPT TO '" + dump + "'");
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + dump + "'");
+    }
+}
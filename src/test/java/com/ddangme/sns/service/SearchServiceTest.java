@@ -0,0 +1,87 @@
+package com.ddangme.sns.service;
+
+import com.ddangme.sns.model.SearchPage;
+import com.ddangme.sns.model.SearchType;
+import com.ddangme.sns.model.entity.PostEntity;
+import com.ddangme.sns.model.entity.UserEntity;
+import com.ddangme.sns.repository.PostEntityRepository;
+import com.ddangme.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class SearchServiceTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @DisplayName("검색 - 작성한 post 가 제목 일치 순으로 검색되고 cursor 로 다음 페이지를 읽는다")
+    @Test
+    void search_posts() throws Exception {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("search_writer", "password"));
+        postService.create("오늘의 날씨", "맑음", writer.getId());
+        postService.create("점심 메뉴", "오늘의 날씨가 좋아서 산책했다", writer.getId());
+
+        // When
+        SearchPage first = awaitSearch("날씨", 2);
+        SearchPage second = searchService.search("날씨", first.getNextCursor(), 1);
+
+        // Then
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getResults()).singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getType()).isEqualTo(SearchType.POST);
+                    assertThat(result.getTitle()).isEqualTo("오늘의 날씨");
+                });
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getResults()).singleElement()
+                .satisfies(result -> assertThat(result.getTitle()).isEqualTo("점심 메뉴"));
+    }
+
+    @DisplayName("재색인 - 색인에 반영되지 않은 post 를 DB 에서 다시 읽어 검색되게 한다")
+    @Test
+    void rebuild_from_database() throws Exception {
+        // Given
+        UserEntity writer = userEntityRepository.save(UserEntity.of("rebuild_writer", "password"));
+        // 서비스를 거치지 않아 색인되지 않는다.
+        PostEntity post = postEntityRepository.save(PostEntity.of("누락된 공지", "색인에 없는 본문", writer.getId()));
+
+        // When
+        searchService.rebuild();
+
+        // Then
+        assertThat(awaitSearch("누락된 공지", 1).getResults())
+                .anySatisfy(result -> assertThat(result.getId()).isEqualTo(post.getId()));
+    }
+
+    // 색인은 커밋 이후 비동기로 반영된다.
+    private SearchPage awaitSearch(String keyword, int expected) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            searchService.refresh();
+            SearchPage page = searchService.search(keyword, null, 1);
+
+            if (page.isHasNext() || page.getResults().size() >= expected) {
+                return page;
+            }
+            Thread.sleep(100);
+        }
+
+        return searchService.search(keyword, null, 1);
+    }
+}
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("test")
@@ -104,4 +106,20 @@ public class UserServiceTest {
         SnsApplicationException e = assertThrows(SnsApplicationException.class, () -> userService.login(userName, wrongPassword));
         assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INVALID_PASSWORD);
     }
+
+    @Test
+    void 유저_조회시_두번째_요청부터는_캐시에서_조회하는_경우() {
+        String userName = "cachedUserName";
+        String password = "password";
+
+        UserEntity fixture = UserEntityFixture.get(userName, password, 2);
+
+        // mocking
+        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(fixture));
+
+        userService.loadUserByUserName(userName);
+        userService.loadUserByUserName(userName);
+
+        verify(userEntityRepository, times(1)).findByUserName(userName);
+    }
 }
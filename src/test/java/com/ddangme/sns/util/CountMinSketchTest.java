@@ -0,0 +1,75 @@
+package com.ddangme.sns.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CountMinSketchTest {
+
+    @DisplayName("추정치 - 실제 빈도보다 작지 않다")
+    @Test
+    void estimate_not_below_actual() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        Map<String, Long> actual = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            String key = "tag" + (i % 200);
+            sketch.add(key, 1);
+            actual.merge(key, 1L, Long::sum);
+        }
+
+        // Then
+        actual.forEach((key, count) -> assertThat(sketch.estimate(key)).isGreaterThanOrEqualTo(count));
+    }
+
+    @DisplayName("추정치 - 충돌이 없을 만큼 넓으면 실제 빈도와 같다")
+    @Test
+    void estimate_exact_without_collision() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(4, 2048);
+
+        // When
+        sketch.add("java", 3);
+        sketch.add("spring", 1);
+
+        // Then
+        assertThat(sketch.estimate("java")).isEqualTo(3);
+        assertThat(sketch.estimate("spring")).isEqualTo(1);
+        assertThat(sketch.estimate("kotlin")).isZero();
+    }
+
+    @DisplayName("추정치 - 여러 sketch 를 합친 빈도를 돌려준다")
+    @Test
+    void estimate_merged() {
+        // Given
+        CountMinSketch first = new CountMinSketch(4, 2048);
+        CountMinSketch second = new CountMinSketch(4, 2048);
+
+        // When
+        first.add("java", 2);
+        second.add("java", 5);
+
+        // Then
+        assertThat(CountMinSketch.estimate(new CountMinSketch[]{first, second}, "java")).isEqualTo(7);
+    }
+
+    @DisplayName("clear - 모든 counter 를 0 으로 되돌린다")
+    @Test
+    void clear() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(4, 2048);
+        sketch.add("java", 3);
+
+        // When
+        sketch.clear();
+
+        // Then
+        assertThat(sketch.estimate("java")).isZero();
+    }
+}
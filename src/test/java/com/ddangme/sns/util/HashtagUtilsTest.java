@@ -0,0 +1,38 @@
+package com.ddangme.sns.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashtagUtilsTest {
+
+    @DisplayName("태그 추출 - 본문에 나온 순서대로 소문자로 중복 없이 돌려준다")
+    @Test
+    void extract_in_order() {
+        assertThat(HashtagUtils.extract("#Java 와 #spring, 다시 #JAVA #한글_태그", 10))
+                .containsExactly("java", "spring", "한글_태그");
+    }
+
+    @DisplayName("태그 추출 - 단어 중간의 # 는 태그로 보지 않는다")
+    @Test
+    void extract_skip_inner_hash() {
+        assertThat(HashtagUtils.extract("C# 과 a#b 그리고 ##double #ok", 10))
+                .containsExactly("ok");
+    }
+
+    @DisplayName("태그 추출 - maxCount 개까지만, 길이 제한을 넘는 태그는 빼고 돌려준다")
+    @Test
+    void extract_limits() {
+        String tooLong = "#" + "a".repeat(HashtagUtils.MAX_LENGTH + 1);
+
+        assertThat(HashtagUtils.extract(tooLong + " #one #two #three", 2))
+                .containsExactly("one", "two");
+    }
+
+    @DisplayName("태그 추출 - 본문이 없으면 빈 집합")
+    @Test
+    void extract_null_body() {
+        assertThat(HashtagUtils.extract(null, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ddangme.sns.util;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SubscribeTicketProviderTest {
+
+    private static final String SECRET_KEY = "fast_campus.sns-application-2024.secret_key";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET_KEY, 2592000000L, 100);
+    private final SubscribeTicketProvider subscribeTicketProvider = new SubscribeTicketProvider(SECRET_KEY, 30000, 100);
+
+    @DisplayName("구독 ticket - 한 번만 쓸 수 있다")
+    @Test
+    void ticket_single_use() {
+        // Given
+        String ticket = subscribeTicketProvider.generateTicket("ticket_user");
+
+        // When
+        String userName = subscribeTicketProvider.verify(ticket);
+
+        // Then
+        assertThat(userName).isEqualTo("ticket_user");
+        assertThrows(JwtException.class, () -> subscribeTicketProvider.verify(ticket));
+    }
+
+    @DisplayName("구독 ticket - 만료되면 쓸 수 없다")
+    @Test
+    void ticket_expired() {
+        // Given
+        SubscribeTicketProvider expired = new SubscribeTicketProvider(SECRET_KEY, -1000, 100);
+        String ticket = expired.generateTicket("ticket_user");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> expired.verify(ticket));
+    }
+
+    @DisplayName("구독 ticket - access token 과 서로 바꿔 쓸 수 없다")
+    @Test
+    void ticket_and_token_not_interchangeable() {
+        // Given
+        String ticket = subscribeTicketProvider.generateTicket("ticket_user");
+        String token = jwtTokenProvider.generateToken("ticket_user");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtTokenProvider.verify(ticket));
+        assertThrows(JwtException.class, () -> subscribeTicketProvider.verify(token));
+    }
+}